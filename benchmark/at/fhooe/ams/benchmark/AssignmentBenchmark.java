@@ -0,0 +1,73 @@
+package at.fhooe.ams.benchmark;
+
+import at.fhooe.ams.algorithm.GraphController;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end dispatch as the command line runs it: graph construction, landmark preprocessing, the searches of all
+ * ambulances and the assignment. The input is parsed once in the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentBenchmark {
+
+  private static final int HOSPITALS = 3;
+
+  @Param({"1000", "10000", "100000"})
+  private int vertexCount;
+  @Param({"5", "50"})
+  private int ambulanceCount;
+  @Param({"1", "20"})
+  private int accidentCount;
+
+  private Map<String, Vertex> vertices;
+  private List<Pair<Vertex, Vertex>> edges;
+  private List<Double> weights;
+  private Map<Vertex, Ambulance> ambulances;
+  private Map<Vertex, Hospital> hospitals;
+  private Map<Vertex, Accident> accidents;
+
+  @Setup
+  public void setUp() {
+    String inputEdges = Networks.edges(vertexCount);
+    vertices = Parser.parseVertices(inputEdges);
+    edges = Parser.parseEdges(inputEdges, vertices);
+    weights = Parser.parseWeights(Networks.weights(vertexCount));
+    List<String> places = Networks.places(vertexCount, ambulanceCount + HOSPITALS + accidentCount, Networks.SEED);
+    ambulances = Parser.parseAmbulances(Networks.set(places.subList(0, ambulanceCount)),
+        Networks.repeat("0", ambulanceCount), vertices);
+    hospitals = Parser.parseHospitals(Networks.set(places.subList(ambulanceCount, ambulanceCount + HOSPITALS)), vertices);
+    accidents = Parser.parseAccidents(Networks.set(places.subList(ambulanceCount + HOSPITALS, places.size())), vertices);
+  }
+
+  @Benchmark
+  public Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> getAmbulancePaths() {
+    return GraphController.getAmbulancePaths(vertices, edges, ambulances, hospitals, accidents, weights);
+  }
+
+}
@@ -0,0 +1,51 @@
+package at.fhooe.ams.benchmark;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Preprocessing of the landmark heuristic that every dispatch builds before searching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeuristicBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int vertexCount;
+
+  private Graph<Vertex, DefaultWeightedEdge> graph;
+
+  @Setup
+  public void setUp() {
+    String edges = Networks.edges(vertexCount);
+    Map<String, Vertex> vertices = Parser.parseVertices(edges);
+    graph = Parser.parseUndirectedWeightedGraph(vertices, Parser.parseEdges(edges, vertices),
+        Parser.parseWeights(Networks.weights(vertexCount)));
+  }
+
+  @Benchmark
+  public AStarAdmissibleHeuristic<Vertex> createHeuristic() {
+    return Parser.createHeuristic(graph);
+  }
+
+}
@@ -0,0 +1,91 @@
+package at.fhooe.ams.benchmark;
+
+import at.fhooe.ams.algorithm.DispatchOptions;
+import at.fhooe.ams.algorithm.GraphController;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Scenario;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays dispatch rounds on a generated city through {@link GraphController} and reports latency percentiles and
+ * heap usage. Landmarks are stored in a temporary file after the first round, as the command line does with a
+ * landmark file. Arguments: [rows] [columns] [rounds] [accidents per round] [parallelism], all optional.
+ */
+public class LoadTest {
+
+  private static final int BURST_RADIUS = 5;
+
+  public static void main(String[] args) throws IOException {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    int columns = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+    int accidentCount = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+    int parallelism = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+    int warmup = Math.max(1, rounds / 10);
+
+    long start = System.nanoTime();
+    Scenario scenario = CityGenerator.builder().rows(rows).columns(columns).build().generate();
+    System.out.printf("City of %d intersections and %d streets generated in %d ms%n",
+        scenario.getNetwork().getGraph().vertexSet().size(), scenario.getNetwork().getGraph().edgeSet().size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+    Path landmarkFile = Files.createTempFile("landmarks", ".bin");
+    Files.delete(landmarkFile);
+    DispatchOptions options = DispatchOptions.builder().landmarkFile(landmarkFile).parallelism(parallelism).build();
+    long[] latencies = new long[rounds];
+    try {
+      for (int round = -warmup; round < rounds; ++round) {
+        if (round == 0) {
+          resetPeakHeap();
+        }
+        Map<Vertex, Accident> accidents = scenario.nextAccidents(accidentCount, BURST_RADIUS);
+        long roundStart = System.nanoTime();
+        GraphController.getAssignment(scenario.getNetwork().getGraph(), scenario.getAmbulances(),
+            scenario.getHospitals(), accidents, options);
+        if (round >= 0) {
+          latencies[round] = System.nanoTime() - roundStart;
+        }
+      }
+    } finally {
+      Files.deleteIfExists(landmarkFile);
+    }
+
+    Arrays.sort(latencies);
+    System.out.printf("%d rounds after %d warmup rounds, %d accidents each%n", rounds, warmup, accidentCount);
+    System.out.printf("p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", millis(percentile(latencies, 0.5)),
+        millis(percentile(latencies, 0.99)), millis(latencies[rounds - 1]));
+    System.out.printf("heap used %d MiB, peak %d MiB%n", usedHeap() >> 20, peakHeap() >> 20);
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  private static long usedHeap() {
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static long peakHeap() {
+    return ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP)
+        .mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+  }
+
+  private static void resetPeakHeap() {
+    ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+}
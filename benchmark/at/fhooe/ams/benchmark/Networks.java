@@ -0,0 +1,79 @@
+package at.fhooe.ams.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reproducible road networks in command line notation. A network of {@code n} vertices is a square grid with random
+ * weights between 1 and 10, so every benchmark with the same parameters sees the same input.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class Networks {
+
+  static final long SEED = 42;
+
+  static int side(int vertexCount) {
+    return Math.max(2, (int) Math.round(Math.sqrt(vertexCount)));
+  }
+
+  static String edges(int vertexCount) {
+    int side = side(vertexCount);
+    StringBuilder edges = new StringBuilder("{ ");
+    for (int row = 0; row < side; ++row) {
+      for (int column = 0; column < side; ++column) {
+        if (column + 1 < side) {
+          append(edges, name(side, row, column), name(side, row, column + 1));
+        }
+        if (row + 1 < side) {
+          append(edges, name(side, row, column), name(side, row + 1, column));
+        }
+      }
+    }
+    return edges.append(" }").toString();
+  }
+
+  static String weights(int vertexCount) {
+    int side = side(vertexCount);
+    Random random = new Random(SEED);
+    StringBuilder weights = new StringBuilder("{");
+    for (int i = 0; i < 2 * side * (side - 1); ++i) {
+      weights.append(i == 0 ? "" : ", ").append(1 + random.nextInt(10));
+    }
+    return weights.append("}").toString();
+  }
+
+  //distinct vertices spread over the grid, e.g. {v17, v3}
+  static List<String> places(int vertexCount, int count, long seed) {
+    int side = side(vertexCount);
+    List<String> names = new ArrayList<>();
+    for (int vertex = 0; vertex < side * side; ++vertex) {
+      names.add("v" + vertex);
+    }
+    Collections.shuffle(names, new Random(seed));
+    return names.subList(0, Math.min(count, names.size()));
+  }
+
+  static String set(List<String> names) {
+    return "{" + String.join(", ", names) + "}";
+  }
+
+  static String repeat(String value, int count) {
+    return set(Collections.nCopies(count, value));
+  }
+
+  private static String name(int side, int row, int column) {
+    return "v" + (row * side + column);
+  }
+
+  private static void append(StringBuilder edges, String first, String second) {
+    if (edges.length() > 2) {
+      edges.append(", ");
+    }
+    edges.append('{').append(first).append(',').append(second).append('}');
+  }
+
+}
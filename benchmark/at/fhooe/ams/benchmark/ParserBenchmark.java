@@ -0,0 +1,53 @@
+package at.fhooe.ams.benchmark;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing the command line notation of a network into vertices, edges, weights and the routing graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int vertexCount;
+
+  private String edges;
+  private String weights;
+
+  @Setup
+  public void setUp() {
+    edges = Networks.edges(vertexCount);
+    weights = Networks.weights(vertexCount);
+  }
+
+  @Benchmark
+  public Graph<Vertex, DefaultWeightedEdge> parseGraph() {
+    Map<String, Vertex> vertices = Parser.parseVertices(edges);
+    List<Pair<Vertex, Vertex>> parsedEdges = Parser.parseEdges(edges, vertices);
+    return Parser.parseUndirectedWeightedGraph(vertices, parsedEdges, Parser.parseWeights(weights));
+  }
+
+}
@@ -0,0 +1,90 @@
+package at.fhooe.ams.benchmark;
+
+import at.fhooe.ams.algorithm.DispatchNetwork;
+import at.fhooe.ams.algorithm.DispatchOptions;
+import at.fhooe.ams.algorithm.DispatchSession;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Scenario;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one dispatch session per thread on a shared {@link DispatchNetwork} and reports the dispatches per second for
+ * 1, 2, 4, ... threads up to the number of cores, together with the speedup over one thread. Every thread replays the
+ * same accident bursts, so the work per dispatch is equal for all thread counts. Arguments: [rows] [columns]
+ * [seconds per step] [accidents per dispatch], all optional.
+ */
+public class SessionStressTest {
+
+  private static final int BURST_RADIUS = 5;
+  private static final int BURSTS = 200;
+
+  public static void main(String[] args) throws Exception {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    int columns = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    int accidentCount = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+    int cores = Runtime.getRuntime().availableProcessors();
+
+    Scenario scenario = CityGenerator.builder().rows(rows).columns(columns).build().generate();
+    List<Map<Vertex, Accident>> bursts = new ArrayList<>();
+    for (int i = 0; i < BURSTS; ++i) {
+      bursts.add(scenario.nextAccidents(accidentCount, BURST_RADIUS));
+    }
+    DispatchNetwork network = new DispatchNetwork(scenario.getNetwork().getGraph(), DispatchOptions.DEFAULT);
+    //warms up the searches of every thread count before measuring
+    run(network, scenario, bursts, cores, 1);
+
+    double single = 0.0;
+    for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(cores, 2 * threads) : cores + 1) {
+      double throughput = run(network, scenario, bursts, threads, seconds);
+      single = threads == 1 ? throughput : single;
+      System.out.printf("%3d threads: %10.1f dispatches/s, speedup %.2f (linear %d)%n", threads, throughput,
+          throughput / single, threads);
+    }
+  }
+
+  private static double run(DispatchNetwork network, Scenario scenario, List<Map<Vertex, Accident>> bursts,
+      int threads, int seconds) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch ready = new CountDownLatch(threads);
+    try {
+      List<Future<Long>> results = new ArrayList<>();
+      for (int thread = 0; thread < threads; ++thread) {
+        results.add(executor.submit(() -> {
+          DispatchSession session = network.openSession();
+          scenario.getAmbulances().forEach(session::putAmbulance);
+          scenario.getHospitals().forEach(session::putHospital);
+          ready.countDown();
+          ready.await();
+          long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+          long dispatches = 0;
+          while (System.nanoTime() < end) {
+            Map<Vertex, Accident> accidents = bursts.get((int) (dispatches % bursts.size()));
+            accidents.forEach(session::openAccident);
+            session.dispatch().getPaths();
+            accidents.keySet().forEach(session::closeAccident);
+            ++dispatches;
+          }
+          return dispatches;
+        }));
+      }
+      long total = 0;
+      for (Future<Long> result : results) {
+        total += result.get();
+      }
+      return (double) total / seconds;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+package at.fhooe.ams.benchmark;
+
+import at.fhooe.ams.algorithm.BidirectionalShortestPath;
+import at.fhooe.ams.algorithm.ContractionHierarchy;
+import at.fhooe.ams.algorithm.GraphController;
+import at.fhooe.ams.algorithm.OneToManyShortestPath;
+import at.fhooe.ams.algorithm.ShortestPathTree;
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Point-to-point queries on a preprocessed network, with the landmark heuristic and with the contraction hierarchy.
+ * Every invocation routes the next of a fixed set of random vertex pairs. The one-directional and the bidirectional
+ * landmark search also report the vertices they settle, as {@code settledVertices} per iteration next to
+ * {@code queries}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortestPathBenchmark {
+
+  private static final int PAIRS = 256;
+
+  @Param({"1000", "10000", "100000"})
+  private int vertexCount;
+
+  private ContractionHierarchy hierarchy;
+  private OneToManyShortestPath oneDirection;
+  private BidirectionalShortestPath bidirectional;
+  private int[] sourceIds;
+  private int[] sinkIds;
+  private Vertex[] sources;
+  private Vertex[] sinks;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    String edges = Networks.edges(vertexCount);
+    Map<String, Vertex> vertices = Parser.parseVertices(edges);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices, Parser.parseEdges(edges, vertices),
+        Parser.parseWeights(Networks.weights(vertexCount)));
+    AStarAdmissibleHeuristic<Vertex> heuristic = Parser.createHeuristic(graph);
+    hierarchy = Parser.createContractionHierarchy(graph);
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    oneDirection = new OneToManyShortestPath(compactGraph, heuristic);
+    bidirectional = new BidirectionalShortestPath(compactGraph, heuristic);
+    sources = new Vertex[PAIRS];
+    sinks = new Vertex[PAIRS];
+    for (int i = 0; i < PAIRS; ++i) {
+      List<String> pair = Networks.places(vertexCount, 2, Networks.SEED + i);
+      sources[i] = vertices.get(pair.get(0));
+      sinks[i] = vertices.get(pair.get(1));
+    }
+    sourceIds = Arrays.stream(sources).mapToInt(compactGraph::getId).toArray();
+    sinkIds = Arrays.stream(sinks).mapToInt(compactGraph::getId).toArray();
+  }
+
+  @Benchmark
+  public GraphPath<Vertex, DefaultWeightedEdge> landmarks() {
+    int pair = next++ & (PAIRS - 1);
+    return GraphController.getShortestPath(bidirectional, sources[pair], sinks[pair]);
+  }
+
+  @Benchmark
+  public GraphPath<Vertex, DefaultWeightedEdge> contractionHierarchy() {
+    int pair = next++ & (PAIRS - 1);
+    return GraphController.getShortestPath(hierarchy, sources[pair], sinks[pair]);
+  }
+
+  @Benchmark
+  public ShortestPathTree oneDirection(Work work) {
+    int pair = next++ & (PAIRS - 1);
+    ShortestPathTree tree = oneDirection.search(sourceIds[pair], new int[]{sinkIds[pair]});
+    work.count(oneDirection.getSettledVertices());
+    return tree;
+  }
+
+  @Benchmark
+  public ShortestPathTree bidirectional(Work work) {
+    int pair = next++ & (PAIRS - 1);
+    ShortestPathTree tree = bidirectional.search(sourceIds[pair], sinkIds[pair]);
+    work.count(bidirectional.getSettledVertices());
+    return tree;
+  }
+
+  /**
+   * Settled vertices of the searches, reported by JMH as secondary results.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Work {
+
+    public long queries;
+    public long settledVertices;
+
+    private void count(int settled) {
+      ++queries;
+      settledVertices += settled;
+    }
+  }
+
+}
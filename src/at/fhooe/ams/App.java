@@ -1,26 +1,83 @@
 package at.fhooe.ams;
 
+import at.fhooe.ams.algorithm.Assignment;
+import at.fhooe.ams.algorithm.CoverageMap;
+import at.fhooe.ams.algorithm.DispatchOptions;
 import at.fhooe.ams.algorithm.GraphController;
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.metrics.DispatchMetrics;
+import at.fhooe.ams.metrics.DispatchPhase;
 import at.fhooe.ams.model.Accident;
 import at.fhooe.ams.model.Ambulance;
 import at.fhooe.ams.model.Hospital;
 import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.partition.GraphPartition;
+import at.fhooe.ams.partition.Region;
+import at.fhooe.ams.partition.RegionStore;
+import at.fhooe.ams.util.GraphSnapshot;
+import at.fhooe.ams.util.Network;
+import at.fhooe.ams.util.NetworkLoader;
 import at.fhooe.ams.util.Parser;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import org.jgrapht.GraphPath;
+import java.util.function.Supplier;
 import org.jgrapht.alg.util.Pair;
-import org.jgrapht.graph.DefaultWeightedEdge;
 
 public class App {
 
-
+  //network arguments starting with this prefix name a file instead of holding the network itself
+  private static final String FILE_PREFIX = "@";
+  private static final String CONVERT = "--convert";
+  private static final String SNAPSHOT = "--snapshot";
+  private static final String PARTITION = "--partition";
+  //run with -Dams.metrics=true to print the phase timings and search counters after the dispatch
+  private static final boolean PRINT_METRICS = Boolean.getBoolean("ams.metrics");
+  private static final DispatchMetrics METRICS = new DispatchMetrics();
+  //run with -Dams.coverage=[minutes] to print the intersections no free ambulance reaches in time
+  private static final String COVERAGE = System.getProperty("ams.coverage");
 
   public static void main(String[] args) {
     System.out.println("======= Routeplanning for Ambulances =======");
 
-    if(args.length != 6) {
-      System.out.println("You must call the program with args: [edges] [weights] [ambulances] [states] [hospitals] [accidents]");
+    if (args.length == 7 && CONVERT.equals(args[0])) {
+      Network network = readNetwork(args[1], args[2]);
+      Map<String, Vertex> vertices = network.getVertices();
+      GraphSnapshot.write(network.getGraph(), Parser.parseAmbulances(args[3], args[4], vertices),
+          Parser.parseHospitals(args[5], vertices), Paths.get(args[6]));
+      System.out.println("Snapshot written to " + args[6]);
+      return;
+    }
+    if (args.length == 5 && PARTITION.equals(args[0])) {
+      GraphPartition partition = GraphPartition.of(readNetwork(args[1], args[2]).getGraph(), Integer.parseInt(args[3]));
+      for (Region region : partition.getRegions()) {
+        Path file = Paths.get(args[4], "region-" + region.getIndex() + ".ams");
+        RegionStore.write(region, file);
+        System.out.println("Region " + region.getIndex() + " with " + region.getGraph().vertexSet().size()
+            + " vertices and " + region.getBoundary().size() + " boundary vertices written to " + file);
+      }
+      return;
+    }
+    if ((args.length == 3 || args.length == 4) && SNAPSHOT.equals(args[0])) {
+      long start = System.nanoTime();
+      GraphSnapshot snapshot = GraphSnapshot.load(Paths.get(args[1]));
+      //routes on the mapped arcs, the JGraphT graph is only built for the paths that are printed
+      CompactGraph compactGraph = snapshot.toCompactGraph();
+      Map<Vertex, Ambulance> ambulances = snapshot.getAmbulances(compactGraph);
+      Map<Vertex, Hospital> hospitals = snapshot.getHospitals(compactGraph);
+      Map<Vertex, Accident> accidents = Parser.parseAccidents(args[2], Parser.parseVertices(args[2]));
+      METRICS.phaseCompleted(DispatchPhase.PARSING, System.nanoTime() - start);
+      Path landmarkFile = args.length == 4 ? Paths.get(args[3]) : null;
+      dispatch(compactGraph, ambulances, hospitals, accidents, landmarkFile);
+      return;
+    }
+    if(args.length != 6 && args.length != 7) {
+      System.out.println("You must call the program with args: [edges] [weights] [ambulances] [states] [hospitals] [accidents] [landmark file (optional)]");
+      System.out.println("Edges and weights can also be read from files with @edges.txt @weights.txt");
+      System.out.println("Convert to a snapshot with: " + CONVERT + " [edges] [weights] [ambulances] [states] [hospitals] [snapshot file]");
+      System.out.println("Run on a snapshot with: " + SNAPSHOT + " [snapshot file] [accidents] [landmark file (optional)]");
+      System.out.println("Split into region files for RegionWorker with: " + PARTITION + " [edges] [weights] [regions] [directory]");
       return;
     }
     String inputEdges =  args[0];
@@ -29,17 +86,61 @@ public class App {
     String inputStates = args[3];
     String inputHospitals = args[4];
     String inputAccidents = args[5];
+    Path landmarkFile = args.length == 7 ? Paths.get(args[6]) : null;
 
-    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    long start = System.nanoTime();
+    Network network = readNetwork(inputEdges, inputWeights);
+    Map<String, Vertex> vertices = network.getVertices();
     Map<Vertex, Ambulance> ambulances = Parser.parseAmbulances(inputAmbulances, inputStates, vertices);
     Map<Vertex, Hospital> hospitals = Parser.parseHospitals(inputHospitals, vertices);
     Map<Vertex, Accident> accidents = Parser.parseAccidents(inputAccidents, vertices);
+    METRICS.phaseCompleted(DispatchPhase.PARSING, System.nanoTime() - start);
+
+    dispatch(network, ambulances, hospitals, accidents, landmarkFile);
+  }
+
+  private static Network readNetwork(String inputEdges, String inputWeights) {
+    if (inputEdges.startsWith(FILE_PREFIX) && inputWeights.startsWith(FILE_PREFIX)) {
+      return NetworkLoader.load(Paths.get(inputEdges.substring(1)), Paths.get(inputWeights.substring(1)));
+    }
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
     List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
     List<Double> weights = Parser.parseWeights(inputWeights);
+    return new Network(vertices, Parser.parseUndirectedWeightedGraph(vertices, edges, weights));
+  }
+
+  private static void dispatch(Network network, Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospitals,
+      Map<Vertex, Accident> accidents, Path landmarkFile) {
+    Assignment assignment = GraphController.getAssignment(network.getGraph(), ambulances, hospitals, accidents,
+        options(landmarkFile));
+    print(assignment, () -> new CoverageMap(network.getGraph(), ambulances, Double.parseDouble(COVERAGE)));
+  }
+
+  private static void dispatch(CompactGraph compactGraph, Map<Vertex, Ambulance> ambulances,
+      Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents, Path landmarkFile) {
+    Assignment assignment = GraphController.getAssignment(compactGraph, ambulances, hospitals, accidents,
+        options(landmarkFile));
+    print(assignment, () -> new CoverageMap(compactGraph, ambulances, Double.parseDouble(COVERAGE), null));
+  }
 
-    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> ambulancePaths = GraphController.getAmbulancePaths(vertices, edges ,ambulances, hospitals, accidents, weights);
+  private static DispatchOptions options(Path landmarkFile) {
+    return DispatchOptions.builder().landmarkFile(landmarkFile).metricsListener(METRICS).build();
+  }
+
+  private static void print(Assignment assignment, Supplier<CoverageMap> coverage) {
+    GraphController.printAccidentPaths(assignment.getPaths());
+    if (COVERAGE != null) {
+      printCoverage(coverage.get());
+    }
+    if (PRINT_METRICS) {
+      System.out.println(METRICS);
+    }
+  }
 
-    GraphController.printAccidentPaths(ambulancePaths);
+  private static void printCoverage(CoverageMap coverage) {
+    System.out.println(String.format("%d intersections covered within %s (%.1f%%)", coverage.getCoveredCount(),
+        COVERAGE, 100 * coverage.getCoveredShare()));
+    coverage.getUncovered().forEach(vertex -> System.out.println("Uncovered: " + vertex.getName()));
   }
 
 }
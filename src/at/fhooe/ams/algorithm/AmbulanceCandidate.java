@@ -0,0 +1,29 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.Vertex;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Ambulance found by a {@link NearestAmbulanceSearch}, with its response time to the accident including break and
+ * hospital penalties, and the path it would take.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter
+public class AmbulanceCandidate {
+
+  private final Vertex position;
+  private final Ambulance ambulance;
+  private final double responseTime;
+  private final GraphPath<Vertex, DefaultWeightedEdge> path;
+
+  @Override
+  public String toString() {
+    return ambulance.getName() + " at " + position + " in " + responseTime;
+  }
+
+}
@@ -0,0 +1,60 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Ambulance chosen for every accident. The choice is made on costs only, the full paths are built the first time
+ * they are asked for.
+ */
+public class Assignment {
+
+  private final CostMatrix costMatrix;
+  //row of the cost matrix for every accident column, or HungarianAssignment.UNASSIGNED
+  private final int[] rows;
+  @Getter
+  private final double totalResponseTime;
+  private Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths;
+
+  Assignment(CostMatrix costMatrix, int[] rows, double totalResponseTime) {
+    this.costMatrix = costMatrix;
+    this.rows = rows;
+    this.totalResponseTime = totalResponseTime;
+  }
+
+  //ambulance position assigned to the accident, null if it stays open
+  public Vertex getAmbulance(Vertex accident) {
+    int column = costMatrix.getAccidents().indexOf(accident);
+    return column < 0 || rows[column] == HungarianAssignment.UNASSIGNED ? null : costMatrix.getAmbulances().get(rows[column]);
+  }
+
+  public double getResponseTime(Vertex accident) {
+    int column = costMatrix.getAccidents().indexOf(accident);
+    return column < 0 || rows[column] == HungarianAssignment.UNASSIGNED ? Double.POSITIVE_INFINITY
+        : costMatrix.getCost(rows[column], column);
+  }
+
+  public int getAssignedAccidents() {
+    return (int) Arrays.stream(rows).filter(row -> row != HungarianAssignment.UNASSIGNED).count();
+  }
+
+  public synchronized Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> getPaths() {
+    if (paths == null) {
+      Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> built = new HashMap<>();
+      for (int column = 0; column < rows.length; ++column) {
+        if (rows[column] != HungarianAssignment.UNASSIGNED) {
+          built.put(costMatrix.getAccidents().get(column), costMatrix.getPath(rows[column], column));
+        }
+      }
+      paths = Collections.unmodifiableMap(built);
+    }
+    return paths;
+  }
+
+}
@@ -0,0 +1,8 @@
+package at.fhooe.ams.algorithm;
+
+public enum AssignmentMode {
+
+  GREEDY,
+  OPTIMAL
+
+}
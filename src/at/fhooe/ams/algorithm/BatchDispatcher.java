@@ -0,0 +1,90 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Vertex;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Evaluates many independent scenarios on one road network. Graph and heuristic are built once, with
+ * {@code parallelism > 1} scenarios run concurrently on a shared {@link DispatchNetwork} while the results still come
+ * out in input order.
+ */
+public class BatchDispatcher implements AutoCloseable {
+
+  @Getter
+  private final DispatchNetwork network;
+  private final ForkJoinPool pool;
+  private final int window;
+
+  public BatchDispatcher(Graph<Vertex, DefaultWeightedEdge> graph, DispatchOptions options) {
+    this(new DispatchNetwork(graph, options));
+  }
+
+  //scenarios run with the parallelism of the network's options
+  public BatchDispatcher(DispatchNetwork network) {
+    int parallelism = network.getOptions().getParallelism();
+    this.network = network;
+    this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    this.window = 2 * parallelism;
+  }
+
+  public Assignment dispatch(DispatchScenario scenario) {
+    return network.dispatch(scenario);
+  }
+
+  //lazy, one result per scenario in the order of the input
+  public Stream<Assignment> dispatch(Stream<DispatchScenario> scenarios) {
+    if (pool == null) {
+      return scenarios.sequential().map(this::dispatch);
+    }
+    Iterator<DispatchScenario> input = scenarios.sequential().iterator();
+    Iterator<Assignment> output = new Iterator<Assignment>() {
+
+      private final ArrayDeque<Future<Assignment>> running = new ArrayDeque<>();
+
+      @Override
+      public boolean hasNext() {
+        while (running.size() < window && input.hasNext()) {
+          DispatchScenario scenario = input.next();
+          running.add(pool.submit(() -> dispatch(scenario)));
+        }
+        return !running.isEmpty();
+      }
+
+      @Override
+      public Assignment next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        try {
+          return running.poll().get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while dispatching", e);
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Dispatching a scenario failed", e.getCause());
+        }
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(output, Spliterator.ORDERED), false);
+  }
+
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+}
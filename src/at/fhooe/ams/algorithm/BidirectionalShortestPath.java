@@ -0,0 +1,200 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Point-to-point A* from both ends on an undirected graph, each side using the average of the forward and backward
+ * estimate so both stay consistent. Not thread-safe.
+ */
+public class BidirectionalShortestPath {
+
+  private static final int FORWARD = 0;
+  private static final int BACKWARD = 1;
+
+  private final CompactGraph graph;
+  private final AStarAdmissibleHeuristic<Vertex> heuristic;
+  private final LandmarkHeuristic landmarks;
+
+  private final double[][] distances;
+  private final int[][] crossroads;
+  private final int[][] predecessors;
+  private final int[][] reached;
+  private final int[][] settled;
+  private final double[] potentials;
+  private final int[] potentialStamps;
+  private final MinHeap[] queues;
+  private int stamp;
+  private int source;
+  private int target;
+  //work of the last search, vertices settled by both directions are counted twice
+  @Getter
+  private int settledVertices;
+  @Getter
+  private int relaxedEdges;
+
+  public BidirectionalShortestPath(Graph<Vertex, DefaultWeightedEdge> graph, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    this(CompactGraph.of(graph), heuristic);
+  }
+
+  public BidirectionalShortestPath(CompactGraph graph, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    int n = graph.getVertexCount();
+    this.graph = graph;
+    this.heuristic = heuristic;
+    this.landmarks = heuristic instanceof LandmarkHeuristic && graph.sharesIds(((LandmarkHeuristic) heuristic).getCompactGraph())
+        ? (LandmarkHeuristic) heuristic : null;
+    this.distances = new double[2][n];
+    this.crossroads = new int[2][n];
+    this.predecessors = new int[2][n];
+    this.reached = new int[2][n];
+    this.settled = new int[2][n];
+    this.potentials = new double[n];
+    this.potentialStamps = new int[n];
+    this.queues = new MinHeap[]{new MinHeap(16), new MinHeap(16)};
+  }
+
+  //null if the target cannot be reached
+  public GraphPath<Vertex, DefaultWeightedEdge> getPath(Vertex source, Vertex target) {
+    return search(graph.getId(source), graph.getId(target)).getPath(target);
+  }
+
+  /**
+   * Shortest path as a tree that only holds the vertices of the path, so it can stand in for a
+   * {@link OneToManyShortestPath} search with a single target. Distances are summed up from the source like the forward
+   * search does, equal paths therefore have bit-identical weights.
+   */
+  public ShortestPathTree search(int source, int target) {
+    nextStamp();
+    this.source = source;
+    this.target = target;
+    queues[FORWARD].clear();
+    queues[BACKWARD].clear();
+    reach(FORWARD, source, 0.0, 0, -1);
+    reach(BACKWARD, target, 0.0, 0, -1);
+    queues[FORWARD].add(source, key(FORWARD, source), 0);
+    queues[BACKWARD].add(target, key(BACKWARD, target), 0);
+
+    double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+    int meeting = source == target ? source : -1;
+    while (true) {
+      double forwardKey = topKey(FORWARD);
+      double backwardKey = topKey(BACKWARD);
+      if (forwardKey == Double.POSITIVE_INFINITY || backwardKey == Double.POSITIVE_INFINITY
+          || forwardKey + backwardKey >= best) {
+        break;
+      }
+      int side = forwardKey <= backwardKey ? FORWARD : BACKWARD;
+      int vertex = queues[side].poll();
+      settled[side][vertex] = stamp;
+      ++settledVertices;
+      relaxedEdges += graph.getEndArc(vertex) - graph.getFirstArc(vertex);
+      for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+        int neighbour = graph.getTarget(arc);
+        if (settled[side][neighbour] == stamp) {
+          continue;
+        }
+        double distance = distances[side][vertex] + graph.getWeight(arc);
+        int hops = crossroads[side][vertex] + 1;
+        if (reached[side][neighbour] != stamp || distance < distances[side][neighbour]
+            || (distance == distances[side][neighbour] && hops < crossroads[side][neighbour])) {
+          reach(side, neighbour, distance, hops, vertex);
+          queues[side].add(neighbour, distance + potential(side, neighbour), hops);
+        }
+        int other = 1 - side;
+        if (reached[other][neighbour] == stamp && distances[side][neighbour] + distances[other][neighbour] < best) {
+          best = distances[side][neighbour] + distances[other][neighbour];
+          meeting = neighbour;
+        }
+      }
+    }
+    return meeting < 0 ? new ShortestPathTree(graph, source, new int[0], new double[0], new int[0], new int[0])
+        : createTree(meeting);
+  }
+
+  //skips vertices already settled, those were queued again with a smaller key before
+  private double topKey(int side) {
+    MinHeap queue = queues[side];
+    while (!queue.isEmpty() && settled[side][queue.peekValue()] == stamp) {
+      queue.poll();
+    }
+    return queue.isEmpty() ? Double.POSITIVE_INFINITY : queue.peekKey();
+  }
+
+  private double key(int side, int vertex) {
+    return distances[side][vertex] + potential(side, vertex);
+  }
+
+  private double potential(int side, int vertex) {
+    if (heuristic == null) {
+      return 0.0;
+    }
+    if (potentialStamps[vertex] != stamp) {
+      potentialStamps[vertex] = stamp;
+      potentials[vertex] = (lowerBound(vertex, target) - lowerBound(source, vertex)) / 2;
+    }
+    return side == FORWARD ? potentials[vertex] : -potentials[vertex];
+  }
+
+  private double lowerBound(int from, int to) {
+    return landmarks != null ? landmarks.getCostEstimate(from, to)
+        : heuristic.getCostEstimate(graph.getVertex(from), graph.getVertex(to));
+  }
+
+  //forward part up to the meeting vertex, then the backward predecessors lead on to the target
+  private ShortestPathTree createTree(int meeting) {
+    int forwardHops = crossroads[FORWARD][meeting];
+    int[] path = new int[forwardHops + crossroads[BACKWARD][meeting] + 1];
+    for (int i = forwardHops, current = meeting; i >= 0; --i, current = predecessors[FORWARD][current]) {
+      path[i] = current;
+    }
+    for (int i = forwardHops + 1, current = predecessors[BACKWARD][meeting]; i < path.length;
+        ++i, current = predecessors[BACKWARD][current]) {
+      path[i] = current;
+    }
+
+    int[] ids = path.clone();
+    Arrays.sort(ids);
+    double[] treeDistances = new double[path.length];
+    int[] treeCrossroads = new int[path.length];
+    int[] treePredecessors = new int[path.length];
+    double distance = 0.0;
+    for (int i = 0; i < path.length; ++i) {
+      if (i > 0) {
+        distance += graph.getWeight(graph.findArc(path[i - 1], path[i]));
+      }
+      int index = Arrays.binarySearch(ids, path[i]);
+      treeDistances[index] = distance;
+      treeCrossroads[index] = i;
+      treePredecessors[index] = i > 0 ? path[i - 1] : -1;
+    }
+    return new ShortestPathTree(graph, source, ids, treeDistances, treeCrossroads, treePredecessors);
+  }
+
+  private void reach(int side, int vertex, double distance, int hops, int predecessor) {
+    reached[side][vertex] = stamp;
+    distances[side][vertex] = distance;
+    crossroads[side][vertex] = hops;
+    predecessors[side][vertex] = predecessor;
+  }
+
+  private void nextStamp() {
+    settledVertices = 0;
+    relaxedEdges = 0;
+    if (stamp == Integer.MAX_VALUE) {
+      for (int side = FORWARD; side <= BACKWARD; ++side) {
+        Arrays.fill(reached[side], 0);
+        Arrays.fill(settled[side], 0);
+      }
+      Arrays.fill(potentialStamps, 0);
+      stamp = 0;
+    }
+    ++stamp;
+  }
+
+}
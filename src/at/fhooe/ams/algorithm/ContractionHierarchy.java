@@ -0,0 +1,451 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Contraction hierarchy of an undirected routing graph for point-to-point queries on a network whose weights do not
+ * change. Vertices are contracted by edge difference, contracted neighbours and level, every shortcut remembers the
+ * contracted vertex it bridges so paths can be unpacked to original edges. A query is a bidirectional Dijkstra that
+ * only follows arcs to higher ranked vertices. Query arrays are kept per thread, so one hierarchy can be shared.
+ */
+public class ContractionHierarchy {
+
+  //witness searches give up after this many settled vertices and add the shortcut, which is never wrong
+  private static final int WITNESS_SETTLE_LIMIT = 64;
+
+  @Getter
+  private final CompactGraph compactGraph;
+  private final int[] ranks;
+  private final int[] upOffsets;
+  private final int[] upTargets;
+  private final double[] upWeights;
+  private final int[] upMiddles;
+  @Getter
+  private final int shortcutCount;
+  @Getter
+  private final long preprocessingMillis;
+  private final ThreadLocal<Query> queries;
+
+  public ContractionHierarchy(Graph<Vertex, DefaultWeightedEdge> graph) {
+    this(CompactGraph.of(graph));
+  }
+
+  public ContractionHierarchy(CompactGraph compactGraph) {
+    if (!compactGraph.isUndirected()) {
+      throw new IllegalArgumentException("Contraction hierarchy requires an undirected graph");
+    }
+    long start = System.currentTimeMillis();
+    this.compactGraph = compactGraph;
+    int n = compactGraph.getVertexCount();
+    Contraction contraction = new Contraction(compactGraph);
+    this.ranks = contraction.contractAll();
+    this.shortcutCount = contraction.shortcuts;
+
+    this.upOffsets = new int[n + 1];
+    for (int vertex = 0; vertex < n; ++vertex) {
+      upOffsets[vertex + 1] = upOffsets[vertex] + contraction.upCount[vertex];
+    }
+    this.upTargets = new int[upOffsets[n]];
+    this.upWeights = new double[upTargets.length];
+    this.upMiddles = new int[upTargets.length];
+    for (int vertex = 0; vertex < n; ++vertex) {
+      System.arraycopy(contraction.neighbours[vertex], 0, upTargets, upOffsets[vertex], contraction.upCount[vertex]);
+      System.arraycopy(contraction.weights[vertex], 0, upWeights, upOffsets[vertex], contraction.upCount[vertex]);
+      System.arraycopy(contraction.middles[vertex], 0, upMiddles, upOffsets[vertex], contraction.upCount[vertex]);
+    }
+    this.queries = ThreadLocal.withInitial(() -> new Query(n));
+    this.preprocessingMillis = System.currentTimeMillis() - start;
+  }
+
+  public int getRank(Vertex vertex) {
+    return ranks[compactGraph.getId(vertex)];
+  }
+
+  public double getWeight(Vertex source, Vertex target) {
+    Query query = queries.get();
+    query.run(compactGraph.getId(source), compactGraph.getId(target));
+    return query.best;
+  }
+
+  //null if the target cannot be reached, like ShortestPathTree
+  public GraphPath<Vertex, DefaultWeightedEdge> getPath(Vertex source, Vertex target) {
+    Query query = queries.get();
+    query.run(compactGraph.getId(source), compactGraph.getId(target));
+    if (query.meeting < 0) {
+      return null;
+    }
+    int[] forward = query.unpackToMeeting(0);
+    int[] backward = query.unpackToMeeting(1);
+    int[] path = Arrays.copyOf(forward, forward.length + backward.length - 1);
+    for (int i = 0; i < backward.length - 1; ++i) {
+      path[forward.length + i] = backward[backward.length - 2 - i];
+    }
+    return compactGraph.toGraphPath(path, query.best);
+  }
+
+  //times random queries against a one-to-one search with the given heuristic, which may be null for Dijkstra
+  public ContractionReport report(int samples, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    Random random = new Random(LandmarkHeuristic.DEFAULT_SEED);
+    int n = compactGraph.getVertexCount();
+    OneToManyShortestPath search = new OneToManyShortestPath(compactGraph, heuristic);
+    long queryNanos = 0;
+    long searchNanos = 0;
+    for (int i = 0; i < samples && n > 0; ++i) {
+      Vertex source = compactGraph.getVertex(random.nextInt(n));
+      Vertex target = compactGraph.getVertex(random.nextInt(n));
+      long start = System.nanoTime();
+      getPath(source, target);
+      long middle = System.nanoTime();
+      search.search(source, Collections.singleton(target)).getPath(target);
+      searchNanos += System.nanoTime() - middle;
+      queryNanos += middle - start;
+    }
+    int queries = Math.max(1, samples);
+    return new ContractionReport(n, compactGraph.getArcCount() / 2, shortcutCount, preprocessingMillis,
+        queryNanos / 1000.0 / queries, searchNanos / 1000.0 / queries);
+  }
+
+  private int findUpArc(int lower, int higher) {
+    for (int arc = upOffsets[lower]; arc < upOffsets[lower + 1]; ++arc) {
+      if (upTargets[arc] == higher) {
+        return arc;
+      }
+    }
+    throw new IllegalStateException("Missing arc between " + lower + " and " + higher);
+  }
+
+  /**
+   * Bidirectional upward search. Index 0 is the search from the source, index 1 the one from the target.
+   */
+  private class Query {
+
+    private final double[][] distances;
+    private final int[][] parents;
+    private final int[][] reached;
+    private final MinHeap[] queues;
+    private int stamp;
+    private double best;
+    private int meeting;
+
+    private Query(int n) {
+      distances = new double[2][n];
+      parents = new int[2][n];
+      reached = new int[2][n];
+      queues = new MinHeap[]{new MinHeap(16), new MinHeap(16)};
+    }
+
+    private void run(int source, int target) {
+      if (stamp == Integer.MAX_VALUE) {
+        Arrays.fill(reached[0], 0);
+        Arrays.fill(reached[1], 0);
+        stamp = 0;
+      }
+      ++stamp;
+      best = Double.POSITIVE_INFINITY;
+      meeting = -1;
+      start(0, source);
+      start(1, target);
+      while (active(0) || active(1)) {
+        for (int side = 0; side < 2; ++side) {
+          if (active(side)) {
+            step(side);
+          }
+        }
+      }
+    }
+
+    private void start(int side, int vertex) {
+      queues[side].clear();
+      reached[side][vertex] = stamp;
+      distances[side][vertex] = 0.0;
+      parents[side][vertex] = -1;
+      queues[side].add(vertex, 0.0, 0);
+      meet(vertex);
+    }
+
+    //a side is done once nothing in its queue can improve the best meeting point
+    private boolean active(int side) {
+      return !queues[side].isEmpty() && queues[side].peekKey() < best;
+    }
+
+    private void step(int side) {
+      double key = queues[side].peekKey();
+      int vertex = queues[side].poll();
+      double distance = distances[side][vertex];
+      if (key > distance) {
+        return;
+      }
+      //stall-on-demand, a higher vertex of this search reaches the vertex cheaper, so it cannot be on a shortest path
+      for (int arc = upOffsets[vertex]; arc < upOffsets[vertex + 1]; ++arc) {
+        int neighbour = upTargets[arc];
+        if (reached[side][neighbour] == stamp && distances[side][neighbour] + upWeights[arc] < distance) {
+          return;
+        }
+      }
+      for (int arc = upOffsets[vertex]; arc < upOffsets[vertex + 1]; ++arc) {
+        int neighbour = upTargets[arc];
+        double candidate = distance + upWeights[arc];
+        if (reached[side][neighbour] != stamp || candidate < distances[side][neighbour]) {
+          reached[side][neighbour] = stamp;
+          distances[side][neighbour] = candidate;
+          parents[side][neighbour] = vertex;
+          queues[side].add(neighbour, candidate, 0);
+          meet(neighbour);
+        }
+      }
+    }
+
+    private void meet(int vertex) {
+      if (reached[0][vertex] == stamp && reached[1][vertex] == stamp) {
+        double distance = distances[0][vertex] + distances[1][vertex];
+        if (distance < best) {
+          best = distance;
+          meeting = vertex;
+        }
+      }
+    }
+
+    //original vertices from the start of one side up to the meeting vertex
+    private int[] unpackToMeeting(int side) {
+      int[] path = new int[16];
+      int length = 0;
+      int[] stack = new int[32];
+      int[] chain = new int[16];
+      int chainLength = 0;
+      for (int vertex = meeting; vertex >= 0; vertex = parents[side][vertex]) {
+        chain = ensure(chain, chainLength + 1);
+        chain[chainLength++] = vertex;
+      }
+      path[length++] = chain[chainLength - 1];
+      for (int i = chainLength - 1; i > 0; --i) {
+        int top = 0;
+        stack[top++] = chain[i];
+        stack[top++] = chain[i - 1];
+        while (top > 0) {
+          int to = stack[--top];
+          int from = stack[--top];
+          int arc = ranks[from] < ranks[to] ? findUpArc(from, to) : findUpArc(to, from);
+          int middle = upMiddles[arc];
+          if (middle < 0) {
+            path = ensure(path, length + 1);
+            path[length++] = to;
+          } else {
+            stack = ensure(stack, top + 4);
+            stack[top++] = middle;
+            stack[top++] = to;
+            stack[top++] = from;
+            stack[top++] = middle;
+          }
+        }
+      }
+      return Arrays.copyOf(path, length);
+    }
+
+    private int[] ensure(int[] array, int size) {
+      return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+  }
+
+  /**
+   * Mutable adjacency lists used while contracting. When a vertex is contracted, its remaining neighbours all rank
+   * higher, so they are moved to the front of its list and become its upward arcs.
+   */
+  private static class Contraction {
+
+    private final int[][] neighbours;
+    private final double[][] weights;
+    private final int[][] middles;
+    private final int[] degrees;
+    private final int[] upCount;
+    private final boolean[] contracted;
+    private final int[] deletedNeighbours;
+    private final int[] levels;
+    private final double[] witnessDistances;
+    private final int[] witnessReached;
+    private final MinHeap witnessQueue = new MinHeap(16);
+    private int witnessStamp;
+    private int shortcuts;
+
+    private Contraction(CompactGraph graph) {
+      int n = graph.getVertexCount();
+      neighbours = new int[n][];
+      weights = new double[n][];
+      middles = new int[n][];
+      degrees = new int[n];
+      upCount = new int[n];
+      contracted = new boolean[n];
+      deletedNeighbours = new int[n];
+      levels = new int[n];
+      witnessDistances = new double[n];
+      witnessReached = new int[n];
+      for (int vertex = 0; vertex < n; ++vertex) {
+        int degree = graph.getEndArc(vertex) - graph.getFirstArc(vertex);
+        neighbours[vertex] = new int[Math.max(degree, 2)];
+        weights[vertex] = new double[neighbours[vertex].length];
+        middles[vertex] = new int[neighbours[vertex].length];
+        for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+          if (graph.getWeight(arc) != Double.POSITIVE_INFINITY && graph.getTarget(arc) != vertex) {
+            connect(vertex, graph.getTarget(arc), graph.getWeight(arc), -1);
+          }
+        }
+      }
+    }
+
+    private int[] contractAll() {
+      int n = neighbours.length;
+      int[] ranks = new int[n];
+      MinHeap queue = new MinHeap(n);
+      for (int vertex = 0; vertex < n; ++vertex) {
+        queue.add(vertex, priority(vertex), vertex);
+      }
+      int rank = 0;
+      while (!queue.isEmpty()) {
+        int vertex = queue.poll();
+        if (contracted[vertex]) {
+          continue;
+        }
+        //lazy update, priorities of vertices change while their neighbours are contracted
+        double priority = priority(vertex);
+        if (!queue.isEmpty() && priority > queue.peekKey()) {
+          queue.add(vertex, priority, vertex);
+          continue;
+        }
+        contract(vertex);
+        ranks[vertex] = rank++;
+      }
+      return ranks;
+    }
+
+    private double priority(int vertex) {
+      return 2.0 * (contract(vertex, false) - activeDegree(vertex)) + deletedNeighbours[vertex] + levels[vertex];
+    }
+
+    private void contract(int vertex) {
+      shortcuts += contract(vertex, true);
+      contracted[vertex] = true;
+      int up = 0;
+      for (int i = 0; i < degrees[vertex]; ++i) {
+        int neighbour = neighbours[vertex][i];
+        if (!contracted[neighbour]) {
+          ++deletedNeighbours[neighbour];
+          levels[neighbour] = Math.max(levels[neighbour], levels[vertex] + 1);
+          swap(vertex, i, up++);
+        }
+      }
+      upCount[vertex] = up;
+    }
+
+    //counts, and if asked adds, the shortcuts needed between neighbours of the vertex
+    private int contract(int vertex, boolean add) {
+      int count = 0;
+      int degree = degrees[vertex];
+      for (int i = 0; i < degree; ++i) {
+        int from = neighbours[vertex][i];
+        if (contracted[from]) {
+          continue;
+        }
+        double limit = 0.0;
+        for (int j = i + 1; j < degree; ++j) {
+          if (!contracted[neighbours[vertex][j]]) {
+            limit = Math.max(limit, weights[vertex][i] + weights[vertex][j]);
+          }
+        }
+        witnessSearch(from, vertex, limit);
+        for (int j = i + 1; j < degree; ++j) {
+          int to = neighbours[vertex][j];
+          double viaVertex = weights[vertex][i] + weights[vertex][j];
+          if (contracted[to] || (witnessReached[to] == witnessStamp && witnessDistances[to] <= viaVertex)) {
+            continue;
+          }
+          ++count;
+          if (add) {
+            connect(from, to, viaVertex, vertex);
+            connect(to, from, viaVertex, vertex);
+          }
+        }
+      }
+      return count;
+    }
+
+    //Dijkstra among uncontracted vertices that avoids the vertex to contract
+    private void witnessSearch(int source, int avoid, double limit) {
+      ++witnessStamp;
+      witnessQueue.clear();
+      witnessReached[source] = witnessStamp;
+      witnessDistances[source] = 0.0;
+      witnessQueue.add(source, 0.0, 0);
+      int settled = 0;
+      while (!witnessQueue.isEmpty() && settled < WITNESS_SETTLE_LIMIT && witnessQueue.peekKey() <= limit) {
+        int vertex = witnessQueue.poll();
+        ++settled;
+        for (int i = 0; i < degrees[vertex]; ++i) {
+          int neighbour = neighbours[vertex][i];
+          if (neighbour == avoid || contracted[neighbour]) {
+            continue;
+          }
+          double distance = witnessDistances[vertex] + weights[vertex][i];
+          if (witnessReached[neighbour] != witnessStamp || distance < witnessDistances[neighbour]) {
+            witnessReached[neighbour] = witnessStamp;
+            witnessDistances[neighbour] = distance;
+            witnessQueue.add(neighbour, distance, 0);
+          }
+        }
+      }
+    }
+
+    private int activeDegree(int vertex) {
+      int degree = 0;
+      for (int i = 0; i < degrees[vertex]; ++i) {
+        if (!contracted[neighbours[vertex][i]]) {
+          ++degree;
+        }
+      }
+      return degree;
+    }
+
+    //keeps one arc per neighbour, the cheaper one wins
+    private void connect(int from, int to, double weight, int middle) {
+      for (int i = 0; i < degrees[from]; ++i) {
+        if (neighbours[from][i] == to) {
+          if (weight < weights[from][i]) {
+            weights[from][i] = weight;
+            middles[from][i] = middle;
+          }
+          return;
+        }
+      }
+      if (degrees[from] == neighbours[from].length) {
+        int capacity = neighbours[from].length * 2;
+        neighbours[from] = Arrays.copyOf(neighbours[from], capacity);
+        weights[from] = Arrays.copyOf(weights[from], capacity);
+        middles[from] = Arrays.copyOf(middles[from], capacity);
+      }
+      neighbours[from][degrees[from]] = to;
+      weights[from][degrees[from]] = weight;
+      middles[from][degrees[from]] = middle;
+      ++degrees[from];
+    }
+
+    private void swap(int vertex, int first, int second) {
+      int neighbour = neighbours[vertex][first];
+      neighbours[vertex][first] = neighbours[vertex][second];
+      neighbours[vertex][second] = neighbour;
+      double weight = weights[vertex][first];
+      weights[vertex][first] = weights[vertex][second];
+      weights[vertex][second] = weight;
+      int middle = middles[vertex][first];
+      middles[vertex][first] = middles[vertex][second];
+      middles[vertex][second] = middle;
+    }
+  }
+
+}
@@ -0,0 +1,27 @@
+package at.fhooe.ams.algorithm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class ContractionReport {
+
+  private final int vertexCount;
+  private final int edgeCount;
+  private final int shortcutCount;
+  private final long preprocessingMillis;
+  private final double averageQueryMicros;
+  private final double averageSearchMicros;
+
+  public double getSpeedup() {
+    return averageQueryMicros > 0.0 ? averageSearchMicros / averageQueryMicros : 0.0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Vertices: %d  Edges: %d  Shortcuts: %d  Preprocessing: %d ms  Query: %.1f us  Search: %.1f us  Speedup: %.1fx",
+        vertexCount, edgeCount, shortcutCount, preprocessingMillis, averageQueryMicros, averageSearchMicros, getSpeedup());
+  }
+
+}
@@ -0,0 +1,88 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.GraphUtil;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Response times of every available ambulance (rows) to every accident (columns), including break and hospital
+ * penalties. Unreachable pairs cost {@link Double#POSITIVE_INFINITY}. Paths are only built for the pairs asked for.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class CostMatrix {
+
+  @Getter
+  private final List<Vertex> ambulances;
+  @Getter
+  private final List<Vertex> accidents;
+  private final AmbulanceStatus[] states;
+  private final ShortestPathTree[] trees;
+  private final GraphPath<Vertex, DefaultWeightedEdge>[] hospitalPaths;
+  private final double[][] costs;
+
+  //costs from the search tree of every ambulance, a missing tree leaves the row unreachable
+  static CostMatrix of(List<Vertex> ambulances, List<Vertex> accidents, AmbulanceStatus[] states,
+      ShortestPathTree[] trees, GraphPath<Vertex, DefaultWeightedEdge>[] hospitalPaths) {
+    double[][] costs = new double[ambulances.size()][accidents.size()];
+    for (int row = 0; row < ambulances.size(); ++row) {
+      Arrays.fill(costs[row], Double.POSITIVE_INFINITY);
+      for (int column = 0; column < accidents.size() && trees[row] != null; ++column) {
+        double distance = trees[row].getWeight(accidents.get(column));
+        if (distance != Double.POSITIVE_INFINITY) {
+          costs[row][column] = responseTime(states[row], distance, hospitalPaths[row]);
+        }
+      }
+    }
+    return new CostMatrix(ambulances, accidents, states, trees, hospitalPaths, costs);
+  }
+
+  public double getCost(int ambulance, int accident) {
+    return costs[ambulance][accident];
+  }
+
+  public double[][] getCosts() {
+    return costs;
+  }
+
+  public GraphPath<Vertex, DefaultWeightedEdge> getPath(int ambulance, int accident) {
+    if (trees[ambulance] == null) {
+      return null;
+    }
+    GraphPath<Vertex, DefaultWeightedEdge> path = trees[ambulance].getPath(accidents.get(accident));
+    if (path == null) {
+      return null;
+    }
+    if (AmbulanceStatus.BREAK.equals(states[ambulance])) {
+      path = GraphUtil.addBreakTime(path);
+    } else if (AmbulanceStatus.OCCUPIED.equals(states[ambulance])) {
+      path = GraphUtil.mergeHospitalPath(path, hospitalPaths[ambulance]);
+    }
+    return path;
+  }
+
+  //generic arrays cannot be created directly, one place for the cast
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static GraphPath<Vertex, DefaultWeightedEdge>[] newHospitalPaths(int size) {
+    return new GraphPath[size];
+  }
+
+  //same order of additions as addBreakTime and mergeHospitalPath, so costs equal the weights of the built paths
+  static double responseTime(AmbulanceStatus status, double distance, GraphPath<Vertex, DefaultWeightedEdge> hospitalPath) {
+    if (AmbulanceStatus.BREAK.equals(status)) {
+      return distance + Ambulance.BREAK_DURATION;
+    } else if (AmbulanceStatus.OCCUPIED.equals(status)) {
+      return distance + hospitalPath.getWeight() + Hospital.HOSPITAL_DURATION;
+    }
+    return distance;
+  }
+
+}
@@ -0,0 +1,258 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Vertex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Intersections a free ambulance reaches within a time limit, computed by one Dijkstra that starts from all free
+ * ambulances at once and stops at the limit. Every covered vertex is labelled with its best response time and the
+ * ambulance that achieves it, equal times go to the ambulance with the smaller vertex id, so the labels do not depend
+ * on the order of the search. A status change only searches again where the labels change: a new free ambulance
+ * searches until it stops winning, a leaving one clears its region and lets the neighbouring ambulances grow back into
+ * it. With a pool the initial search is split by ambulances and merged. Not thread-safe.
+ */
+public class CoverageMap {
+
+  private final CompactGraph graph;
+  @Getter
+  private final double limit;
+  private final boolean[] sources;
+  private final Labels labels;
+  @Getter
+  private int coveredCount;
+  //vertices the last change had to label again
+  @Getter
+  private int updatedVertices;
+
+  public CoverageMap(Graph<Vertex, DefaultWeightedEdge> graph, Map<Vertex, Ambulance> ambulances, double limit) {
+    this(CompactGraph.of(graph).withoutGraph(), ambulances, limit, null);
+  }
+
+  public CoverageMap(CompactGraph graph, Map<Vertex, Ambulance> ambulances, double limit, ForkJoinPool pool) {
+    if (!(limit >= 0.0)) {
+      throw new IllegalArgumentException("Invalid time limit " + limit);
+    }
+    this.graph = graph;
+    this.limit = limit;
+    this.sources = new boolean[graph.getVertexCount()];
+    ambulances.forEach((position, ambulance) -> {
+      if (AmbulanceStatus.FREE.equals(ambulance.getStatus())) {
+        sources[graph.getId(position)] = true;
+      }
+    });
+    int[] free = ids(sources);
+    int chunks = pool == null ? 1 : Math.min(pool.getParallelism(), free.length);
+    this.labels = chunks <= 1 ? search(free, 0, 1) : search(free, chunks, pool);
+    this.coveredCount = labels.covered;
+    this.updatedVertices = labels.covered;
+  }
+
+  public boolean isCovered(Vertex vertex) {
+    return labels.owners[graph.getId(vertex)] >= 0;
+  }
+
+  //best response time of any free ambulance, infinite if none makes it within the limit
+  public double getResponseTime(Vertex vertex) {
+    return labels.times[graph.getId(vertex)];
+  }
+
+  //position of the free ambulance with the best response time, null if uncovered
+  public Vertex getAmbulance(Vertex vertex) {
+    int owner = labels.owners[graph.getId(vertex)];
+    return owner < 0 ? null : graph.getVertex(owner);
+  }
+
+  public Set<Vertex> getCovered() {
+    return vertices(true);
+  }
+
+  public Set<Vertex> getUncovered() {
+    return vertices(false);
+  }
+
+  public double getCoveredShare() {
+    return graph.getVertexCount() == 0 ? 1.0 : (double) coveredCount / graph.getVertexCount();
+  }
+
+  public void putAmbulance(Vertex position, Ambulance ambulance) {
+    setAmbulanceStatus(position, ambulance.getStatus());
+  }
+
+  public void removeAmbulance(Vertex position) {
+    setAmbulanceStatus(position, AmbulanceStatus.NOT_AVAILABLE);
+  }
+
+  public void setAmbulanceStatus(Vertex position, AmbulanceStatus status) {
+    int id = graph.getId(position);
+    boolean free = AmbulanceStatus.FREE.equals(status);
+    updatedVertices = 0;
+    if (free == sources[id]) {
+      return;
+    }
+    sources[id] = free;
+    labels.covered = 0;
+    labels.settled = 0;
+    if (free) {
+      //labels only get better, the search ends where the other ambulances are at least as fast
+      labels.offer(id, 0.0, id);
+      labels.grow();
+      updatedVertices = labels.settled;
+    } else {
+      updatedVertices = remove(id);
+    }
+    coveredCount += labels.covered;
+  }
+
+  /**
+   * The region of an ambulance is connected along its shortest paths, so it is collected from the ambulance outwards.
+   * Its vertices are labelled again from the neighbouring regions, whose labels stay correct.
+   */
+  private int remove(int source) {
+    int[] owners = labels.owners;
+    List<Integer> region = new ArrayList<>();
+    region.add(source);
+    owners[source] = -2;
+    for (int i = 0; i < region.size(); ++i) {
+      int vertex = region.get(i);
+      for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+        int neighbour = graph.getTarget(arc);
+        if (owners[neighbour] == source) {
+          owners[neighbour] = -2;
+          region.add(neighbour);
+        }
+      }
+    }
+    for (int vertex : region) {
+      labels.times[vertex] = Double.POSITIVE_INFINITY;
+      owners[vertex] = -1;
+    }
+    coveredCount -= region.size();
+    for (int vertex : region) {
+      for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+        int neighbour = graph.getTarget(arc);
+        if (owners[neighbour] >= 0) {
+          labels.offer(vertex, labels.times[neighbour] + graph.getWeight(arc), owners[neighbour]);
+        }
+      }
+    }
+    labels.grow();
+    return region.size();
+  }
+
+  //every chunk searches from its share of the ambulances, the labels are merged by the order the search uses
+  private Labels search(int[] free, int chunks, ForkJoinPool pool) {
+    Labels[] parts = new Labels[chunks];
+    GraphController.forEachRow(chunks, pool, chunk -> parts[chunk] = search(free, chunk, chunks));
+    Labels merged = new Labels(graph, limit);
+    for (Labels part : parts) {
+      for (int vertex = 0; vertex < part.owners.length; ++vertex) {
+        if (part.owners[vertex] >= 0 && merged.isBetter(vertex, part.times[vertex], part.owners[vertex])) {
+          if (merged.owners[vertex] < 0) {
+            ++merged.covered;
+          }
+          merged.times[vertex] = part.times[vertex];
+          merged.owners[vertex] = part.owners[vertex];
+        }
+      }
+    }
+    return merged;
+  }
+
+  private Labels search(int[] free, int chunk, int chunks) {
+    Labels part = new Labels(graph, limit);
+    for (int i = chunk; i < free.length; i += chunks) {
+      part.offer(free[i], 0.0, free[i]);
+    }
+    part.grow();
+    return part;
+  }
+
+  private static int[] ids(boolean[] flags) {
+    int[] ids = new int[flags.length];
+    int count = 0;
+    for (int id = 0; id < flags.length; ++id) {
+      if (flags[id]) {
+        ids[count++] = id;
+      }
+    }
+    return Arrays.copyOf(ids, count);
+  }
+
+  private Set<Vertex> vertices(boolean covered) {
+    Set<Vertex> vertices = new LinkedHashSet<>();
+    for (int id = 0; id < labels.owners.length; ++id) {
+      if (labels.owners[id] >= 0 == covered) {
+        vertices.add(graph.getVertex(id));
+      }
+    }
+    return vertices;
+  }
+
+  /**
+   * Response time and owning ambulance of every vertex, -1 for uncovered vertices. Counts the vertices the last
+   * searches covered and settled.
+   */
+  private static class Labels {
+
+    private final CompactGraph graph;
+    private final double limit;
+    private final double[] times;
+    private final int[] owners;
+    private final MinHeap queue = new MinHeap(16);
+    private int covered;
+    private int settled;
+
+    private Labels(CompactGraph graph, double limit) {
+      this.graph = graph;
+      this.limit = limit;
+      this.times = new double[graph.getVertexCount()];
+      this.owners = new int[graph.getVertexCount()];
+      Arrays.fill(times, Double.POSITIVE_INFINITY);
+      Arrays.fill(owners, -1);
+    }
+
+    //Dijkstra on response time and then owner, entries whose vertex got a better time in the meantime are skipped
+    private void grow() {
+      while (!queue.isEmpty()) {
+        double time = queue.peekKey();
+        int vertex = queue.poll();
+        if (time != times[vertex]) {
+          continue;
+        }
+        ++settled;
+        for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+          offer(graph.getTarget(arc), time + graph.getWeight(arc), owners[vertex]);
+        }
+      }
+    }
+
+    private void offer(int vertex, double time, int owner) {
+      if (time > limit || !isBetter(vertex, time, owner)) {
+        return;
+      }
+      if (owners[vertex] < 0) {
+        ++covered;
+      }
+      times[vertex] = time;
+      owners[vertex] = owner;
+      queue.add(vertex, time, owner);
+    }
+
+    private boolean isBetter(int vertex, double time, int owner) {
+      return time != times[vertex] ? time < times[vertex] : owners[vertex] < 0 || owner < owners[vertex];
+    }
+  }
+
+}
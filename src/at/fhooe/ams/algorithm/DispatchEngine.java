@@ -0,0 +1,449 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.VertexRoles;
+import at.fhooe.ams.graph.WeightUpdate;
+import at.fhooe.ams.metrics.DispatchPhase;
+import at.fhooe.ams.metrics.MetricsListener;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.LandmarkStore;
+import at.fhooe.ams.util.Parser;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Long-lived dispatcher for one road network. The graph and heuristic are built once, ambulances, hospitals and
+ * accidents are updated through events and {@link #dispatch()} only repeats the searches of ambulances an event touched.
+ * Changed edge weights are collected until the next dispatch, which repairs the cached searches instead of redoing them.
+ * Not thread-safe, one engine serves one dispatcher.
+ */
+public class DispatchEngine implements AutoCloseable {
+
+  private final DispatchOptions options;
+  private final MetricsListener metrics;
+  private final ForkJoinPool pool;
+  private CompactGraph compactGraph;
+  @Getter
+  private LandmarkHeuristic heuristic;
+  //roles and capacities by vertex id, the graph itself is never written to
+  @Getter
+  private final VertexRoles roles;
+  //search state by vertex id, the lists keep the order of the events, which decides ties in the assignment
+  private final Row[] rowIndex;
+  private ThreadLocal<OneToManyShortestPath> searches;
+  //created on the first nearest ambulance query on the current weights
+  private NearestAmbulanceSearch nearestSearch;
+  @Getter
+  private final ShortestPathCache pathCache;
+  //nearest available hospital of every vertex, rebuilt on the next dispatch after hospitals or weights change
+  private HospitalVoronoi hospitalVoronoi;
+
+  private final List<Row> rows = new ArrayList<>();
+  private final List<Vertex> hospitals = new ArrayList<>();
+  private final List<Vertex> accidents = new ArrayList<>();
+  private final Map<Long, WeightUpdate> pendingUpdates = new LinkedHashMap<>();
+  @Getter
+  private int recomputedRows;
+  @Getter
+  private int repairedRows;
+
+  public DispatchEngine(Map<String, Vertex> vertices, List<Pair<Vertex, Vertex>> edges, List<Double> weights,
+      DispatchOptions options) {
+    this(Parser.parseUndirectedWeightedGraph(vertices, edges, weights), options);
+  }
+
+  public DispatchEngine(Graph<Vertex, DefaultWeightedEdge> graph, DispatchOptions options) {
+    this(compactGraph(graph, options.getMetricsListener()), options);
+  }
+
+  //routes on the given arcs, e.g. of a mapped GraphSnapshot
+  public DispatchEngine(CompactGraph compactGraph, DispatchOptions options) {
+    this.options = options;
+    this.metrics = options.getMetricsListener();
+    this.compactGraph = compactGraph;
+    this.roles = new VertexRoles(compactGraph);
+    this.rowIndex = new Row[compactGraph.getVertexCount()];
+    long start = System.nanoTime();
+    this.heuristic = createHeuristic(compactGraph, options);
+    metrics.phaseCompleted(DispatchPhase.PREPROCESSING, System.nanoTime() - start);
+    this.pool = options.getParallelism() > 1 ? new ForkJoinPool(options.getParallelism()) : null;
+    this.pathCache = new ShortestPathCache(options.getPathCacheEntries(), options.getPathCacheVertices());
+    renewSearches();
+  }
+
+  static CompactGraph compactGraph(Graph<Vertex, DefaultWeightedEdge> graph, MetricsListener metrics) {
+    long start = System.nanoTime();
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    metrics.phaseCompleted(DispatchPhase.GRAPH_BUILDING, System.nanoTime() - start);
+    return compactGraph;
+  }
+
+  static LandmarkHeuristic createHeuristic(CompactGraph compactGraph, DispatchOptions options) {
+    return options.getLandmarkFile() == null
+        ? new LandmarkHeuristic(compactGraph, LandmarkHeuristic.DEFAULT_LANDMARK_COUNT, LandmarkSelection.FARTHEST,
+            LandmarkHeuristic.DEFAULT_SEED)
+        : LandmarkStore.loadOrBuild(compactGraph, options.getLandmarkFile(), LandmarkHeuristic.DEFAULT_LANDMARK_COUNT,
+            LandmarkSelection.FARTHEST);
+  }
+
+  //built from the arcs on first use if the engine was created on a compact graph
+  public Graph<Vertex, DefaultWeightedEdge> getGraph() {
+    return compactGraph.getGraph();
+  }
+
+  public void putAmbulance(Vertex position, Ambulance ambulance) {
+    roles.setAmbulance(position, ambulance);
+    putRow(new Row(compactGraph.getId(position), position));
+  }
+
+  public void removeAmbulance(Vertex position) {
+    int id = compactGraph.getId(position);
+    if (roles.hasAmbulance(id)) {
+      rows.remove(rowIndex[id]);
+      rowIndex[id] = null;
+      roles.setAmbulance(position, null);
+    }
+  }
+
+  public void moveAmbulance(Vertex from, Vertex to) {
+    Ambulance ambulance = roles.getAmbulance(from);
+    if (ambulance == null) {
+      throw new IllegalArgumentException("No ambulance at " + from);
+    }
+    removeAmbulance(from);
+    putAmbulance(to, ambulance);
+  }
+
+  public void setAmbulanceStatus(Vertex position, AmbulanceStatus status) {
+    Ambulance previous = roles.getAmbulance(position);
+    if (previous == null) {
+      throw new IllegalArgumentException("No ambulance at " + position);
+    }
+    roles.setAmbulance(position, new Ambulance(previous.getName(), status));
+    //break and free ambulances search from where they stand, only the penalty differs
+    if (!isAtPosition(previous.getStatus()) || !isAtPosition(status)) {
+      putRow(new Row(compactGraph.getId(position), position));
+    }
+  }
+
+  public void openAccident(Vertex position, Accident accident) {
+    if (!roles.hasAccident(compactGraph.getId(position))) {
+      accidents.add(position);
+      //searches stop early, trees that did not settle the new accident have to be extended
+      rows.forEach(row -> {
+        if (row.tree != null && !row.tree.isReached(position)) {
+          row.invalidate();
+        }
+      });
+    }
+    roles.setAccident(position, accident);
+  }
+
+  public void closeAccident(Vertex position) {
+    if (roles.hasAccident(compactGraph.getId(position))) {
+      accidents.remove(position);
+      roles.setAccident(position, null);
+    }
+  }
+
+  public void putHospital(Vertex position, Hospital hospital) {
+    if (!roles.hasHospital(compactGraph.getId(position))) {
+      hospitals.add(position);
+      invalidateOccupied(null);
+    }
+    roles.setHospital(position, hospital);
+  }
+
+  //a hospital without capacity is not used as destination for occupied ambulances
+  public void setHospitalCapacity(Vertex position, int capacity) {
+    if (!roles.hasHospital(compactGraph.getId(position))) {
+      throw new IllegalArgumentException("No hospital at " + position);
+    }
+    boolean wasAvailable = isAvailable(position);
+    roles.setCapacity(position, capacity);
+    if (wasAvailable && !isAvailable(position)) {
+      invalidateOccupied(position);
+    } else if (!wasAvailable && isAvailable(position)) {
+      invalidateOccupied(null);
+    }
+  }
+
+  /**
+   * Sets new weights for existing edges, e.g. for congestion or closed roads. The batch is checked first and applied
+   * as a whole. The landmark tables are kept, cheaper edges only scale their bounds down, see
+   * {@link LandmarkHeuristic#forWeights}.
+   */
+  public void updateEdgeWeights(List<Pair<Vertex, Vertex>> edges, List<Double> weights) {
+    if (edges.size() != weights.size()) {
+      throw new IllegalArgumentException("Got " + edges.size() + " edges but " + weights.size() + " weights");
+    }
+    int[] arcs = new int[edges.size()];
+    for (int i = 0; i < edges.size(); ++i) {
+      Pair<Vertex, Vertex> edge = edges.get(i);
+      arcs[i] = compactGraph.findArc(compactGraph.getId(edge.getFirst()), compactGraph.getId(edge.getSecond()));
+      if (arcs[i] < 0) {
+        throw new IllegalArgumentException("No edge between " + edge.getFirst() + " and " + edge.getSecond());
+      }
+      if (!(weights.get(i) >= 0.0)) {
+        throw new IllegalArgumentException("Invalid weight " + weights.get(i) + " for edge " + edge);
+      }
+    }
+
+    //the live weights only exist in the compact graph, the caller's graph keeps its own
+    List<WeightUpdate> updates = new ArrayList<>();
+    for (int i = 0; i < edges.size(); ++i) {
+      double oldWeight = compactGraph.getWeight(arcs[i]);
+      double newWeight = weights.get(i);
+      if (oldWeight == newWeight) {
+        continue;
+      }
+      int source = compactGraph.getId(edges.get(i).getFirst());
+      int target = compactGraph.getTarget(arcs[i]);
+      updates.add(new WeightUpdate(source, target, oldWeight, newWeight));
+      //cached searches know the weights of the last dispatch, so several updates of one edge are merged
+      long key = ((long) Math.min(source, target) << 32) | Math.max(source, target);
+      WeightUpdate pending = pendingUpdates.get(key);
+      double dispatchedWeight = pending == null ? oldWeight : pending.getOldWeight();
+      if (dispatchedWeight == newWeight) {
+        pendingUpdates.remove(key);
+      } else {
+        pendingUpdates.put(key, new WeightUpdate(source, target, dispatchedWeight, newWeight));
+      }
+    }
+    if (!updates.isEmpty()) {
+      compactGraph = compactGraph.withWeights(updates);
+      heuristic = heuristic.forWeights(compactGraph);
+      renewSearches();
+    }
+  }
+
+  //recomputes the landmark tables on the current weights, e.g. after many roads got faster
+  public void rebuildLandmarks() {
+    long start = System.nanoTime();
+    heuristic = new LandmarkHeuristic(compactGraph, heuristic.getLandmarks().size(), LandmarkSelection.FARTHEST,
+        LandmarkHeuristic.DEFAULT_SEED);
+    metrics.phaseCompleted(DispatchPhase.PREPROCESSING, System.nanoTime() - start);
+    renewSearches();
+  }
+
+  public Assignment dispatch() {
+    List<Vertex> ambulances = new ArrayList<>();
+    List<Row> available = new ArrayList<>();
+    List<Row> outdated = new ArrayList<>();
+    rows.forEach(row -> {
+      if (!AmbulanceStatus.NOT_AVAILABLE.equals(status(row))) {
+        ambulances.add(row.position);
+        available.add(row);
+        if (row.dirty || !pendingUpdates.isEmpty()) {
+          outdated.add(row);
+        }
+      } else if (!pendingUpdates.isEmpty()) {
+        row.invalidate();
+      }
+    });
+    List<Vertex> columns = new ArrayList<>(accidents);
+    List<Vertex> targets = availableHospitals();
+    List<WeightUpdate> updates = new ArrayList<>(pendingUpdates.values());
+    long start = System.nanoTime();
+    pathCache.invalidate(updates, heuristic);
+    if (!updates.isEmpty()) {
+      hospitalVoronoi = null;
+    }
+    if (hospitalVoronoi == null
+        && outdated.stream().anyMatch(row -> AmbulanceStatus.OCCUPIED.equals(status(row)))) {
+      hospitalVoronoi = new HospitalVoronoi(compactGraph, targets);
+    }
+
+    recomputedRows = (int) outdated.stream().filter(row -> row.dirty).count();
+    repairedRows = outdated.size() - recomputedRows;
+    GraphController.forEachRow(outdated.size(), pool, index -> {
+      Row row = outdated.get(index);
+      if (row.dirty) {
+        update(row, columns);
+      } else {
+        repair(row, columns, updates);
+      }
+    });
+    pendingUpdates.clear();
+    metrics.phaseCompleted(DispatchPhase.SEARCH, System.nanoTime() - start);
+    metrics.cacheStatistics(pathCache.getHits(), pathCache.getMisses(), pathCache.getEvictions(),
+        pathCache.getInvalidations());
+
+    start = System.nanoTime();
+    AmbulanceStatus[] states = new AmbulanceStatus[ambulances.size()];
+    ShortestPathTree[] trees = new ShortestPathTree[ambulances.size()];
+    GraphPath<Vertex, DefaultWeightedEdge>[] hospitalPaths = CostMatrix.newHospitalPaths(ambulances.size());
+    for (int index = 0; index < ambulances.size(); ++index) {
+      Row row = available.get(index);
+      states[index] = status(row);
+      trees[index] = row.tree;
+      hospitalPaths[index] = row.hospitalPath;
+    }
+    CostMatrix costMatrix = CostMatrix.of(ambulances, columns, states, trees, hospitalPaths);
+    return GraphController.assign(costMatrix, options, start);
+  }
+
+  /**
+   * The k available ambulances with the shortest response time to the given vertex, e.g. a first responder and its
+   * backups, ordered by response time. Only searches as far as the k-th ambulance instead of building the cost matrix.
+   */
+  public List<AmbulanceCandidate> nearestAmbulances(Vertex accident, int k) {
+    Map<Vertex, Ambulance> ambulances = getAmbulances();
+    HospitalVoronoi voronoi = hospitalVoronoi;
+    if ((voronoi == null || !pendingUpdates.isEmpty())
+        && rows.stream().anyMatch(row -> AmbulanceStatus.OCCUPIED.equals(status(row)))) {
+      voronoi = new HospitalVoronoi(compactGraph, availableHospitals());
+      //the dispatch still has to see the pending updates, so only a partition on its weights is kept
+      if (pendingUpdates.isEmpty()) {
+        hospitalVoronoi = voronoi;
+      }
+    }
+    if (nearestSearch == null) {
+      nearestSearch = new NearestAmbulanceSearch(compactGraph);
+    }
+    return nearestSearch.search(accident, k, ambulances, voronoi);
+  }
+
+  //intersections free ambulances reach within the limit, kept up to date by feeding it the same status changes
+  public CoverageMap getCoverage(double limit) {
+    return new CoverageMap(compactGraph, getAmbulances(), limit, pool);
+  }
+
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  private void update(Row row, List<Vertex> accidentTargets) {
+    row.hospitalPath = null;
+    row.tree = null;
+    Vertex source = row.position;
+    if (AmbulanceStatus.OCCUPIED.equals(status(row))) {
+      //the occupied ambulance drives to its nearest hospital first
+      row.hospitalPath = hospitalVoronoi.getPath(row.position);
+      if (row.hospitalPath == null) {
+        row.dirty = false;
+        return;
+      }
+      source = row.hospitalPath.getEndVertex();
+    }
+    row.tree = search(searches.get(), source, accidentTargets);
+    row.dirty = false;
+  }
+
+  //ambulances at the same station or behind the same hospital ask for the same tree
+  private ShortestPathTree search(OneToManyShortestPath search, Vertex source, List<Vertex> targets) {
+    int sourceId = compactGraph.getId(source);
+    int[] targetIds = targets.stream().mapToInt(compactGraph::getId).toArray();
+    return pathCache.computeIfAbsent(sourceId, targetIds, () -> {
+      ShortestPathTree tree = search.search(sourceId, targetIds);
+      metrics.searchCompleted(search.getSettledVertices(), search.getRelaxedEdges());
+      return tree;
+    });
+  }
+
+  private void repair(Row row, List<Vertex> accidentTargets, List<WeightUpdate> updates) {
+    OneToManyShortestPath search = searches.get();
+    if (AmbulanceStatus.OCCUPIED.equals(status(row))) {
+      Vertex previous = row.hospitalPath == null ? null : row.hospitalPath.getEndVertex();
+      row.hospitalPath = hospitalVoronoi.getPath(row.position);
+      if (row.hospitalPath == null) {
+        row.tree = null;
+        return;
+      }
+      //another hospital is closer now, the accident search starts somewhere else
+      if (!row.hospitalPath.getEndVertex().equals(previous)) {
+        row.tree = search(search, row.hospitalPath.getEndVertex(), accidentTargets);
+        return;
+      }
+    }
+    row.tree = search.repair(row.tree, accidentTargets, updates);
+    metrics.searchCompleted(search.getSettledVertices(), search.getRelaxedEdges());
+  }
+
+  //search instances hold on to graph and heuristic, threads pick up new ones lazily
+  private void renewSearches() {
+    CompactGraph searchGraph = compactGraph;
+    LandmarkHeuristic searchHeuristic = heuristic;
+    searches = ThreadLocal.withInitial(() -> new OneToManyShortestPath(searchGraph, searchHeuristic));
+    nearestSearch = null;
+  }
+
+  //a replaced row keeps its place
+  private void putRow(Row row) {
+    Row previous = rowIndex[row.id];
+    if (previous == null) {
+      rows.add(row);
+    } else {
+      rows.set(rows.indexOf(previous), row);
+    }
+    rowIndex[row.id] = row;
+  }
+
+  private Map<Vertex, Ambulance> getAmbulances() {
+    Map<Vertex, Ambulance> ambulances = new LinkedHashMap<>();
+    rows.forEach(row -> ambulances.put(row.position, roles.getAmbulance(row.id)));
+    return ambulances;
+  }
+
+  private AmbulanceStatus status(Row row) {
+    return roles.getStatus(row.id);
+  }
+
+  private List<Vertex> availableHospitals() {
+    List<Vertex> targets = new ArrayList<>(hospitals);
+    targets.removeIf(hospital -> !isAvailable(hospital));
+    return targets;
+  }
+
+  private void invalidateOccupied(Vertex hospital) {
+    hospitalVoronoi = null;
+    rows.forEach(row -> {
+      if (AmbulanceStatus.OCCUPIED.equals(status(row))
+          && (hospital == null || row.hospitalPath == null || row.hospitalPath.getEndVertex().equals(hospital))) {
+        row.invalidate();
+      }
+    });
+  }
+
+  private boolean isAvailable(Vertex hospital) {
+    return roles.getCapacity(hospital) > 0;
+  }
+
+  private static boolean isAtPosition(AmbulanceStatus status) {
+    return AmbulanceStatus.FREE.equals(status) || AmbulanceStatus.BREAK.equals(status);
+  }
+
+  private static class Row {
+
+    private final int id;
+    private final Vertex position;
+    private GraphPath<Vertex, DefaultWeightedEdge> hospitalPath;
+    private ShortestPathTree tree;
+    private boolean dirty = true;
+
+    private Row(int id, Vertex position) {
+      this.id = id;
+      this.position = position;
+    }
+
+    private void invalidate() {
+      dirty = true;
+    }
+  }
+
+}
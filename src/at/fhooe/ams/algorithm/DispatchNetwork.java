@@ -0,0 +1,222 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.TravelTimeProfile;
+import at.fhooe.ams.graph.TravelTimes;
+import at.fhooe.ams.metrics.DispatchPhase;
+import at.fhooe.ams.metrics.MetricsListener;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Road network shared by any number of dispatchers. Graph and heuristic are built once and never change afterwards,
+ * every thread searches with its own buffers, so dispatches run concurrently without locks. Ambulances, hospitals and
+ * accidents belong to the caller, either as {@link DispatchScenario} or as {@link DispatchSession}. With travel time
+ * profiles a scenario can also be dispatched for a departure time.
+ */
+public class DispatchNetwork {
+
+  @Getter
+  private final CompactGraph compactGraph;
+  @Getter
+  private final LandmarkHeuristic heuristic;
+  @Getter
+  private final DispatchOptions options;
+  private final MetricsListener metrics;
+  private final ThreadLocal<OneToManyShortestPath> searches;
+  private final ThreadLocal<BidirectionalShortestPath> pointSearches;
+  private final ThreadLocal<NearestAmbulanceSearch> nearestSearches;
+  //null without profiles
+  @Getter
+  private final TravelTimes travelTimes;
+  private final ThreadLocal<TimeDependentShortestPath> timeDependentSearches;
+  //scenarios often share their hospitals, so the last partition is kept
+  private volatile Map.Entry<List<Vertex>, HospitalVoronoi> lastVoronoi;
+
+  public DispatchNetwork(Graph<Vertex, DefaultWeightedEdge> graph, DispatchOptions options) {
+    this(graph, Collections.emptyMap(), options);
+  }
+
+  //edges without a profile take their weight at any time, the weights are the free-flow travel times
+  public DispatchNetwork(Graph<Vertex, DefaultWeightedEdge> graph, Map<DefaultWeightedEdge, TravelTimeProfile> profiles,
+      DispatchOptions options) {
+    this(DispatchEngine.compactGraph(graph, options.getMetricsListener()), profiles, options);
+  }
+
+  //routes on the given arcs, e.g. of a mapped GraphSnapshot
+  public DispatchNetwork(CompactGraph compactGraph, DispatchOptions options) {
+    this(compactGraph, Collections.emptyMap(), options);
+  }
+
+  private DispatchNetwork(CompactGraph compactGraph, Map<DefaultWeightedEdge, TravelTimeProfile> profiles,
+      DispatchOptions options) {
+    this.options = options;
+    this.metrics = options.getMetricsListener();
+    this.compactGraph = compactGraph;
+    this.travelTimes = profiles.isEmpty() ? null : new TravelTimes(compactGraph, profiles);
+    long start = System.nanoTime();
+    this.heuristic = DispatchEngine.createHeuristic(compactGraph, options);
+    metrics.phaseCompleted(DispatchPhase.PREPROCESSING, System.nanoTime() - start);
+    this.searches = ThreadLocal.withInitial(() -> new OneToManyShortestPath(compactGraph, heuristic));
+    this.pointSearches = ThreadLocal.withInitial(() -> new BidirectionalShortestPath(compactGraph, heuristic));
+    this.nearestSearches = ThreadLocal.withInitial(() -> new NearestAmbulanceSearch(compactGraph));
+    this.timeDependentSearches = ThreadLocal.withInitial(() -> new TimeDependentShortestPath(travelTimes, heuristic));
+  }
+
+  //a new dispatcher without ambulances, hospitals or accidents, to be used by one thread at a time
+  public DispatchSession openSession() {
+    return new DispatchSession(this);
+  }
+
+  public Assignment dispatch(DispatchScenario scenario) {
+    return dispatch(scenario, () -> voronoi(new ArrayList<>(scenario.getHospitals().keySet())));
+  }
+
+  Assignment dispatch(DispatchScenario scenario, Supplier<HospitalVoronoi> hospitalVoronoi) {
+    List<Vertex> ambulances = new ArrayList<>(scenario.getAmbulances().keySet());
+    List<AmbulanceStatus> states = new ArrayList<>(ambulances.size());
+    scenario.getAmbulances().values().forEach(ambulance -> states.add(ambulance.getStatus()));
+    return dispatch(ambulances, states, new ArrayList<>(scenario.getAccidents().keySet()), hospitalVoronoi);
+  }
+
+  //the partition is only asked for if an ambulance has to bring a patient to the hospital first
+  Assignment dispatch(List<Vertex> positions, List<AmbulanceStatus> positionStates, List<Vertex> accidents,
+      Supplier<HospitalVoronoi> hospitalVoronoi) {
+    List<Vertex> ambulances = new ArrayList<>();
+    List<AmbulanceStatus> states = new ArrayList<>();
+    for (int i = 0; i < positions.size(); ++i) {
+      if (!AmbulanceStatus.NOT_AVAILABLE.equals(positionStates.get(i))) {
+        ambulances.add(positions.get(i));
+        states.add(positionStates.get(i));
+      }
+    }
+    List<Vertex> columns = new ArrayList<>(accidents);
+    long start = System.nanoTime();
+    HospitalVoronoi voronoi = states.contains(AmbulanceStatus.OCCUPIED) ? hospitalVoronoi.get() : null;
+
+    //a single accident is a point-to-point query from every ambulance
+    OneToManyShortestPath search = columns.size() == 1 ? null : searches.get();
+    BidirectionalShortestPath pointSearch = columns.size() == 1 ? pointSearches.get() : null;
+    ShortestPathTree[] trees = new ShortestPathTree[ambulances.size()];
+    GraphPath<Vertex, DefaultWeightedEdge>[] hospitalPaths = CostMatrix.newHospitalPaths(ambulances.size());
+    for (int row = 0; row < ambulances.size(); ++row) {
+      Vertex source = ambulances.get(row);
+      if (AmbulanceStatus.OCCUPIED.equals(states.get(row))) {
+        hospitalPaths[row] = voronoi.getPath(source);
+        if (hospitalPaths[row] == null) {
+          continue;
+        }
+        source = hospitalPaths[row].getEndVertex();
+      }
+      if (pointSearch != null) {
+        trees[row] = pointSearch.search(compactGraph.getId(source), compactGraph.getId(columns.get(0)));
+        metrics.searchCompleted(pointSearch.getSettledVertices(), pointSearch.getRelaxedEdges());
+      } else {
+        trees[row] = search.search(source, columns);
+        metrics.searchCompleted(search.getSettledVertices(), search.getRelaxedEdges());
+      }
+    }
+    metrics.phaseCompleted(DispatchPhase.SEARCH, System.nanoTime() - start);
+    start = System.nanoTime();
+    CostMatrix costMatrix = CostMatrix.of(ambulances, columns, states.toArray(new AmbulanceStatus[0]), trees,
+        hospitalPaths);
+    return GraphController.assign(costMatrix, options, start);
+  }
+
+  //the k ambulances of the scenario with the shortest response time to the accident, see NearestAmbulanceSearch
+  public List<AmbulanceCandidate> nearestAmbulances(DispatchScenario scenario, Vertex accident, int k) {
+    return nearestAmbulances(scenario.getAmbulances(), accident, k,
+        () -> voronoi(new ArrayList<>(scenario.getHospitals().keySet())));
+  }
+
+  List<AmbulanceCandidate> nearestAmbulances(Map<Vertex, Ambulance> ambulances, Vertex accident, int k,
+      Supplier<HospitalVoronoi> hospitalVoronoi) {
+    boolean occupied = ambulances.values().stream()
+        .anyMatch(ambulance -> AmbulanceStatus.OCCUPIED.equals(ambulance.getStatus()));
+    return nearestSearches.get().search(accident, k, ambulances, occupied ? hospitalVoronoi.get() : null);
+  }
+
+  /**
+   * Dispatch for ambulances leaving at the given time. A break delays the departure by
+   * {@link Ambulance#BREAK_DURATION}, occupied ambulances drive to the hospital they reach first and leave it
+   * {@link Hospital#HOSPITAL_DURATION} after their arrival. Response times count from the given departure.
+   */
+  public Assignment dispatch(DispatchScenario scenario, double departure) {
+    if (travelTimes == null) {
+      throw new IllegalStateException("Network has no travel time profiles");
+    }
+    List<Vertex> ambulances = new ArrayList<>();
+    List<AmbulanceStatus> states = new ArrayList<>();
+    scenario.getAmbulances().forEach((position, ambulance) -> {
+      if (!AmbulanceStatus.NOT_AVAILABLE.equals(ambulance.getStatus())) {
+        ambulances.add(position);
+        states.add(ambulance.getStatus());
+      }
+    });
+    List<Vertex> columns = new ArrayList<>(scenario.getAccidents().keySet());
+    List<Vertex> hospitals = new ArrayList<>(scenario.getHospitals().keySet());
+    long start = System.nanoTime();
+
+    TimeDependentShortestPath search = timeDependentSearches.get();
+    ShortestPathTree[] trees = new ShortestPathTree[ambulances.size()];
+    GraphPath<Vertex, DefaultWeightedEdge>[] hospitalPaths = CostMatrix.newHospitalPaths(ambulances.size());
+    for (int row = 0; row < ambulances.size(); ++row) {
+      Vertex source = ambulances.get(row);
+      double legDeparture = departure;
+      if (AmbulanceStatus.BREAK.equals(states.get(row))) {
+        legDeparture += Ambulance.BREAK_DURATION;
+      } else if (AmbulanceStatus.OCCUPIED.equals(states.get(row))) {
+        ShortestPathTree hospitalTree = search.search(source, hospitals, departure);
+        metrics.searchCompleted(search.getSettledVertices(), search.getRelaxedEdges());
+        Vertex hospital = nearest(hospitalTree, hospitals);
+        if (hospital == null) {
+          continue;
+        }
+        hospitalPaths[row] = hospitalTree.getPath(hospital);
+        source = hospital;
+        legDeparture += hospitalPaths[row].getWeight() + Hospital.HOSPITAL_DURATION;
+      }
+      trees[row] = search.search(source, columns, legDeparture);
+      metrics.searchCompleted(search.getSettledVertices(), search.getRelaxedEdges());
+    }
+    metrics.phaseCompleted(DispatchPhase.SEARCH, System.nanoTime() - start);
+    start = System.nanoTime();
+    CostMatrix costMatrix = CostMatrix.of(ambulances, columns, states.toArray(new AmbulanceStatus[0]), trees,
+        hospitalPaths);
+    return GraphController.assign(costMatrix, options, start);
+  }
+
+  //first of the closest hospitals, null if none is reachable
+  private static Vertex nearest(ShortestPathTree tree, List<Vertex> hospitals) {
+    Vertex nearest = null;
+    for (Vertex hospital : hospitals) {
+      if (tree.getWeight(hospital) < (nearest == null ? Double.POSITIVE_INFINITY : tree.getWeight(nearest))) {
+        nearest = hospital;
+      }
+    }
+    return nearest;
+  }
+
+  private HospitalVoronoi voronoi(List<Vertex> hospitals) {
+    Map.Entry<List<Vertex>, HospitalVoronoi> last = lastVoronoi;
+    if (last != null && last.getKey().equals(hospitals)) {
+      return last.getValue();
+    }
+    HospitalVoronoi voronoi = new HospitalVoronoi(compactGraph, hospitals);
+    lastVoronoi = new AbstractMap.SimpleImmutableEntry<>(hospitals, voronoi);
+    return voronoi;
+  }
+
+}
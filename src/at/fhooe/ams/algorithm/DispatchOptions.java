@@ -0,0 +1,28 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.metrics.MetricsListener;
+import java.nio.file.Path;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class DispatchOptions {
+
+  public static final DispatchOptions DEFAULT = DispatchOptions.builder().build();
+
+  private final Path landmarkFile;
+  @Builder.Default
+  private final AssignmentMode assignmentMode = AssignmentMode.GREEDY;
+  //number of threads computing shortest path searches, 1 runs everything on the calling thread
+  @Builder.Default
+  private final int parallelism = 1;
+  //search trees kept by the dispatch engine, 0 turns the cache off
+  @Builder.Default
+  private final int pathCacheEntries = 0;
+  @Builder.Default
+  private final long pathCacheVertices = 4_000_000;
+  @Builder.Default
+  private final MetricsListener metricsListener = MetricsListener.NONE;
+
+}
@@ -0,0 +1,22 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One configuration of ambulances, hospitals and accidents on the network of a {@link BatchDispatcher}.
+ */
+@AllArgsConstructor
+@Getter
+public class DispatchScenario {
+
+  private final Map<Vertex, Ambulance> ambulances;
+  private final Map<Vertex, Hospital> hospitals;
+  private final Map<Vertex, Accident> accidents;
+
+}
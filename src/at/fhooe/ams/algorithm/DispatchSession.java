@@ -0,0 +1,124 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.VertexRoles;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Ambulances, hospitals and accidents of one dispatcher on a shared {@link DispatchNetwork}, e.g. one region of the
+ * control room. Sessions never write to the network, any number of them can dispatch at the same time. A session
+ * itself is not thread-safe.
+ */
+public class DispatchSession {
+
+  @Getter
+  private final DispatchNetwork network;
+  //roles by vertex id over the shared network, the lists keep the order of the events, which decides ties
+  private final VertexRoles roles;
+  private final List<Vertex> ambulances = new ArrayList<>();
+  private final List<Vertex> hospitals = new ArrayList<>();
+  private final List<Vertex> accidents = new ArrayList<>();
+  //rebuilt on the next dispatch after the hospitals changed
+  private HospitalVoronoi hospitalVoronoi;
+
+  DispatchSession(DispatchNetwork network) {
+    this.network = network;
+    this.roles = new VertexRoles(network.getCompactGraph());
+  }
+
+  public void putAmbulance(Vertex position, Ambulance ambulance) {
+    if (!roles.hasAmbulance(getId(position))) {
+      ambulances.add(position);
+    }
+    roles.setAmbulance(position, ambulance);
+  }
+
+  public void removeAmbulance(Vertex position) {
+    if (roles.hasAmbulance(getId(position))) {
+      ambulances.remove(position);
+      roles.setAmbulance(position, null);
+    }
+  }
+
+  public void putHospital(Vertex position, Hospital hospital) {
+    if (!roles.hasHospital(getId(position))) {
+      hospitals.add(position);
+      hospitalVoronoi = null;
+    }
+    roles.setHospital(position, hospital);
+  }
+
+  public void removeHospital(Vertex position) {
+    if (roles.hasHospital(getId(position))) {
+      hospitals.remove(position);
+      roles.setHospital(position, null);
+      hospitalVoronoi = null;
+    }
+  }
+
+  public void openAccident(Vertex position, Accident accident) {
+    if (!roles.hasAccident(getId(position))) {
+      accidents.add(position);
+    }
+    roles.setAccident(position, accident);
+  }
+
+  public void closeAccident(Vertex position) {
+    if (roles.hasAccident(getId(position))) {
+      accidents.remove(position);
+      roles.setAccident(position, null);
+    }
+  }
+
+  public Map<Vertex, Ambulance> getAmbulances() {
+    Map<Vertex, Ambulance> map = new LinkedHashMap<>();
+    ambulances.forEach(position -> map.put(position, roles.getAmbulance(position)));
+    return Collections.unmodifiableMap(map);
+  }
+
+  public Map<Vertex, Hospital> getHospitals() {
+    Map<Vertex, Hospital> map = new LinkedHashMap<>();
+    hospitals.forEach(position -> map.put(position, roles.getHospital(position)));
+    return Collections.unmodifiableMap(map);
+  }
+
+  public Map<Vertex, Accident> getAccidents() {
+    Map<Vertex, Accident> map = new LinkedHashMap<>();
+    accidents.forEach(position -> map.put(position, roles.getAccident(position)));
+    return Collections.unmodifiableMap(map);
+  }
+
+  public Assignment dispatch() {
+    List<AmbulanceStatus> states = new ArrayList<>(ambulances.size());
+    ambulances.forEach(position -> states.add(roles.getStatus(getId(position))));
+    return network.dispatch(ambulances, states, accidents, this::getHospitalVoronoi);
+  }
+
+  //the k ambulances with the shortest response time to the given vertex, ordered by response time
+  public List<AmbulanceCandidate> nearestAmbulances(Vertex accident, int k) {
+    getId(accident);
+    return network.nearestAmbulances(getAmbulances(), accident, k, this::getHospitalVoronoi);
+  }
+
+  private HospitalVoronoi getHospitalVoronoi() {
+    if (hospitalVoronoi == null) {
+      hospitalVoronoi = new HospitalVoronoi(network.getCompactGraph(), new ArrayList<>(hospitals));
+    }
+    return hospitalVoronoi;
+  }
+
+  //fails early for vertices of another network instead of on the next dispatch
+  private int getId(Vertex position) {
+    return network.getCompactGraph().getId(position);
+  }
+
+}
@@ -1,22 +1,29 @@
 package at.fhooe.ams.algorithm;
 
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.metrics.DispatchPhase;
+import at.fhooe.ams.metrics.MetricsListener;
 import at.fhooe.ams.model.Accident;
 import at.fhooe.ams.model.Ambulance;
-import at.fhooe.ams.model.AmbulanceStatus;
 import at.fhooe.ams.model.Hospital;
 import at.fhooe.ams.model.Vertex;
-import at.fhooe.ams.util.GraphUtil;
 import at.fhooe.ams.util.Parser;
-import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
-import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
 import org.jgrapht.alg.shortestpath.AStarShortestPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.DefaultWeightedEdge;
 
@@ -28,90 +35,163 @@ public class GraphController {
       List<Pair<Vertex, Vertex>> edges,
       Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents,
       List<Double> weights) {
+    return getAssignment(vertices, edges, ambulances, hospitals, accidents, weights, DispatchOptions.DEFAULT).getPaths();
+  }
+
+  public static Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> getAmbulancePaths(Map<String, Vertex> vertices,
+      List<Pair<Vertex, Vertex>> edges,
+      Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents,
+      List<Double> weights, Path landmarkFile) {
+    DispatchOptions options = DispatchOptions.builder().landmarkFile(landmarkFile).build();
+    return getAssignment(vertices, edges, ambulances, hospitals, accidents, weights, options).getPaths();
+  }
 
+  public static Assignment getAssignment(Map<String, Vertex> vertices,
+      List<Pair<Vertex, Vertex>> edges,
+      Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents,
+      List<Double> weights, DispatchOptions options) {
+    long start = System.nanoTime();
     Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices, edges, weights);
-    GraphUtil.setParams(graph, ambulances, hospitals, accidents);
+    options.getMetricsListener().phaseCompleted(DispatchPhase.GRAPH_BUILDING, System.nanoTime() - start);
+    return getAssignment(graph, ambulances, hospitals, accidents, options);
+  }
 
-    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> occupiedPaths = new HashMap<>();
-    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> accidentPaths = new HashMap<>();
-    AStarAdmissibleHeuristic<Vertex> heuristic = Parser.createHeuristic(graph);
+  //for networks that are already built, e.g. by NetworkLoader
+  public static Assignment getAssignment(Graph<Vertex, DefaultWeightedEdge> graph, Map<Vertex, Ambulance> ambulances,
+      Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents, DispatchOptions options) {
+    try (DispatchEngine engine = new DispatchEngine(graph, options)) {
+      return getAssignment(engine, ambulances, hospitals, accidents);
+    }
+  }
+
+  //for networks mapped from a GraphSnapshot
+  public static Assignment getAssignment(CompactGraph compactGraph, Map<Vertex, Ambulance> ambulances,
+      Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents, DispatchOptions options) {
+    try (DispatchEngine engine = new DispatchEngine(compactGraph, options)) {
+      return getAssignment(engine, ambulances, hospitals, accidents);
+    }
+  }
 
-    calculatePathsToHospital(ambulances, hospitals, graph, occupiedPaths, heuristic);
-    calculatePathsToAccident(ambulances, accidents, graph, occupiedPaths, accidentPaths, heuristic);
+  private static Assignment getAssignment(DispatchEngine engine, Map<Vertex, Ambulance> ambulances,
+      Map<Vertex, Hospital> hospitals, Map<Vertex, Accident> accidents) {
+    ambulances.forEach(engine::putAmbulance);
+    hospitals.forEach(engine::putHospital);
+    accidents.forEach(engine::openAccident);
+    return engine.dispatch();
+  }
 
-    return accidentPaths;
+  static Assignment assign(CostMatrix costMatrix, AssignmentMode mode) {
+    return AssignmentMode.OPTIMAL.equals(mode) ? assignOptimal(costMatrix) : assignGreedy(costMatrix);
   }
 
-  private static void calculatePathsToAccident(Map<Vertex, Ambulance> ambulances, Map<Vertex, Accident> accidents,
-      Graph<Vertex, DefaultWeightedEdge> graph, Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> occupiedPaths,
-      Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> ambulancePaths, AStarAdmissibleHeuristic<Vertex> heuristic) {
+  //assignment phase of a dispatch, started when the cost matrix is filled
+  static Assignment assign(CostMatrix costMatrix, DispatchOptions options, long start) {
+    Assignment assignment = assign(costMatrix, options.getAssignmentMode());
+    MetricsListener listener = options.getMetricsListener();
+    listener.phaseCompleted(DispatchPhase.ASSIGNMENT, System.nanoTime() - start);
+    listener.assignmentCompleted(costMatrix.getAmbulances().size(), costMatrix.getAccidents().size(),
+        assignment.getAssignedAccidents(), assignment.getTotalResponseTime());
+    return assignment;
+  }
 
-    //calculate shortest path for each ambulance to accident place
-    ambulances.forEach((ambulanceKey, ambulanceValue) -> accidents.forEach((accidentKey, accidentValue) -> {
-      if (!AmbulanceStatus.NOT_AVAILABLE.equals(ambulanceValue.getStatus())) {
-        GraphPath<Vertex, DefaultWeightedEdge> path = GraphController.getShortestPath(graph, ambulanceKey, accidentKey, heuristic);
-        if (AmbulanceStatus.BREAK.equals(ambulanceValue.getStatus())) {
-          GraphUtil.addBreakTime(path);
-        } else if (AmbulanceStatus.OCCUPIED.equals(ambulanceValue.getStatus())) {
-          Vertex hospital = occupiedPaths.get(ambulanceKey).getEndVertex();
-          GraphPath<Vertex, DefaultWeightedEdge> pathToAccident = GraphController.getShortestPath(graph, hospital, accidentKey, heuristic);
-          path = GraphUtil.mergeHospitalPath(pathToAccident, occupiedPaths.get(ambulanceKey));
+  //walks the pairs in row order and keeps an ambulance for an accident if it is faster than the one chosen so far,
+  //unless the ambulance already serves another accident at most as fast
+  private static Assignment assignGreedy(CostMatrix costMatrix) {
+    double[][] costs = costMatrix.getCosts();
+    int[] rows = new int[costMatrix.getAccidents().size()];
+    Arrays.fill(rows, HungarianAssignment.UNASSIGNED);
+    for (int row = 0; row < costs.length; ++row) {
+      for (int column = 0; column < rows.length; ++column) {
+        double cost = costs[row][column];
+        if (cost == Double.POSITIVE_INFINITY) {
+          continue;
+        }
+        if (rows[column] == HungarianAssignment.UNASSIGNED ? !isAmbulancePlanned(costs, rows, row, cost)
+            : costs[rows[column]][column] > cost) {
+          rows[column] = row;
         }
-        addPathIfShorter(ambulancePaths, path);
       }
-    }));
+    }
+    double total = 0.0;
+    for (int column = 0; column < rows.length; ++column) {
+      if (rows[column] != HungarianAssignment.UNASSIGNED) {
+        total += costs[rows[column]][column];
+      }
+    }
+    return new Assignment(costMatrix, rows, total);
   }
 
-  private static void calculatePathsToHospital(Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospitals,
-      Graph<Vertex, DefaultWeightedEdge> graph, Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> occupiedPaths, AStarAdmissibleHeuristic<Vertex> heuristic) {
-    //calculate shortest path to hospital for each occupied ambulance
-    ambulances.forEach((ambulanceKey, ambulanceValue) -> hospitals.forEach((hospitalKey, hospitalValue) -> {
-      if (AmbulanceStatus.OCCUPIED.equals(ambulanceValue.getStatus())) {
-        GraphPath<Vertex, DefaultWeightedEdge> path = GraphController.getShortestPath(graph, ambulanceKey, hospitalKey, heuristic);
-        addPathIfShorter(occupiedPaths, path, true);
+  private static boolean isAmbulancePlanned(double[][] costs, int[] rows, int row, double cost) {
+    for (int column = 0; column < rows.length; ++column) {
+      if (rows[column] == row && costs[row][column] <= cost) {
+        return true;
       }
-    }));
+    }
+    return false;
   }
 
-  private static GraphPath<Vertex, DefaultWeightedEdge> getShortestPath(Graph<Vertex, DefaultWeightedEdge> graph, Vertex source,
-      Vertex sink, AStarAdmissibleHeuristic<Vertex> heuristic) {
-    AStarShortestPath<Vertex, DefaultWeightedEdge> shortestPathAlgorithm = new AStarShortestPath<>(graph, heuristic);
-    SingleSourcePaths<Vertex, DefaultWeightedEdge> path = shortestPathAlgorithm.getPaths(source);
-    return path.getPath(sink);
+  private static Assignment assignOptimal(CostMatrix costMatrix) {
+    int[] assignment = HungarianAssignment.solve(costMatrix.getCosts());
+    int[] rows = new int[costMatrix.getAccidents().size()];
+    Arrays.fill(rows, HungarianAssignment.UNASSIGNED);
+    for (int row = 0; row < assignment.length; ++row) {
+      if (assignment[row] != HungarianAssignment.UNASSIGNED) {
+        rows[assignment[row]] = row;
+      }
+    }
+    return new Assignment(costMatrix, rows, HungarianAssignment.totalCost(costMatrix.getCosts(), assignment));
   }
 
-  private static void addPathIfShorter(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> accidentPaths,
-      GraphPath<Vertex, DefaultWeightedEdge> path) {
-    addPathIfShorter(accidentPaths, path, false);
+  //every row writes only its own slots, so running rows concurrently gives the same result as running them in order
+  static void forEachRow(int rows, ForkJoinPool pool, IntConsumer action) {
+    if (pool == null || rows <= 1) {
+      for (int row = 0; row < rows; ++row) {
+        action.accept(row);
+      }
+      return;
+    }
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int row = 0; row < rows; ++row) {
+      int current = row;
+      tasks.add(() -> {
+        action.accept(current);
+        return null;
+      });
+    }
+    try {
+      for (Future<Void> task : pool.invokeAll(tasks)) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while calculating shortest paths", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Shortest path calculation failed", e.getCause());
+    }
   }
 
-  private static void addPathIfShorter(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> accidentPaths,
-      GraphPath<Vertex, DefaultWeightedEdge> path, boolean addStart) {
-    Vertex vertex = addStart ? path.getStartVertex() : path.getEndVertex();
-    if ((!accidentPaths.containsKey(vertex) && !isAccidentPathAlreadyCalculated(accidentPaths, path)) ||
-        (accidentPaths.containsKey(vertex) && accidentPaths.get(vertex).getWeight() > path.getWeight())) {
-      accidentPaths.put(vertex, path);
-    }
+  //point-to-point query on a preprocessed network, see Parser.createContractionHierarchy
+  public static GraphPath<Vertex, DefaultWeightedEdge> getShortestPath(ContractionHierarchy hierarchy, Vertex source,
+      Vertex sink) {
+    return hierarchy.getPath(source, sink);
   }
 
-  private static boolean isAccidentPathAlreadyCalculated(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> accidentPaths,
-      GraphPath<Vertex, DefaultWeightedEdge> otherPath) {
-    for(Vertex accident: accidentPaths.keySet()) {
-      if (isAmbulancePlanned(accidentPaths, otherPath, accident)) {
-        return true;
-      }
-    }
-    return false;
+  //point-to-point query with a search built once for the network, which reuses its arrays between queries
+  public static GraphPath<Vertex, DefaultWeightedEdge> getShortestPath(BidirectionalShortestPath search, Vertex source,
+      Vertex sink) {
+    return search.getPath(source, sink);
   }
 
-  private static boolean isAmbulancePlanned(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> accidentPaths,
-      GraphPath<Vertex, DefaultWeightedEdge> otherPath, Vertex accident) {
-    return accidentPaths.get(accident).getStartVertex().equals(otherPath.getStartVertex()) && accidentPaths.get(accident).getWeight() <= otherPath.getWeight();
+  //single ad hoc A* query, building a compact graph would cost more than the search itself
+  public static GraphPath<Vertex, DefaultWeightedEdge> getShortestPath(Graph<Vertex, DefaultWeightedEdge> graph, Vertex source,
+      Vertex sink, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    return new AStarShortestPath<>(graph, heuristic).getPath(source, sink);
   }
 
+  //ambulances are named after the vertex they start from
   public static void printAccidentPaths(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> accidentPaths) {
     System.out.println("\n====== Accidents & Ambulances ========");
-    accidentPaths.forEach((accident, path) -> System.out.printf("Accident: %s  Ambulance: %s %n", accident.getName(), path.getStartVertex().getAmbulance().getName()));
+    accidentPaths.forEach((accident, path) -> System.out.printf("Accident: %s  Ambulance: %s %n", accident.getName(), path.getStartVertex().getName()));
     System.out.println("\n============ Paths for all ambulances ===============");
     accidentPaths.forEach((accident, path) -> System.out.printf("Accident: %s - Path: %s - Pathlength: %f%n", accident, path.getVertexList().toString(), path.getWeight()));
   }
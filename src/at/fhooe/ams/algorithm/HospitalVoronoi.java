@@ -0,0 +1,103 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import java.util.List;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Nearest hospital of every vertex, computed by one Dijkstra that starts from all hospitals at once. Each vertex is
+ * labelled with its hospital, the distance and the next vertex on the way there, which splits the network into one
+ * region per hospital. Equal distances are decided by fewer crossroads and then by the order of the hospitals.
+ */
+public class HospitalVoronoi {
+
+  private final CompactGraph graph;
+  private final int[] hospitals;
+  private final double[] distances;
+  private final int[] crossroads;
+  private final int[] regions;
+  private final int[] successors;
+
+  public HospitalVoronoi(CompactGraph graph, List<Vertex> hospitals) {
+    int n = graph.getVertexCount();
+    this.graph = graph;
+    this.hospitals = hospitals.stream().mapToInt(graph::getId).toArray();
+    this.distances = new double[n];
+    this.crossroads = new int[n];
+    this.regions = new int[n];
+    this.successors = new int[n];
+    Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    Arrays.fill(regions, -1);
+
+    boolean[] settled = new boolean[n];
+    MinHeap queue = new MinHeap(16);
+    for (int region = 0; region < this.hospitals.length; ++region) {
+      int hospital = this.hospitals[region];
+      if (regions[hospital] < 0) {
+        reach(hospital, 0.0, 0, region, -1);
+        queue.add(hospital, 0.0, 0);
+      }
+    }
+    while (!queue.isEmpty()) {
+      int vertex = queue.poll();
+      if (settled[vertex]) {
+        continue;
+      }
+      settled[vertex] = true;
+      for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+        int neighbour = graph.getTarget(arc);
+        double distance = distances[vertex] + graph.getWeight(arc);
+        int hops = crossroads[vertex] + 1;
+        if (!settled[neighbour] && isBetter(neighbour, distance, hops, regions[vertex])) {
+          reach(neighbour, distance, hops, regions[vertex], vertex);
+          queue.add(neighbour, distance, hops);
+        }
+      }
+    }
+  }
+
+  public boolean isReached(Vertex vertex) {
+    return regions[graph.getId(vertex)] >= 0;
+  }
+
+  //null if no hospital can be reached
+  public Vertex getHospital(Vertex vertex) {
+    int region = regions[graph.getId(vertex)];
+    return region < 0 ? null : graph.getVertex(hospitals[region]);
+  }
+
+  public double getDistance(Vertex vertex) {
+    return distances[graph.getId(vertex)];
+  }
+
+  //path from the vertex to its nearest hospital
+  public GraphPath<Vertex, DefaultWeightedEdge> getPath(Vertex vertex) {
+    int id = graph.getId(vertex);
+    if (regions[id] < 0) {
+      return null;
+    }
+    int[] path = new int[crossroads[id] + 1];
+    for (int i = 0, current = id; i < path.length; ++i, current = successors[current]) {
+      path[i] = current;
+    }
+    return graph.toGraphPath(path, distances[id]);
+  }
+
+  private boolean isBetter(int vertex, double distance, int hops, int region) {
+    if (distance != distances[vertex]) {
+      return distance < distances[vertex];
+    }
+    return hops != crossroads[vertex] ? hops < crossroads[vertex] : region < regions[vertex];
+  }
+
+  private void reach(int vertex, double distance, int hops, int region, int successor) {
+    distances[vertex] = distance;
+    crossroads[vertex] = hops;
+    regions[vertex] = region;
+    successors[vertex] = successor;
+  }
+
+}
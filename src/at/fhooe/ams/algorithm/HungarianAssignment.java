@@ -0,0 +1,143 @@
+package at.fhooe.ams.algorithm;
+
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Min-cost bipartite assignment with the Hungarian method (shortest augmenting paths with potentials), O(n^2 m) for an
+ * n x m matrix with n <= m. Infinite costs mark pairs that cannot be assigned.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HungarianAssignment {
+
+  public static final int UNASSIGNED = -1;
+
+  //returns the column assigned to every row, or UNASSIGNED
+  public static int[] solve(double[][] costs) {
+    int rows = costs.length;
+    int columns = rows == 0 ? 0 : costs[0].length;
+    int[] assignment = new int[rows];
+    Arrays.fill(assignment, UNASSIGNED);
+    if (rows == 0 || columns == 0) {
+      return assignment;
+    }
+
+    boolean transposed = rows > columns;
+    double[][] matrix = transposed ? transpose(costs) : costs;
+    int[] matched = solveRectangular(replaceInfinite(matrix));
+
+    for (int row = 0; row < matched.length; ++row) {
+      int originalRow = transposed ? matched[row] : row;
+      int originalColumn = transposed ? row : matched[row];
+      if (costs[originalRow][originalColumn] != Double.POSITIVE_INFINITY) {
+        assignment[originalRow] = originalColumn;
+      }
+    }
+    return assignment;
+  }
+
+  public static double totalCost(double[][] costs, int[] assignment) {
+    double total = 0.0;
+    for (int row = 0; row < assignment.length; ++row) {
+      if (assignment[row] != UNASSIGNED) {
+        total += costs[row][assignment[row]];
+      }
+    }
+    return total;
+  }
+
+  //n <= m, every row gets a column
+  private static int[] solveRectangular(double[][] costs) {
+    int n = costs.length;
+    int m = costs[0].length;
+    double[] rowPotential = new double[n + 1];
+    double[] columnPotential = new double[m + 1];
+    int[] columnOwner = new int[m + 1];
+    int[] way = new int[m + 1];
+    double[] minimum = new double[m + 1];
+    boolean[] used = new boolean[m + 1];
+
+    for (int row = 1; row <= n; ++row) {
+      columnOwner[0] = row;
+      int column = 0;
+      Arrays.fill(minimum, Double.POSITIVE_INFINITY);
+      Arrays.fill(used, false);
+      do {
+        used[column] = true;
+        int owner = columnOwner[column];
+        double delta = Double.POSITIVE_INFINITY;
+        int next = 0;
+        for (int j = 1; j <= m; ++j) {
+          if (!used[j]) {
+            double reduced = costs[owner - 1][j - 1] - rowPotential[owner] - columnPotential[j];
+            if (reduced < minimum[j]) {
+              minimum[j] = reduced;
+              way[j] = column;
+            }
+            if (minimum[j] < delta) {
+              delta = minimum[j];
+              next = j;
+            }
+          }
+        }
+        for (int j = 0; j <= m; ++j) {
+          if (used[j]) {
+            rowPotential[columnOwner[j]] += delta;
+            columnPotential[j] -= delta;
+          } else {
+            minimum[j] -= delta;
+          }
+        }
+        column = next;
+      } while (columnOwner[column] != 0);
+      do {
+        int previous = way[column];
+        columnOwner[column] = columnOwner[previous];
+        column = previous;
+      } while (column != 0);
+    }
+
+    int[] matched = new int[n];
+    for (int j = 1; j <= m; ++j) {
+      if (columnOwner[j] != 0) {
+        matched[columnOwner[j] - 1] = j - 1;
+      }
+    }
+    return matched;
+  }
+
+  //a penalty larger than any feasible assignment keeps infeasible pairs out whenever possible
+  private static double[][] replaceInfinite(double[][] costs) {
+    double sum = 0.0;
+    for (double[] row : costs) {
+      for (double cost : row) {
+        if (cost != Double.POSITIVE_INFINITY) {
+          sum += Math.abs(cost);
+        }
+      }
+    }
+    double penalty = sum + 1.0;
+    double[][] result = new double[costs.length][];
+    for (int row = 0; row < costs.length; ++row) {
+      result[row] = costs[row].clone();
+      for (int column = 0; column < result[row].length; ++column) {
+        if (result[row][column] == Double.POSITIVE_INFINITY) {
+          result[row][column] = penalty;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static double[][] transpose(double[][] costs) {
+    double[][] result = new double[costs[0].length][costs.length];
+    for (int row = 0; row < costs.length; ++row) {
+      for (int column = 0; column < costs[row].length; ++column) {
+        result[column][row] = costs[row][column];
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,315 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * ALT heuristic over a bounded set of landmarks. Keeps one distance array per landmark, so memory stays at O(k*V)
+ * instead of the O(V^2) of using every vertex as landmark.
+ * The tables stay valid when edge weights grow. When weights drop below the ones the tables were built on, the bounds
+ * are scaled down by the largest relative decrease instead of rebuilding the tables, see {@link #forWeights}.
+ */
+public class LandmarkHeuristic implements AStarAdmissibleHeuristic<Vertex> {
+
+  public static final int DEFAULT_LANDMARK_COUNT = 16;
+  public static final long DEFAULT_SEED = 42L;
+
+  @Getter
+  private final CompactGraph compactGraph;
+  private final List<Vertex> landmarks = new ArrayList<>();
+  private final List<DoubleBuffer> distances = new ArrayList<>();
+  private final long preprocessingMillis;
+  @Getter
+  private final double scale;
+
+  public LandmarkHeuristic(Graph<Vertex, DefaultWeightedEdge> graph, int landmarkCount, LandmarkSelection selection) {
+    this(graph, landmarkCount, selection, DEFAULT_SEED);
+  }
+
+  public LandmarkHeuristic(Graph<Vertex, DefaultWeightedEdge> graph, int landmarkCount, LandmarkSelection selection, long seed) {
+    this(CompactGraph.of(graph), landmarkCount, selection, seed);
+  }
+
+  public LandmarkHeuristic(CompactGraph compactGraph, int landmarkCount, LandmarkSelection selection, long seed) {
+    if (!compactGraph.isUndirected()) {
+      throw new IllegalArgumentException("Landmark heuristic requires an undirected graph");
+    }
+    if (landmarkCount < 1) {
+      throw new IllegalArgumentException("At least one landmark is required, got " + landmarkCount);
+    }
+    long start = System.currentTimeMillis();
+    //the tables only route on ids, the source graph stays with the searches that build paths
+    this.compactGraph = compactGraph.withoutGraph();
+    this.scale = 1.0;
+
+    Random random = new Random(seed);
+    int count = Math.min(landmarkCount, compactGraph.getVertexCount());
+    boolean[] isLandmark = new boolean[compactGraph.getVertexCount()];
+    while (landmarks.size() < count) {
+      int landmark;
+      switch (selection) {
+        case RANDOM:
+          landmark = selectRandom(isLandmark, random);
+          break;
+        case AVOID:
+          landmark = selectAvoid(isLandmark, random);
+          break;
+        default:
+          landmark = selectFarthest(isLandmark, random);
+      }
+      isLandmark[landmark] = true;
+      landmarks.add(compactGraph.getVertex(landmark));
+      distances.add(DoubleBuffer.wrap(dijkstra(landmark).distances));
+    }
+    this.preprocessingMillis = System.currentTimeMillis() - start;
+  }
+
+  //restores precomputed tables, each buffer holds the distances of one landmark in vertexSet() order
+  public LandmarkHeuristic(Graph<Vertex, DefaultWeightedEdge> graph, List<Vertex> landmarks, List<DoubleBuffer> distances,
+      long preprocessingMillis) {
+    this(CompactGraph.of(graph), landmarks, distances, preprocessingMillis);
+  }
+
+  public LandmarkHeuristic(CompactGraph compactGraph, List<Vertex> landmarks, List<DoubleBuffer> distances,
+      long preprocessingMillis) {
+    if (landmarks.size() != distances.size()) {
+      throw new IllegalArgumentException("Expected " + landmarks.size() + " distance tables, got " + distances.size());
+    }
+    this.compactGraph = compactGraph.withoutGraph();
+    for (DoubleBuffer landmarkDistances : distances) {
+      if (landmarkDistances.limit() != compactGraph.getVertexCount()) {
+        throw new IllegalArgumentException("Distance table does not match vertex count " + compactGraph.getVertexCount());
+      }
+      this.distances.add(landmarkDistances);
+    }
+    this.landmarks.addAll(landmarks);
+    this.preprocessingMillis = preprocessingMillis;
+    this.scale = 1.0;
+  }
+
+  private LandmarkHeuristic(LandmarkHeuristic tables, double scale) {
+    this.compactGraph = tables.compactGraph;
+    this.landmarks.addAll(tables.landmarks);
+    this.distances.addAll(tables.distances);
+    this.preprocessingMillis = tables.preprocessingMillis;
+    this.scale = scale;
+  }
+
+  /**
+   * Returns a heuristic that is admissible and consistent for the given weights of the same graph. If no edge got
+   * cheaper than in the graph the tables were built on, the tables are used as they are. Otherwise every bound is
+   * multiplied with the smallest ratio of new to original weight, which keeps it below the new distances.
+   */
+  public LandmarkHeuristic forWeights(CompactGraph weights) {
+    if (!compactGraph.sharesIds(weights) || compactGraph.getArcCount() != weights.getArcCount()) {
+      throw new IllegalArgumentException("Weights do not belong to the graph of the landmark tables");
+    }
+    double ratio = 1.0;
+    for (int arc = 0; arc < weights.getArcCount(); ++arc) {
+      double original = compactGraph.getWeight(arc);
+      if (weights.getWeight(arc) < original) {
+        ratio = Math.min(ratio, weights.getWeight(arc) / original);
+      }
+    }
+    return ratio == scale ? this : new LandmarkHeuristic(this, ratio);
+  }
+
+  @Override
+  public double getCostEstimate(Vertex sourceVertex, Vertex targetVertex) {
+    return getCostEstimate(compactGraph.getId(sourceVertex), compactGraph.getId(targetVertex));
+  }
+
+  public double getCostEstimate(int source, int target) {
+    double estimate = 0.0;
+    for (DoubleBuffer landmarkDistances : distances) {
+      double toSource = landmarkDistances.get(source);
+      double toTarget = landmarkDistances.get(target);
+      //a landmark in another component tells us nothing
+      if (toSource != Double.POSITIVE_INFINITY && toTarget != Double.POSITIVE_INFINITY) {
+        estimate = Math.max(estimate, Math.abs(toSource - toTarget));
+      }
+    }
+    return estimate * scale;
+  }
+
+  @Override
+  public <E> boolean isConsistent(Graph<Vertex, E> graph) {
+    return true;
+  }
+
+  public List<Vertex> getLandmarks() {
+    return Collections.unmodifiableList(landmarks);
+  }
+
+  public DoubleBuffer getDistances(int landmark) {
+    return distances.get(landmark).asReadOnlyBuffer();
+  }
+
+  public LandmarkReport report(int samples) {
+    Random random = new Random(DEFAULT_SEED);
+    double sum = 0.0;
+    int vertexCount = compactGraph.getVertexCount();
+    double minimum = Double.POSITIVE_INFINITY;
+    long pairs = 0;
+    for (int i = 0; i < samples && vertexCount > 0; ++i) {
+      int source = random.nextInt(vertexCount);
+      double[] exact = dijkstra(source).distances;
+      for (int target = 0; target < exact.length; ++target) {
+        if (target != source && exact[target] > 0.0 && exact[target] != Double.POSITIVE_INFINITY) {
+          double tightness = getCostEstimate(source, target) / exact[target];
+          sum += tightness;
+          minimum = Math.min(minimum, tightness);
+          ++pairs;
+        }
+      }
+    }
+    double average = pairs == 0 ? 1.0 : sum / pairs;
+    long tableBytes = (long) distances.size() * vertexCount * Double.BYTES;
+    return new LandmarkReport(landmarks.size(), vertexCount, preprocessingMillis, tableBytes, average,
+        pairs == 0 ? 1.0 : minimum);
+  }
+
+  private int selectRandom(boolean[] isLandmark, Random random) {
+    int candidate;
+    do {
+      candidate = random.nextInt(isLandmark.length);
+    } while (isLandmark[candidate]);
+    return candidate;
+  }
+
+  //picks the vertex whose closest landmark is farthest away, unreached components first
+  private int selectFarthest(boolean[] isLandmark, Random random) {
+    if (distances.isEmpty()) {
+      return selectRandom(isLandmark, random);
+    }
+    int farthest = -1;
+    double farthestDistance = -1.0;
+    for (int vertex = 0; vertex < isLandmark.length; ++vertex) {
+      if (isLandmark[vertex]) {
+        continue;
+      }
+      double closest = Double.POSITIVE_INFINITY;
+      for (DoubleBuffer landmarkDistances : distances) {
+        closest = Math.min(closest, landmarkDistances.get(vertex));
+      }
+      if (closest > farthestDistance) {
+        farthest = vertex;
+        farthestDistance = closest;
+      }
+    }
+    return farthest;
+  }
+
+  //Goldberg & Harrelson: grow the shortest path tree of a random root and descend into the subtree where the
+  //current landmarks bound the distances worst and which does not contain a landmark yet
+  private int selectAvoid(boolean[] isLandmark, Random random) {
+    if (distances.isEmpty()) {
+      return selectRandom(isLandmark, random);
+    }
+    int root = random.nextInt(isLandmark.length);
+    Tree tree = dijkstra(root);
+    int n = isLandmark.length;
+    double[] size = new double[n];
+    boolean[] covered = new boolean[n];
+    int[] childCount = new int[n + 1];
+    for (int i = tree.order.length - 1; i >= 0; --i) {
+      int vertex = tree.order[i];
+      covered[vertex] |= isLandmark[vertex];
+      size[vertex] = covered[vertex] ? 0.0 : size[vertex] + tree.distances[vertex] - getCostEstimate(root, vertex);
+      int parent = tree.parents[vertex];
+      if (parent >= 0) {
+        covered[parent] |= covered[vertex];
+        size[parent] += size[vertex];
+        ++childCount[parent + 1];
+      }
+    }
+
+    int best = -1;
+    for (int vertex : tree.order) {
+      if (size[vertex] > 0.0 && (best < 0 || size[vertex] > size[best])) {
+        best = vertex;
+      }
+    }
+    if (best < 0) {
+      return selectFarthest(isLandmark, random);
+    }
+
+    int[] childOffsets = childCount;
+    for (int i = 0; i < n; ++i) {
+      childOffsets[i + 1] += childOffsets[i];
+    }
+    int[] children = new int[childOffsets[n]];
+    int[] fill = Arrays.copyOf(childOffsets, n);
+    for (int vertex : tree.order) {
+      if (tree.parents[vertex] >= 0) {
+        children[fill[tree.parents[vertex]]++] = vertex;
+      }
+    }
+
+    int current = best;
+    while (true) {
+      int next = -1;
+      for (int i = childOffsets[current]; i < childOffsets[current + 1]; ++i) {
+        if (next < 0 || size[children[i]] > size[next]) {
+          next = children[i];
+        }
+      }
+      if (next < 0 || size[next] <= 0.0) {
+        return current;
+      }
+      current = next;
+    }
+  }
+
+  private Tree dijkstra(int source) {
+    int n = compactGraph.getVertexCount();
+    double[] dist = new double[n];
+    int[] parents = new int[n];
+    int[] order = new int[n];
+    int settledCount = 0;
+    boolean[] settled = new boolean[n];
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    Arrays.fill(parents, -1);
+    MinHeap queue = new MinHeap(n);
+    dist[source] = 0.0;
+    queue.add(source, 0.0, 0);
+    while (!queue.isEmpty()) {
+      int vertex = queue.poll();
+      if (settled[vertex]) {
+        continue;
+      }
+      settled[vertex] = true;
+      order[settledCount++] = vertex;
+      for (int arc = compactGraph.getFirstArc(vertex); arc < compactGraph.getEndArc(vertex); ++arc) {
+        int neighbour = compactGraph.getTarget(arc);
+        double distance = dist[vertex] + compactGraph.getWeight(arc);
+        if (distance < dist[neighbour]) {
+          dist[neighbour] = distance;
+          parents[neighbour] = vertex;
+          queue.add(neighbour, distance, 0);
+        }
+      }
+    }
+    return new Tree(dist, parents, Arrays.copyOf(order, settledCount));
+  }
+
+  @AllArgsConstructor
+  private static class Tree {
+
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] order;
+  }
+
+}
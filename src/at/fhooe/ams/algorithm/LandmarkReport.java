@@ -0,0 +1,23 @@
+package at.fhooe.ams.algorithm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class LandmarkReport {
+
+  private final int landmarkCount;
+  private final int vertexCount;
+  private final long preprocessingMillis;
+  private final long tableBytes;
+  private final double averageTightness;
+  private final double minimumTightness;
+
+  @Override
+  public String toString() {
+    return String.format("Landmarks: %d  Vertices: %d  Preprocessing: %d ms  Table: %d bytes  Tightness: avg %.3f min %.3f",
+        landmarkCount, vertexCount, preprocessingMillis, tableBytes, averageTightness, minimumTightness);
+  }
+
+}
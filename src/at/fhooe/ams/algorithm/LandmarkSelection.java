@@ -0,0 +1,9 @@
+package at.fhooe.ams.algorithm;
+
+public enum LandmarkSelection {
+
+  RANDOM,
+  FARTHEST,
+  AVOID
+
+}
@@ -0,0 +1,98 @@
+package at.fhooe.ams.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of int values ordered by a double key and an int tie breaker, without boxing. Decrease-key is done by
+ * inserting again, callers skip values they already settled.
+ */
+class MinHeap {
+
+  private double[] keys;
+  private int[] ties;
+  private int[] values;
+  private int size;
+
+  MinHeap(int capacity) {
+    int initial = Math.max(capacity, 16);
+    keys = new double[initial];
+    ties = new int[initial];
+    values = new int[initial];
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  double peekKey() {
+    return keys[0];
+  }
+
+  int peekValue() {
+    return values[0];
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  void add(int value, double key, int tie) {
+    if (size == values.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      ties = Arrays.copyOf(ties, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    int index = size++;
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!less(key, tie, keys[parent], ties[parent])) {
+        break;
+      }
+      move(parent, index);
+      index = parent;
+    }
+    set(index, value, key, tie);
+  }
+
+  int poll() {
+    int result = values[0];
+    --size;
+    if (size > 0) {
+      double key = keys[size];
+      int tie = ties[size];
+      int value = values[size];
+      int index = 0;
+      while (true) {
+        int child = 2 * index + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && less(keys[child + 1], ties[child + 1], keys[child], ties[child])) {
+          ++child;
+        }
+        if (!less(keys[child], ties[child], key, tie)) {
+          break;
+        }
+        move(child, index);
+        index = child;
+      }
+      set(index, value, key, tie);
+    }
+    return result;
+  }
+
+  private static boolean less(double key, int tie, double otherKey, int otherTie) {
+    return key < otherKey || (key == otherKey && tie < otherTie);
+  }
+
+  private void move(int from, int to) {
+    set(to, values[from], keys[from], ties[from]);
+  }
+
+  private void set(int index, int value, double key, int tie) {
+    keys[index] = key;
+    ties[index] = tie;
+    values[index] = value;
+  }
+
+}
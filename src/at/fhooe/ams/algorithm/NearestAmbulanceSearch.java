@@ -0,0 +1,215 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.GraphUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * The k ambulances with the shortest response time to one accident, found by a Dijkstra from the accident. Occupied
+ * ambulances are found at the hospital they drive to first. Not thread-safe.
+ */
+public class NearestAmbulanceSearch {
+
+  private static final Comparator<Found> BY_RESPONSE_TIME = Comparator.<Found>comparingDouble(found -> found.responseTime)
+      .thenComparingInt(found -> found.order);
+
+  private final CompactGraph graph;
+  private final double[] distances;
+  private final int[] crossroads;
+  private final int[] predecessors;
+  private final int[] reached;
+  private final int[] settled;
+  private final int[] ambulanceStamps;
+  private final int[] ambulanceIndices;
+  private final int[] hospitalStamps;
+  private final int[] hospitalIndices;
+  private final MinHeap queue;
+  private int stamp;
+  @Getter
+  private int settledVertices;
+  @Getter
+  private int relaxedEdges;
+
+  public NearestAmbulanceSearch(CompactGraph graph) {
+    int n = graph.getVertexCount();
+    this.graph = graph;
+    this.distances = new double[n];
+    this.crossroads = new int[n];
+    this.predecessors = new int[n];
+    this.reached = new int[n];
+    this.settled = new int[n];
+    this.ambulanceStamps = new int[n];
+    this.ambulanceIndices = new int[n];
+    this.hospitalStamps = new int[n];
+    this.hospitalIndices = new int[n];
+    this.queue = new MinHeap(16);
+  }
+
+  /**
+   * Nearest available ambulances ordered by response time, fewer than k if not enough can reach the accident. The
+   * hospital partition is only read for occupied ambulances and may be null if there are none.
+   */
+  public List<AmbulanceCandidate> search(Vertex accident, int k, Map<Vertex, Ambulance> ambulances,
+      HospitalVoronoi hospitalVoronoi) {
+    if (k <= 0) {
+      return new ArrayList<>();
+    }
+    nextStamp();
+    //ambulances waiting at their position by vertex, occupied ones by the hospital they go to
+    List<Vertex> positions = new ArrayList<>();
+    List<Ambulance> waiting = new ArrayList<>();
+    List<List<Vertex>> occupied = new ArrayList<>();
+    int eligible = 0;
+    for (Map.Entry<Vertex, Ambulance> entry : ambulances.entrySet()) {
+      Vertex position = entry.getKey();
+      Ambulance ambulance = entry.getValue();
+      if (AmbulanceStatus.OCCUPIED.equals(ambulance.getStatus())) {
+        Vertex hospital = hospitalVoronoi.getHospital(position);
+        if (hospital != null) {
+          int id = graph.getId(hospital);
+          if (hospitalStamps[id] != stamp) {
+            hospitalStamps[id] = stamp;
+            hospitalIndices[id] = occupied.size();
+            occupied.add(new ArrayList<>());
+          }
+          occupied.get(hospitalIndices[id]).add(position);
+          ++eligible;
+        }
+      } else if (!AmbulanceStatus.NOT_AVAILABLE.equals(ambulance.getStatus())) {
+        int id = graph.getId(position);
+        ambulanceStamps[id] = stamp;
+        ambulanceIndices[id] = positions.size();
+        positions.add(position);
+        waiting.add(ambulance);
+        ++eligible;
+      }
+    }
+
+    //the k best so far, worst on top
+    PriorityQueue<Found> best = new PriorityQueue<>(BY_RESPONSE_TIME.reversed());
+    int source = graph.getId(accident);
+    int order = 0;
+    queue.clear();
+    reach(source, 0.0, 0, -1);
+    queue.add(source, 0.0, 0);
+    //stops when every ambulance is offered or, penalties being never negative, nobody behind the front is faster
+    while (!queue.isEmpty() && order < eligible) {
+      if (best.size() == k && best.peek().responseTime <= queue.peekKey()) {
+        break;
+      }
+      int vertex = queue.poll();
+      if (settled[vertex] == stamp) {
+        continue;
+      }
+      settled[vertex] = stamp;
+      ++settledVertices;
+      if (ambulanceStamps[vertex] == stamp) {
+        Ambulance ambulance = waiting.get(ambulanceIndices[vertex]);
+        double responseTime = CostMatrix.responseTime(ambulance.getStatus(), distances[vertex], null);
+        offer(best, k, new Found(positions.get(ambulanceIndices[vertex]), ambulance, vertex, responseTime, order++));
+      }
+      if (hospitalStamps[vertex] == stamp) {
+        for (Vertex position : occupied.get(hospitalIndices[vertex])) {
+          double responseTime = CostMatrix.responseTime(AmbulanceStatus.OCCUPIED, distances[vertex],
+              hospitalVoronoi.getPath(position));
+          offer(best, k, new Found(position, ambulances.get(position), vertex, responseTime, order++));
+        }
+      }
+      relax(vertex);
+    }
+
+    List<Found> nearest = new ArrayList<>(best);
+    nearest.sort(BY_RESPONSE_TIME);
+    List<AmbulanceCandidate> candidates = new ArrayList<>(nearest.size());
+    for (Found found : nearest) {
+      candidates.add(new AmbulanceCandidate(found.position, found.ambulance, found.responseTime,
+          path(found, hospitalVoronoi)));
+    }
+    return candidates;
+  }
+
+  private static void offer(PriorityQueue<Found> best, int k, Found found) {
+    best.add(found);
+    if (best.size() > k) {
+      best.poll();
+    }
+  }
+
+  private void relax(int vertex) {
+    relaxedEdges += graph.getEndArc(vertex) - graph.getFirstArc(vertex);
+    for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+      int neighbour = graph.getTarget(arc);
+      if (settled[neighbour] == stamp) {
+        continue;
+      }
+      double distance = distances[vertex] + graph.getWeight(arc);
+      int hops = crossroads[vertex] + 1;
+      if (reached[neighbour] != stamp || distance < distances[neighbour]
+          || (distance == distances[neighbour] && hops < crossroads[neighbour])) {
+        reach(neighbour, distance, hops, vertex);
+        queue.add(neighbour, distance, hops);
+      }
+    }
+  }
+
+  //predecessors point towards the accident, so following them walks the way the ambulance drives
+  private GraphPath<Vertex, DefaultWeightedEdge> path(Found found, HospitalVoronoi hospitalVoronoi) {
+    int[] path = new int[crossroads[found.vertex] + 1];
+    for (int i = 0, current = found.vertex; i < path.length; ++i, current = predecessors[current]) {
+      path[i] = current;
+    }
+    GraphPath<Vertex, DefaultWeightedEdge> leg = graph.toGraphPath(path, distances[found.vertex]);
+    if (AmbulanceStatus.BREAK.equals(found.ambulance.getStatus())) {
+      return GraphUtil.addBreakTime(leg);
+    } else if (AmbulanceStatus.OCCUPIED.equals(found.ambulance.getStatus())) {
+      return GraphUtil.mergeHospitalPath(leg, hospitalVoronoi.getPath(found.position));
+    }
+    return leg;
+  }
+
+  private void reach(int vertex, double distance, int hops, int predecessor) {
+    reached[vertex] = stamp;
+    distances[vertex] = distance;
+    crossroads[vertex] = hops;
+    predecessors[vertex] = predecessor;
+  }
+
+  private void nextStamp() {
+    settledVertices = 0;
+    relaxedEdges = 0;
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(reached, 0);
+      Arrays.fill(settled, 0);
+      Arrays.fill(ambulanceStamps, 0);
+      Arrays.fill(hospitalStamps, 0);
+      stamp = 0;
+    }
+    ++stamp;
+  }
+
+  /**
+   * Ambulance with a known response time, the vertex is where the search met it.
+   */
+  @AllArgsConstructor
+  private static class Found {
+
+    private final Vertex position;
+    private final Ambulance ambulance;
+    private final int vertex;
+    private final double responseTime;
+    private final int order;
+  }
+
+}
@@ -0,0 +1,275 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.WeightUpdate;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import java.util.Collection;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * A* from one source on a {@link CompactGraph} that stops once every requested target is settled, Dijkstra without a
+ * heuristic. Ties are broken by the number of crossroads. Not thread-safe.
+ */
+public class OneToManyShortestPath {
+
+  private final CompactGraph graph;
+  private final AStarAdmissibleHeuristic<Vertex> heuristic;
+  private final LandmarkHeuristic landmarks;
+
+  private final double[] distances;
+  private final int[] crossroads;
+  private final int[] predecessors;
+  private final int[] reached;
+  private final int[] settled;
+  private final int[] wanted;
+  private final int[] settledOrder;
+  private final int[] marks;
+  private final MinHeap queue;
+  private int stamp;
+  //work of the last search or repair, kept vertices of a repair are not counted
+  @Getter
+  private int settledVertices;
+  @Getter
+  private int relaxedEdges;
+
+  public OneToManyShortestPath(Graph<Vertex, DefaultWeightedEdge> graph, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    this(CompactGraph.of(graph), heuristic);
+  }
+
+  public OneToManyShortestPath(CompactGraph graph, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    int n = graph.getVertexCount();
+    this.graph = graph;
+    this.heuristic = heuristic;
+    //landmark tables share our vertex ids, so they can be read without mapping ids back to vertices
+    this.landmarks = heuristic instanceof LandmarkHeuristic && graph.sharesIds(((LandmarkHeuristic) heuristic).getCompactGraph())
+        ? (LandmarkHeuristic) heuristic : null;
+    this.distances = new double[n];
+    this.crossroads = new int[n];
+    this.predecessors = new int[n];
+    this.reached = new int[n];
+    this.settled = new int[n];
+    this.wanted = new int[n];
+    this.settledOrder = new int[n];
+    this.marks = new int[n];
+    this.queue = new MinHeap(16);
+  }
+
+  public ShortestPathTree search(Vertex source, Collection<Vertex> targets) {
+    return search(graph.getId(source), toIds(targets));
+  }
+
+  public ShortestPathTree search(int source, int[] targets) {
+    nextStamp();
+    int remaining = want(targets);
+    queue.clear();
+    reach(source, 0.0, 0, -1);
+    queue.add(source, estimate(source, targets), 0);
+    return createTree(source, run(targets, remaining, 0));
+  }
+
+  public ShortestPathTree repair(ShortestPathTree tree, Collection<Vertex> targets, Collection<WeightUpdate> updates) {
+    return repair(tree, toIds(targets), updates);
+  }
+
+  /**
+   * Brings the tree of an earlier search up to date after the given weight updates, which must already be applied to
+   * the graph and heuristic of this instance. A settled vertex is kept if no edge on its tree path changed and it is
+   * closer to the source than the heuristic's lower bound for any path over a cheaper edge. The search then resumes
+   * from the border of the kept vertices instead of starting over.
+   */
+  public ShortestPathTree repair(ShortestPathTree tree, int[] targets, Collection<WeightUpdate> updates) {
+    int source = tree.getSourceId();
+    int[] ids = tree.getIds();
+    double[] treeDistances = tree.getDistances();
+    int[] treeCrossroads = tree.getCrossroads();
+    int[] treePredecessors = tree.getPredecessors();
+    nextStamp();
+    int remaining = want(targets);
+
+    //vertices below an increased tree edge are cut off, paths over a decreased edge are at least bound long
+    double bound = Double.POSITIVE_INFINITY;
+    for (WeightUpdate update : updates) {
+      if (update.isDecrease()) {
+        bound = Math.min(bound, Math.min(lowerBound(source, update.getSource()), lowerBound(source, update.getTarget()))
+            + update.getNewWeight());
+      } else {
+        cut(tree, update.getSource(), update.getTarget());
+        cut(tree, update.getTarget(), update.getSource());
+      }
+    }
+
+    //a predecessor has fewer crossroads, so ordering by crossroads decides predecessors first
+    int[] order = sortByCrossroads(treeCrossroads);
+    int settledCount = 0;
+    for (int index : order) {
+      int vertex = ids[index];
+      int predecessor = treePredecessors[index];
+      boolean kept = vertex == source || (kept(predecessor) && marks[vertex] != -stamp && treeDistances[index] < bound);
+      marks[vertex] = kept ? stamp : -stamp;
+      if (kept) {
+        reach(vertex, treeDistances[index], treeCrossroads[index], predecessor);
+        settled[vertex] = stamp;
+        settledOrder[settledCount++] = vertex;
+        if (wanted[vertex] == stamp) {
+          --remaining;
+        }
+      }
+    }
+    if (settledCount == ids.length && remaining == 0) {
+      return tree;
+    }
+
+    int[] openTargets = Arrays.stream(targets).filter(target -> settled[target] != stamp).toArray();
+    queue.clear();
+    for (int i = 0; i < settledCount; ++i) {
+      relax(settledOrder[i], openTargets);
+    }
+    return createTree(source, run(openTargets, remaining, settledCount));
+  }
+
+  private int run(int[] targets, int remaining, int settledCount) {
+    int start = settledCount;
+    while (!queue.isEmpty() && remaining > 0) {
+      int vertex = queue.poll();
+      if (settled[vertex] == stamp) {
+        continue;
+      }
+      settled[vertex] = stamp;
+      settledOrder[settledCount++] = vertex;
+      if (wanted[vertex] == stamp) {
+        --remaining;
+      }
+      relax(vertex, targets);
+    }
+    settledVertices = settledCount - start;
+    return settledCount;
+  }
+
+  private void relax(int vertex, int[] targets) {
+    relaxedEdges += graph.getEndArc(vertex) - graph.getFirstArc(vertex);
+    for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+      int neighbour = graph.getTarget(arc);
+      if (settled[neighbour] == stamp) {
+        continue;
+      }
+      double distance = distances[vertex] + graph.getWeight(arc);
+      int hops = crossroads[vertex] + 1;
+      if (reached[neighbour] != stamp || distance < distances[neighbour]
+          || (distance == distances[neighbour] && hops < crossroads[neighbour])) {
+        reach(neighbour, distance, hops, vertex);
+        queue.add(neighbour, distance + estimate(neighbour, targets), hops);
+      }
+    }
+  }
+
+  private int want(int[] targets) {
+    int remaining = 0;
+    for (int target : targets) {
+      if (wanted[target] != stamp) {
+        wanted[target] = stamp;
+        ++remaining;
+      }
+    }
+    return remaining;
+  }
+
+  //marks the child if the edge between both vertices is part of the tree
+  private void cut(ShortestPathTree tree, int parent, int child) {
+    int index = Arrays.binarySearch(tree.getIds(), child);
+    if (index >= 0 && tree.getPredecessors()[index] == parent) {
+      marks[child] = -stamp;
+    }
+  }
+
+  private boolean kept(int vertex) {
+    return marks[vertex] == stamp;
+  }
+
+  private static int[] sortByCrossroads(int[] treeCrossroads) {
+    int maximum = 0;
+    for (int hops : treeCrossroads) {
+      maximum = Math.max(maximum, hops);
+    }
+    int[] counts = new int[maximum + 2];
+    for (int hops : treeCrossroads) {
+      ++counts[hops + 1];
+    }
+    for (int hops = 0; hops <= maximum; ++hops) {
+      counts[hops + 1] += counts[hops];
+    }
+    int[] order = new int[treeCrossroads.length];
+    for (int index = 0; index < treeCrossroads.length; ++index) {
+      order[counts[treeCrossroads[index]]++] = index;
+    }
+    return order;
+  }
+
+  private int[] toIds(Collection<Vertex> vertices) {
+    int[] ids = new int[vertices.size()];
+    int i = 0;
+    for (Vertex vertex : vertices) {
+      ids[i++] = graph.getId(vertex);
+    }
+    return ids;
+  }
+
+  private void reach(int vertex, double distance, int hops, int predecessor) {
+    reached[vertex] = stamp;
+    distances[vertex] = distance;
+    crossroads[vertex] = hops;
+    predecessors[vertex] = predecessor;
+  }
+
+  private void nextStamp() {
+    settledVertices = 0;
+    relaxedEdges = 0;
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(reached, 0);
+      Arrays.fill(settled, 0);
+      Arrays.fill(wanted, 0);
+      Arrays.fill(marks, 0);
+      stamp = 0;
+    }
+    ++stamp;
+  }
+
+  //copies the settled part out of the reused arrays, sorted by id for lookups
+  private ShortestPathTree createTree(int source, int settledCount) {
+    int[] ids = Arrays.copyOf(settledOrder, settledCount);
+    Arrays.sort(ids);
+    double[] treeDistances = new double[settledCount];
+    int[] treeCrossroads = new int[settledCount];
+    int[] treePredecessors = new int[settledCount];
+    for (int i = 0; i < settledCount; ++i) {
+      treeDistances[i] = distances[ids[i]];
+      treeCrossroads[i] = crossroads[ids[i]];
+      treePredecessors[i] = predecessors[ids[i]];
+    }
+    return new ShortestPathTree(graph, source, ids, treeDistances, treeCrossroads, treePredecessors);
+  }
+
+  //the minimum over all targets keeps a consistent heuristic consistent
+  private double estimate(int vertex, int[] targets) {
+    if (heuristic == null) {
+      return 0.0;
+    }
+    double estimate = Double.POSITIVE_INFINITY;
+    for (int target : targets) {
+      estimate = Math.min(estimate, lowerBound(vertex, target));
+    }
+    return estimate == Double.POSITIVE_INFINITY ? 0.0 : estimate;
+  }
+
+  private double lowerBound(int vertex, int target) {
+    if (heuristic == null) {
+      return 0.0;
+    }
+    return landmarks != null ? landmarks.getCostEstimate(vertex, target)
+        : heuristic.getCostEstimate(graph.getVertex(vertex), graph.getVertex(target));
+  }
+
+}
@@ -0,0 +1,191 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.WeightUpdate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+import lombok.Getter;
+
+/**
+ * Bounded cache of search trees keyed by source and target set, e.g. the hospital search of an ambulance waiting at its
+ * station. The least recently used trees are evicted once there are more than {@code maxEntries} trees or more than
+ * {@code maxVertices} settled vertices in total. All trees belong to the current graph version, weight updates start a
+ * new version and only carry over the trees that cannot have changed. Safe to use from several threads.
+ */
+public class ShortestPathCache {
+
+  private final int maxEntries;
+  private final long maxVertices;
+  private final LinkedHashMap<Key, ShortestPathTree> entries = new LinkedHashMap<>(16, 0.75f, true);
+  @Getter
+  private int version;
+  private long vertices;
+  @Getter
+  private long hits;
+  @Getter
+  private long misses;
+  @Getter
+  private long evictions;
+  @Getter
+  private long invalidations;
+
+  public ShortestPathCache(int maxEntries, long maxVertices) {
+    this.maxEntries = maxEntries;
+    this.maxVertices = maxVertices;
+  }
+
+  public synchronized ShortestPathTree get(int source, int[] targets) {
+    ShortestPathTree tree = entries.get(new Key(source, targets));
+    if (tree == null) {
+      ++misses;
+    } else {
+      ++hits;
+    }
+    return tree;
+  }
+
+  public synchronized void put(int source, int[] targets, ShortestPathTree tree) {
+    put(source, targets, tree, version);
+  }
+
+  //drops trees searched on the weights of an older version
+  public synchronized void put(int source, int[] targets, ShortestPathTree tree, int treeVersion) {
+    if (treeVersion != version || maxEntries <= 0 || tree.getIds().length > maxVertices) {
+      return;
+    }
+    ShortestPathTree previous = entries.put(new Key(source, targets), tree);
+    if (previous != null) {
+      vertices -= previous.getIds().length;
+    }
+    vertices += tree.getIds().length;
+    Iterator<ShortestPathTree> iterator = entries.values().iterator();
+    while (entries.size() > maxEntries || vertices > maxVertices) {
+      vertices -= iterator.next().getIds().length;
+      iterator.remove();
+      ++evictions;
+    }
+  }
+
+  /**
+   * Searches outside of the lock, two threads missing the same key both search and the later one is kept. A tree whose
+   * search started before an invalidation is returned but not kept.
+   */
+  public ShortestPathTree computeIfAbsent(int source, int[] targets, Supplier<ShortestPathTree> search) {
+    int treeVersion;
+    ShortestPathTree tree;
+    synchronized (this) {
+      treeVersion = version;
+      tree = get(source, targets);
+    }
+    if (tree == null) {
+      tree = search.get();
+      put(source, targets, tree, treeVersion);
+    }
+    return tree;
+  }
+
+  /**
+   * Starts a new graph version after the given updates, the heuristic must already know the new weights. A tree is
+   * kept if none of its edges got more expensive and all its distances are below the heuristic's lower bound for any
+   * path over a cheaper edge, the same rule {@link OneToManyShortestPath#repair} uses for single vertices.
+   */
+  public synchronized void invalidate(Collection<WeightUpdate> updates, LandmarkHeuristic heuristic) {
+    if (updates.isEmpty()) {
+      return;
+    }
+    ++version;
+    Iterator<ShortestPathTree> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      ShortestPathTree tree = iterator.next();
+      if (isAffected(tree, updates, heuristic)) {
+        vertices -= tree.getIds().length;
+        iterator.remove();
+        ++invalidations;
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    ++version;
+    invalidations += entries.size();
+    entries.clear();
+    vertices = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized double getHitRate() {
+    return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("%d trees with %d vertices, %d hits, %d misses (%.1f%%), %d evicted, %d invalidated",
+        entries.size(), vertices, hits, misses, 100 * getHitRate(), evictions, invalidations);
+  }
+
+  private static boolean isAffected(ShortestPathTree tree, Collection<WeightUpdate> updates,
+      LandmarkHeuristic heuristic) {
+    int source = tree.getSourceId();
+    double bound = Double.POSITIVE_INFINITY;
+    for (WeightUpdate update : updates) {
+      if (update.isDecrease()) {
+        double lowerBound = heuristic == null ? 0.0 : Math.min(heuristic.getCostEstimate(source, update.getSource()),
+            heuristic.getCostEstimate(source, update.getTarget()));
+        bound = Math.min(bound, lowerBound + update.getNewWeight());
+      } else if (isTreeEdge(tree, update.getSource(), update.getTarget())
+          || isTreeEdge(tree, update.getTarget(), update.getSource())) {
+        return true;
+      }
+    }
+    for (double distance : tree.getDistances()) {
+      if (distance >= bound) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isTreeEdge(ShortestPathTree tree, int parent, int child) {
+    int index = Arrays.binarySearch(tree.getIds(), child);
+    return index >= 0 && tree.getPredecessors()[index] == parent;
+  }
+
+  /**
+   * Source and sorted, distinct targets.
+   */
+  private static class Key {
+
+    private final int source;
+    private final int[] targets;
+    private final int hash;
+
+    private Key(int source, int[] targets) {
+      this.source = source;
+      this.targets = Arrays.stream(targets).sorted().distinct().toArray();
+      this.hash = 31 * source + Arrays.hashCode(this.targets);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return source == key.source && Arrays.equals(targets, key.targets);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+}
@@ -0,0 +1,80 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Result of a {@link OneToManyShortestPath} search. Costs are available right away, paths are only built on request.
+ * Only settled vertices are kept, as sorted ids with their distance, number of crossroads and predecessor.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class ShortestPathTree {
+
+  private final CompactGraph graph;
+  private final int source;
+  @Getter(AccessLevel.PACKAGE)
+  private final int[] ids;
+  @Getter(AccessLevel.PACKAGE)
+  private final double[] distances;
+  @Getter(AccessLevel.PACKAGE)
+  private final int[] crossroads;
+  @Getter(AccessLevel.PACKAGE)
+  private final int[] predecessors;
+
+  public Vertex getSource() {
+    return graph.getVertex(source);
+  }
+
+  int getSourceId() {
+    return source;
+  }
+
+  public boolean isReached(Vertex target) {
+    return isReached(graph.getId(target));
+  }
+
+  public boolean isReached(int target) {
+    return Arrays.binarySearch(ids, target) >= 0;
+  }
+
+  public double getWeight(Vertex target) {
+    return getWeight(graph.getId(target));
+  }
+
+  public double getWeight(int target) {
+    int index = Arrays.binarySearch(ids, target);
+    return index >= 0 ? distances[index] : Double.POSITIVE_INFINITY;
+  }
+
+  public GraphPath<Vertex, DefaultWeightedEdge> getPath(Vertex target) {
+    return getPath(graph.getId(target));
+  }
+
+  public GraphPath<Vertex, DefaultWeightedEdge> getPath(int target) {
+    int index = Arrays.binarySearch(ids, target);
+    if (index < 0) {
+      return null;
+    }
+    double weight = distances[index];
+    int length = 1;
+    for (int current = predecessors[index]; current >= 0; current = predecessors[Arrays.binarySearch(ids, current)]) {
+      ++length;
+    }
+    int[] path = new int[length];
+    int current = target;
+    for (int i = length - 1; i >= 0; --i) {
+      path[i] = current;
+      if (i > 0) {
+        current = predecessors[Arrays.binarySearch(ids, current)];
+      }
+    }
+    return graph.toGraphPath(path, weight);
+  }
+
+}
@@ -0,0 +1,154 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.TravelTimes;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import java.util.Collection;
+import lombok.Getter;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+
+/**
+ * Earliest arrival A* for a departure time on {@link TravelTimes}, exact for FIFO profiles. The tree holds travel times
+ * since the departure. Not thread-safe.
+ */
+public class TimeDependentShortestPath {
+
+  private final TravelTimes travelTimes;
+  private final CompactGraph graph;
+  private final AStarAdmissibleHeuristic<Vertex> heuristic;
+  private final LandmarkHeuristic landmarks;
+
+  private final double[] arrivals;
+  private final int[] crossroads;
+  private final int[] predecessors;
+  private final int[] reached;
+  private final int[] settled;
+  private final int[] wanted;
+  private final int[] settledOrder;
+  private final MinHeap queue;
+  private int stamp;
+  @Getter
+  private int settledVertices;
+  @Getter
+  private int relaxedEdges;
+
+  public TimeDependentShortestPath(TravelTimes travelTimes, AStarAdmissibleHeuristic<Vertex> heuristic) {
+    int n = travelTimes.getGraph().getVertexCount();
+    this.travelTimes = travelTimes;
+    this.graph = travelTimes.getGraph();
+    this.heuristic = heuristic;
+    this.landmarks = heuristic instanceof LandmarkHeuristic && graph.sharesIds(((LandmarkHeuristic) heuristic).getCompactGraph())
+        ? (LandmarkHeuristic) heuristic : null;
+    this.arrivals = new double[n];
+    this.crossroads = new int[n];
+    this.predecessors = new int[n];
+    this.reached = new int[n];
+    this.settled = new int[n];
+    this.wanted = new int[n];
+    this.settledOrder = new int[n];
+    this.queue = new MinHeap(16);
+  }
+
+  public ShortestPathTree search(Vertex source, Collection<Vertex> targets, double departure) {
+    int[] ids = new int[targets.size()];
+    int i = 0;
+    for (Vertex target : targets) {
+      ids[i++] = graph.getId(target);
+    }
+    return search(graph.getId(source), ids, departure);
+  }
+
+  public ShortestPathTree search(int source, int[] targets, double departure) {
+    nextStamp();
+    int remaining = 0;
+    for (int target : targets) {
+      if (wanted[target] != stamp) {
+        wanted[target] = stamp;
+        ++remaining;
+      }
+    }
+    queue.clear();
+    reach(source, departure, 0, -1);
+    queue.add(source, departure + estimate(source, targets), 0);
+    int settledCount = 0;
+    while (!queue.isEmpty() && remaining > 0) {
+      int vertex = queue.poll();
+      if (settled[vertex] == stamp) {
+        continue;
+      }
+      settled[vertex] = stamp;
+      settledOrder[settledCount++] = vertex;
+      if (wanted[vertex] == stamp) {
+        --remaining;
+      }
+      relax(vertex, targets);
+    }
+    settledVertices = settledCount;
+    return createTree(source, settledCount, departure);
+  }
+
+  private void relax(int vertex, int[] targets) {
+    relaxedEdges += graph.getEndArc(vertex) - graph.getFirstArc(vertex);
+    for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+      int neighbour = graph.getTarget(arc);
+      if (settled[neighbour] == stamp) {
+        continue;
+      }
+      double arrival = arrivals[vertex] + travelTimes.getTravelTime(arc, arrivals[vertex]);
+      int hops = crossroads[vertex] + 1;
+      if (reached[neighbour] != stamp || arrival < arrivals[neighbour]
+          || (arrival == arrivals[neighbour] && hops < crossroads[neighbour])) {
+        reach(neighbour, arrival, hops, vertex);
+        queue.add(neighbour, arrival + estimate(neighbour, targets), hops);
+      }
+    }
+  }
+
+  private void reach(int vertex, double arrival, int hops, int predecessor) {
+    reached[vertex] = stamp;
+    arrivals[vertex] = arrival;
+    crossroads[vertex] = hops;
+    predecessors[vertex] = predecessor;
+  }
+
+  private void nextStamp() {
+    settledVertices = 0;
+    relaxedEdges = 0;
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(reached, 0);
+      Arrays.fill(settled, 0);
+      Arrays.fill(wanted, 0);
+      stamp = 0;
+    }
+    ++stamp;
+  }
+
+  //travel times instead of arrival times, so the tree reads like a static one
+  private ShortestPathTree createTree(int source, int settledCount, double departure) {
+    int[] ids = Arrays.copyOf(settledOrder, settledCount);
+    Arrays.sort(ids);
+    double[] treeDistances = new double[settledCount];
+    int[] treeCrossroads = new int[settledCount];
+    int[] treePredecessors = new int[settledCount];
+    for (int i = 0; i < settledCount; ++i) {
+      treeDistances[i] = arrivals[ids[i]] - departure;
+      treeCrossroads[i] = crossroads[ids[i]];
+      treePredecessors[i] = predecessors[ids[i]];
+    }
+    return new ShortestPathTree(graph, source, ids, treeDistances, treeCrossroads, treePredecessors);
+  }
+
+  private double estimate(int vertex, int[] targets) {
+    if (heuristic == null) {
+      return 0.0;
+    }
+    double estimate = Double.POSITIVE_INFINITY;
+    for (int target : targets) {
+      estimate = Math.min(estimate, landmarks != null ? landmarks.getCostEstimate(vertex, target)
+          : heuristic.getCostEstimate(graph.getVertex(vertex), graph.getVertex(target)));
+    }
+    return estimate == Double.POSITIVE_INFINITY ? 0.0 : estimate;
+  }
+
+}
@@ -0,0 +1,232 @@
+package at.fhooe.ams.graph;
+
+import at.fhooe.ams.model.Vertex;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.GraphWalk;
+import org.jgrapht.graph.builder.GraphTypeBuilder;
+
+/**
+ * Immutable compressed sparse row view of a routing graph. Vertex ids are the positions in {@code vertexSet()}, the
+ * arcs of vertex {@code v} are {@code [offsets[v], offsets[v + 1])}. Undirected edges are stored as two arcs. The
+ * arrays may be views into a mapped file, see {@link #wrap}. The JGraphT graph is only needed to turn paths into
+ * {@link GraphPath}s, {@link #withoutGraph()} lets it be collected.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompactGraph {
+
+  //null once dropped
+  private final Source source;
+  @Getter
+  private final boolean undirected;
+  private final Vertex[] vertices;
+  //open addressing on the vertex hash, slots hold id + 1 and 0 if empty
+  private final int[] slots;
+  private final IntBuffer offsets;
+  private final IntBuffer targets;
+  private final DoubleBuffer weights;
+
+  public static CompactGraph of(Graph<Vertex, DefaultWeightedEdge> graph) {
+    Vertex[] vertices = graph.vertexSet().toArray(new Vertex[0]);
+    int[] slots = index(vertices);
+    int[] offsets = new int[vertices.length + 1];
+    for (int i = 0; i < vertices.length; ++i) {
+      offsets[i + 1] = offsets[i] + graph.outDegreeOf(vertices[i]);
+    }
+    int[] targets = new int[offsets[vertices.length]];
+    double[] weights = new double[targets.length];
+    for (int i = 0; i < vertices.length; ++i) {
+      int arc = offsets[i];
+      for (DefaultWeightedEdge edge : graph.outgoingEdgesOf(vertices[i])) {
+        targets[arc] = find(vertices, slots, Graphs.getOppositeVertex(graph, edge, vertices[i]));
+        weights[arc] = graph.getEdgeWeight(edge);
+        ++arc;
+      }
+    }
+    return new CompactGraph(new Source(graph), graph.getType().isUndirected(), vertices, slots, IntBuffer.wrap(offsets),
+        IntBuffer.wrap(targets), DoubleBuffer.wrap(weights));
+  }
+
+  /**
+   * Routes on the given undirected arcs without copying them, e.g. on the sections of a mapped
+   * {@link at.fhooe.ams.util.GraphSnapshot}. A JGraphT graph is only built from the arcs once a {@link GraphPath} is
+   * asked for.
+   */
+  public static CompactGraph wrap(Vertex[] vertices, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+    if (offsets.limit() != vertices.length + 1 || offsets.get(vertices.length) != targets.limit()
+        || targets.limit() != weights.limit()) {
+      throw new IllegalArgumentException("Arcs do not match " + vertices.length + " vertices");
+    }
+    Source source = new Source(null);
+    CompactGraph compactGraph = new CompactGraph(source, true, vertices, index(vertices), offsets, targets, weights);
+    source.arcs = compactGraph;
+    return compactGraph;
+  }
+
+  //copy that does not keep the source graph alive, it can route but not build GraphPaths
+  public CompactGraph withoutGraph() {
+    return new CompactGraph(null, undirected, vertices, slots, offsets, targets, weights);
+  }
+
+  public Graph<Vertex, DefaultWeightedEdge> getGraph() {
+    if (source == null) {
+      throw new IllegalStateException("Source graph was dropped");
+    }
+    return source.get();
+  }
+
+  public int getVertexCount() {
+    return vertices.length;
+  }
+
+  public int getArcCount() {
+    return targets.limit();
+  }
+
+  public int getId(Vertex vertex) {
+    int id = find(vertices, slots, vertex);
+    if (id < 0) {
+      throw new IllegalArgumentException("Vertex " + vertex + " is not part of the graph");
+    }
+    return id;
+  }
+
+  public Vertex getVertex(int id) {
+    return vertices[id];
+  }
+
+  public int getFirstArc(int vertex) {
+    return offsets.get(vertex);
+  }
+
+  public int getEndArc(int vertex) {
+    return offsets.get(vertex + 1);
+  }
+
+  public int getTarget(int arc) {
+    return targets.get(arc);
+  }
+
+  public double getWeight(int arc) {
+    return weights.get(arc);
+  }
+
+  public int findArc(int source, int target) {
+    for (int arc = offsets.get(source); arc < offsets.get(source + 1); ++arc) {
+      if (targets.get(arc) == target) {
+        return arc;
+      }
+    }
+    return -1;
+  }
+
+  //copy with new weights for both arcs of every updated edge, the structure arrays are shared
+  public CompactGraph withWeights(Collection<WeightUpdate> updates) {
+    double[] updatedWeights = new double[weights.limit()];
+    ((DoubleBuffer) weights.duplicate().rewind()).get(updatedWeights);
+    for (WeightUpdate update : updates) {
+      int forward = findArc(update.getSource(), update.getTarget());
+      int backward = findArc(update.getTarget(), update.getSource());
+      if (forward < 0 || backward < 0) {
+        throw new IllegalArgumentException("No edge between " + vertices[update.getSource()] + " and "
+            + vertices[update.getTarget()]);
+      }
+      updatedWeights[forward] = update.getNewWeight();
+      updatedWeights[backward] = update.getNewWeight();
+    }
+    return new CompactGraph(source, undirected, vertices, slots, offsets, targets, DoubleBuffer.wrap(updatedWeights));
+  }
+
+  //ids of two compact graphs agree if they list the same vertices in the same order
+  public boolean sharesIds(CompactGraph other) {
+    return other != null && (vertices == other.vertices || Arrays.equals(vertices, other.vertices));
+  }
+
+  public GraphPath<Vertex, DefaultWeightedEdge> toGraphPath(int[] path, double weight) {
+    Graph<Vertex, DefaultWeightedEdge> graph = getGraph();
+    List<Vertex> vertexList = new ArrayList<>(path.length);
+    List<DefaultWeightedEdge> edgeList = new ArrayList<>(Math.max(0, path.length - 1));
+    for (int i = 0; i < path.length; ++i) {
+      vertexList.add(vertices[path[i]]);
+      if (i > 0) {
+        edgeList.add(graph.getEdge(vertices[path[i - 1]], vertices[path[i]]));
+      }
+    }
+    return new GraphWalk<>(graph, vertexList.get(0), vertexList.get(vertexList.size() - 1), vertexList, edgeList, weight);
+  }
+
+  private static int[] index(Vertex[] vertices) {
+    int[] slots = new int[Integer.highestOneBit(Math.max(1, vertices.length)) * 4];
+    for (int i = 0; i < vertices.length; ++i) {
+      int slot = vertices[i].hashCode() & (slots.length - 1);
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & (slots.length - 1);
+      }
+      slots[slot] = i + 1;
+    }
+    return slots;
+  }
+
+  private static int find(Vertex[] vertices, int[] slots, Vertex vertex) {
+    for (int slot = vertex.hashCode() & (slots.length - 1); slots[slot] != 0; slot = (slot + 1) & (slots.length - 1)) {
+      if (vertices[slots[slot] - 1].equals(vertex)) {
+        return slots[slot] - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The JGraphT graph behind the paths, either given or built once from the original arcs. Shared by all weight copies,
+   * so their paths use the same edges.
+   */
+  private static class Source {
+
+    private Graph<Vertex, DefaultWeightedEdge> graph;
+    //cleared once the graph is built
+    private CompactGraph arcs;
+
+    private Source(Graph<Vertex, DefaultWeightedEdge> graph) {
+      this.graph = graph;
+    }
+
+    private synchronized Graph<Vertex, DefaultWeightedEdge> get() {
+      if (graph == null) {
+        graph = build(arcs);
+        arcs = null;
+      }
+      return graph;
+    }
+
+    //vertices in id order, so CompactGraph.of gives the same ids, every edge is added from its smaller end
+    private static Graph<Vertex, DefaultWeightedEdge> build(CompactGraph arcs) {
+      Graph<Vertex, DefaultWeightedEdge> graph = GraphTypeBuilder.<Vertex, DefaultWeightedEdge>undirected()
+          .allowingMultipleEdges(false).allowingSelfLoops(false).edgeClass(DefaultWeightedEdge.class).weighted(true)
+          .buildGraph();
+      for (Vertex vertex : arcs.vertices) {
+        graph.addVertex(vertex);
+      }
+      for (int vertex = 0; vertex < arcs.getVertexCount(); ++vertex) {
+        for (int arc = arcs.getFirstArc(vertex); arc < arcs.getEndArc(vertex); ++arc) {
+          int target = arcs.getTarget(arc);
+          if (vertex < target) {
+            graph.setEdgeWeight(graph.addEdge(arcs.vertices[vertex], arcs.vertices[target]), arcs.getWeight(arc));
+          }
+        }
+      }
+      return graph;
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+package at.fhooe.ams.graph;
+
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Travel time of an edge depending on the departure time, linear between breakpoints and repeating every
+ * {@code period}, e.g. one day. The last breakpoint is interpolated with the first one of the next period. Profiles
+ * must be FIFO, leaving later never means arriving earlier, so no slope may be below -1. Immutable and equal by value,
+ * so edges with the same profile can share one instance.
+ */
+public class TravelTimeProfile {
+
+  @Getter
+  private final double period;
+  private final double[] departures;
+  private final double[] travelTimes;
+  @Getter
+  private final double minimum;
+
+  public TravelTimeProfile(double period, double[] departures, double[] travelTimes) {
+    if (departures.length == 0 || departures.length != travelTimes.length) {
+      throw new IllegalArgumentException("A profile needs as many travel times as departures, at least one");
+    }
+    if (!(period > 0)) {
+      throw new IllegalArgumentException("Period must be positive, was " + period);
+    }
+    this.period = period;
+    this.departures = departures.clone();
+    this.travelTimes = travelTimes.clone();
+    double smallest = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < departures.length; ++i) {
+      if (departures[i] < 0 || departures[i] >= period || (i > 0 && departures[i] <= departures[i - 1])) {
+        throw new IllegalArgumentException("Departures must increase within [0, " + period + ")");
+      }
+      if (travelTimes[i] < 0) {
+        throw new IllegalArgumentException("Negative travel time " + travelTimes[i]);
+      }
+      int next = (i + 1) % departures.length;
+      double gap = next == 0 ? departures[0] + period - departures[i] : departures[next] - departures[i];
+      if (departures.length > 1 && travelTimes[next] - travelTimes[i] < -gap) {
+        throw new IllegalArgumentException("Travel time drops faster than time passes after " + departures[i]);
+      }
+      smallest = Math.min(smallest, travelTimes[i]);
+    }
+    this.minimum = smallest;
+  }
+
+  public static TravelTimeProfile constant(double travelTime) {
+    return new TravelTimeProfile(1.0, new double[]{0.0}, new double[]{travelTime});
+  }
+
+  //free-flow travel time scaled by a factor per breakpoint, e.g. 2.5 during rush hour
+  public static TravelTimeProfile scaled(double travelTime, double period, double[] departures, double[] factors) {
+    return new TravelTimeProfile(period, departures, Arrays.stream(factors).map(factor -> factor * travelTime).toArray());
+  }
+
+  public double getTravelTime(double departure) {
+    int last = departures.length - 1;
+    if (last == 0) {
+      return travelTimes[0];
+    }
+    double time = departure % period;
+    if (time < 0) {
+      time += period;
+    }
+    int index = Arrays.binarySearch(departures, time);
+    if (index >= 0) {
+      return travelTimes[index];
+    }
+    //breakpoint before the departure, -1 if it lies before the first one
+    index = -index - 2;
+    double startTime = index < 0 ? departures[last] - period : departures[index];
+    double startValue = travelTimes[index < 0 ? last : index];
+    double endTime = index == last ? departures[0] + period : departures[index + 1];
+    double endValue = travelTimes[index == last ? 0 : index + 1];
+    return startValue + (endValue - startValue) * (time - startTime) / (endTime - startTime);
+  }
+
+  public int getBreakpointCount() {
+    return departures.length;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TravelTimeProfile profile = (TravelTimeProfile) o;
+    return period == profile.period && Arrays.equals(departures, profile.departures)
+        && Arrays.equals(travelTimes, profile.travelTimes);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Double.hashCode(period) + Arrays.hashCode(departures)) + Arrays.hashCode(travelTimes);
+  }
+
+}
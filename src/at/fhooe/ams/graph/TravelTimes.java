@@ -0,0 +1,65 @@
+package at.fhooe.ams.graph;
+
+import at.fhooe.ams.model.Vertex;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Travel time profile of every arc of a {@link CompactGraph}. Arcs only store the index of their profile and equal
+ * profiles are stored once, so a network with a few road classes needs little more than one int per arc. Edges without
+ * a profile keep their weight at any time. The weight of an edge is its free-flow travel time, a profile must never be
+ * faster, which keeps heuristics on the weights admissible.
+ */
+public class TravelTimes {
+
+  @Getter
+  private final CompactGraph graph;
+  private final int[] arcProfiles;
+  private final TravelTimeProfile[] profiles;
+
+  public TravelTimes(CompactGraph graph, Map<DefaultWeightedEdge, TravelTimeProfile> edgeProfiles) {
+    Graph<Vertex, DefaultWeightedEdge> edges = graph.getGraph();
+    Map<TravelTimeProfile, Integer> ids = new HashMap<>();
+    List<TravelTimeProfile> distinct = new ArrayList<>();
+    this.graph = graph;
+    this.arcProfiles = new int[graph.getArcCount()];
+    for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex) {
+      for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+        DefaultWeightedEdge edge = edges.getEdge(graph.getVertex(vertex), graph.getVertex(graph.getTarget(arc)));
+        TravelTimeProfile profile = edgeProfiles.get(edge);
+        if (profile == null) {
+          profile = TravelTimeProfile.constant(graph.getWeight(arc));
+        } else if (profile.getMinimum() < graph.getWeight(arc)) {
+          throw new IllegalArgumentException("Profile of edge " + edge + " is faster than its weight "
+              + graph.getWeight(arc));
+        }
+        Integer id = ids.get(profile);
+        if (id == null) {
+          id = distinct.size();
+          ids.put(profile, id);
+          distinct.add(profile);
+        }
+        arcProfiles[arc] = id;
+      }
+    }
+    this.profiles = distinct.toArray(new TravelTimeProfile[0]);
+  }
+
+  public double getTravelTime(int arc, double departure) {
+    return profiles[arcProfiles[arc]].getTravelTime(departure);
+  }
+
+  public TravelTimeProfile getProfile(int arc) {
+    return profiles[arcProfiles[arc]];
+  }
+
+  public int getProfileCount() {
+    return profiles.length;
+  }
+
+}
@@ -0,0 +1,134 @@
+package at.fhooe.ams.graph;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.util.Arrays;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Ambulances, hospitals, accidents and hospital capacities of one dispatch, indexed by the ids of a
+ * {@link CompactGraph}. Role presence, ambulance status and capacity are primitive tables, the model objects are only
+ * kept for their names. The graph stays untouched, so several dispatches with their own tables can share it. Not
+ * thread-safe.
+ */
+public class VertexRoles {
+
+  public static final int UNLIMITED_CAPACITY = Integer.MAX_VALUE;
+  private static final byte AMBULANCE = 1;
+  private static final byte HOSPITAL = 2;
+  private static final byte ACCIDENT = 4;
+  private static final AmbulanceStatus[] STATES = AmbulanceStatus.values();
+
+  @Getter
+  private final CompactGraph graph;
+  //role bits and status ordinals by id, read by the searches without touching the model objects
+  private final byte[] roles;
+  private final byte[] states;
+  private final Ambulance[] ambulances;
+  private final Hospital[] hospitals;
+  private final Accident[] accidents;
+  private final int[] capacities;
+
+  public VertexRoles(CompactGraph graph) {
+    int n = graph.getVertexCount();
+    this.graph = graph;
+    this.roles = new byte[n];
+    this.states = new byte[n];
+    this.ambulances = new Ambulance[n];
+    this.hospitals = new Hospital[n];
+    this.accidents = new Accident[n];
+    this.capacities = new int[n];
+    Arrays.fill(capacities, UNLIMITED_CAPACITY);
+  }
+
+  public static VertexRoles of(CompactGraph graph, Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospitals,
+      Map<Vertex, Accident> accidents) {
+    VertexRoles roles = new VertexRoles(graph);
+    ambulances.forEach(roles::setAmbulance);
+    hospitals.forEach(roles::setHospital);
+    accidents.forEach(roles::setAccident);
+    return roles;
+  }
+
+  //null removes the role
+  public void setAmbulance(Vertex vertex, Ambulance ambulance) {
+    int id = graph.getId(vertex);
+    ambulances[id] = ambulance;
+    setRole(id, AMBULANCE, ambulance != null);
+    states[id] = ambulance == null ? 0 : (byte) ambulance.getStatus().ordinal();
+  }
+
+  public void setHospital(Vertex vertex, Hospital hospital) {
+    int id = graph.getId(vertex);
+    hospitals[id] = hospital;
+    setRole(id, HOSPITAL, hospital != null);
+  }
+
+  public void setAccident(Vertex vertex, Accident accident) {
+    int id = graph.getId(vertex);
+    accidents[id] = accident;
+    setRole(id, ACCIDENT, accident != null);
+  }
+
+  public void setCapacity(Vertex vertex, int capacity) {
+    capacities[graph.getId(vertex)] = capacity;
+  }
+
+  public boolean hasAmbulance(int id) {
+    return (roles[id] & AMBULANCE) != 0;
+  }
+
+  public boolean hasHospital(int id) {
+    return (roles[id] & HOSPITAL) != 0;
+  }
+
+  public boolean hasAccident(int id) {
+    return (roles[id] & ACCIDENT) != 0;
+  }
+
+  //null without an ambulance
+  public AmbulanceStatus getStatus(int id) {
+    return hasAmbulance(id) ? STATES[states[id]] : null;
+  }
+
+  public Ambulance getAmbulance(Vertex vertex) {
+    return ambulances[graph.getId(vertex)];
+  }
+
+  public Ambulance getAmbulance(int id) {
+    return ambulances[id];
+  }
+
+  public Hospital getHospital(Vertex vertex) {
+    return hospitals[graph.getId(vertex)];
+  }
+
+  public Hospital getHospital(int id) {
+    return hospitals[id];
+  }
+
+  public Accident getAccident(Vertex vertex) {
+    return accidents[graph.getId(vertex)];
+  }
+
+  public Accident getAccident(int id) {
+    return accidents[id];
+  }
+
+  public int getCapacity(Vertex vertex) {
+    return capacities[graph.getId(vertex)];
+  }
+
+  public int getCapacity(int id) {
+    return capacities[id];
+  }
+
+  private void setRole(int id, byte role, boolean present) {
+    roles[id] = (byte) (present ? roles[id] | role : roles[id] & ~role);
+  }
+
+}
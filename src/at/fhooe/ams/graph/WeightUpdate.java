@@ -0,0 +1,26 @@
+package at.fhooe.ams.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Change of the weight of one undirected edge, given by the compact ids of its end points.
+ */
+@Getter
+@AllArgsConstructor
+public class WeightUpdate {
+
+  private final int source;
+  private final int target;
+  private final double oldWeight;
+  private final double newWeight;
+
+  public boolean isDecrease() {
+    return newWeight < oldWeight;
+  }
+
+  public boolean connects(int first, int second) {
+    return (source == first && target == second) || (source == second && target == first);
+  }
+
+}
@@ -0,0 +1,222 @@
+package at.fhooe.ams.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics listener that sums everything up in striped counters, so concurrent searches hardly contend. Can be
+ * registered as MXBean to read the numbers with JConsole or any other JMX client.
+ */
+public class DispatchMetrics implements MetricsListener, DispatchMetricsMXBean {
+
+  private static final DispatchPhase[] PHASES = DispatchPhase.values();
+
+  private final LongAdder[] phaseCounts = new LongAdder[PHASES.length];
+  private final LongAdder[] phaseNanos = new LongAdder[PHASES.length];
+  private final LongAccumulator[] phaseMaxNanos = new LongAccumulator[PHASES.length];
+  private final LongAdder searches = new LongAdder();
+  private final LongAdder settledVertices = new LongAdder();
+  private final LongAdder relaxedEdges = new LongAdder();
+  private final LongAdder assignments = new LongAdder();
+  private final LongAdder assignedAccidents = new LongAdder();
+  private final LongAdder unassignedAccidents = new LongAdder();
+  private final DoubleAdder totalResponseTime = new DoubleAdder();
+  private volatile long[] cache = new long[4];
+
+  public DispatchMetrics() {
+    for (int i = 0; i < PHASES.length; ++i) {
+      phaseCounts[i] = new LongAdder();
+      phaseNanos[i] = new LongAdder();
+      phaseMaxNanos[i] = new LongAccumulator(Math::max, 0);
+    }
+  }
+
+  //registers under at.fhooe.ams:type=DispatchMetrics,name=<name>
+  public ObjectName register(String name) {
+    try {
+      ObjectName objectName = objectName(name);
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+      return objectName;
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not register dispatch metrics " + name, e);
+    }
+  }
+
+  public void unregister(String name) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = objectName(name);
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not unregister dispatch metrics " + name, e);
+    }
+  }
+
+  @Override
+  public void phaseCompleted(DispatchPhase phase, long nanos) {
+    phaseCounts[phase.ordinal()].increment();
+    phaseNanos[phase.ordinal()].add(nanos);
+    phaseMaxNanos[phase.ordinal()].accumulate(nanos);
+  }
+
+  @Override
+  public void searchCompleted(int settledVertices, int relaxedEdges) {
+    searches.increment();
+    this.settledVertices.add(settledVertices);
+    this.relaxedEdges.add(relaxedEdges);
+  }
+
+  @Override
+  public void assignmentCompleted(int ambulances, int accidents, int assignedAccidents, double totalResponseTime) {
+    assignments.increment();
+    this.assignedAccidents.add(assignedAccidents);
+    unassignedAccidents.add(accidents - assignedAccidents);
+    this.totalResponseTime.add(totalResponseTime);
+  }
+
+  @Override
+  public void cacheStatistics(long hits, long misses, long evictions, long invalidations) {
+    cache = new long[]{hits, misses, evictions, invalidations};
+  }
+
+  public long getPhaseCount(DispatchPhase phase) {
+    return phaseCounts[phase.ordinal()].sum();
+  }
+
+  public long getPhaseNanos(DispatchPhase phase) {
+    return phaseNanos[phase.ordinal()].sum();
+  }
+
+  @Override
+  public Map<String, Long> getPhaseCounts() {
+    return byPhase(phase -> phaseCounts[phase.ordinal()].sum());
+  }
+
+  @Override
+  public Map<String, Long> getPhaseNanos() {
+    return byPhase(phase -> phaseNanos[phase.ordinal()].sum());
+  }
+
+  @Override
+  public Map<String, Long> getPhaseMaxNanos() {
+    return byPhase(phase -> phaseMaxNanos[phase.ordinal()].get());
+  }
+
+  @Override
+  public long getSearches() {
+    return searches.sum();
+  }
+
+  @Override
+  public long getSettledVertices() {
+    return settledVertices.sum();
+  }
+
+  @Override
+  public long getRelaxedEdges() {
+    return relaxedEdges.sum();
+  }
+
+  @Override
+  public double getAverageSettledVertices() {
+    long count = searches.sum();
+    return count == 0 ? 0.0 : (double) settledVertices.sum() / count;
+  }
+
+  @Override
+  public long getAssignments() {
+    return assignments.sum();
+  }
+
+  @Override
+  public long getAssignedAccidents() {
+    return assignedAccidents.sum();
+  }
+
+  @Override
+  public long getUnassignedAccidents() {
+    return unassignedAccidents.sum();
+  }
+
+  @Override
+  public double getTotalResponseTime() {
+    return totalResponseTime.sum();
+  }
+
+  @Override
+  public long getCacheHits() {
+    return cache[0];
+  }
+
+  @Override
+  public long getCacheMisses() {
+    return cache[1];
+  }
+
+  @Override
+  public long getCacheEvictions() {
+    return cache[2];
+  }
+
+  @Override
+  public long getCacheInvalidations() {
+    return cache[3];
+  }
+
+  //counters read during a reset may mix old and new values
+  @Override
+  public void reset() {
+    for (int i = 0; i < PHASES.length; ++i) {
+      phaseCounts[i].reset();
+      phaseNanos[i].reset();
+      phaseMaxNanos[i].reset();
+    }
+    searches.reset();
+    settledVertices.reset();
+    relaxedEdges.reset();
+    assignments.reset();
+    assignedAccidents.reset();
+    unassignedAccidents.reset();
+    totalResponseTime.reset();
+    cache = new long[4];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (DispatchPhase phase : PHASES) {
+      builder.append(String.format("%-15s %6d x %10.3f ms (max %.3f ms)%n", phase, getPhaseCount(phase),
+          getPhaseNanos(phase) / 1e6, phaseMaxNanos[phase.ordinal()].get() / 1e6));
+    }
+    builder.append(String.format("%d searches, %.1f settled vertices and %.1f relaxed edges on average%n", getSearches(),
+        getAverageSettledVertices(), getSearches() == 0 ? 0.0 : (double) getRelaxedEdges() / getSearches()));
+    builder.append(String.format("%d assignments, %d accidents assigned, %d open%n", getAssignments(),
+        getAssignedAccidents(), getUnassignedAccidents()));
+    builder.append(String.format("path cache: %d hits, %d misses, %d evicted, %d invalidated", getCacheHits(),
+        getCacheMisses(), getCacheEvictions(), getCacheInvalidations()));
+    return builder.toString();
+  }
+
+  private static Map<String, Long> byPhase(Function<DispatchPhase, Long> value) {
+    Map<String, Long> values = new LinkedHashMap<>();
+    for (DispatchPhase phase : PHASES) {
+      values.put(phase.name(), value.apply(phase));
+    }
+    return values;
+  }
+
+  private static ObjectName objectName(String name) throws JMException {
+    return new ObjectName("at.fhooe.ams:type=DispatchMetrics,name=" + ObjectName.quote(name));
+  }
+
+}
@@ -0,0 +1,42 @@
+package at.fhooe.ams.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link DispatchMetrics}, phase values are keyed by the name of the {@link DispatchPhase}.
+ */
+public interface DispatchMetricsMXBean {
+
+  Map<String, Long> getPhaseCounts();
+
+  Map<String, Long> getPhaseNanos();
+
+  Map<String, Long> getPhaseMaxNanos();
+
+  long getSearches();
+
+  long getSettledVertices();
+
+  long getRelaxedEdges();
+
+  double getAverageSettledVertices();
+
+  long getAssignments();
+
+  long getAssignedAccidents();
+
+  long getUnassignedAccidents();
+
+  double getTotalResponseTime();
+
+  long getCacheHits();
+
+  long getCacheMisses();
+
+  long getCacheEvictions();
+
+  long getCacheInvalidations();
+
+  void reset();
+
+}
@@ -0,0 +1,11 @@
+package at.fhooe.ams.metrics;
+
+public enum DispatchPhase {
+
+  PARSING,
+  GRAPH_BUILDING,
+  PREPROCESSING,
+  SEARCH,
+  ASSIGNMENT
+
+}
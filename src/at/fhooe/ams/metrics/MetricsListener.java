@@ -0,0 +1,26 @@
+package at.fhooe.ams.metrics;
+
+/**
+ * Receives measurements while networks are built and dispatched. Searches of one dispatch can run on several threads,
+ * so implementations must be thread-safe. All methods do nothing by default.
+ */
+public interface MetricsListener {
+
+  MetricsListener NONE = new MetricsListener() {
+  };
+
+  default void phaseCompleted(DispatchPhase phase, long nanos) {
+  }
+
+  //vertices settled and edges relaxed by one shortest path search
+  default void searchCompleted(int settledVertices, int relaxedEdges) {
+  }
+
+  default void assignmentCompleted(int ambulances, int accidents, int assignedAccidents, double totalResponseTime) {
+  }
+
+  //running totals of the path cache after a dispatch
+  default void cacheStatistics(long hits, long misses, long evictions, long invalidations) {
+  }
+
+}
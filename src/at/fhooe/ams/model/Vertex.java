@@ -1,20 +1,22 @@
 package at.fhooe.ams.model;
 
-import java.util.Objects;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 
-@RequiredArgsConstructor
-@Getter
-@Setter
+/**
+ * Immutable intersection of the road network, equal by name. Ambulances, hospitals and accidents are not stored on the
+ * vertex but in a {@link at.fhooe.ams.graph.VertexRoles} table of the dispatch, so one network can be shared.
+ */
 public class Vertex {
 
+  @Getter
   private final String name;
-  private Ambulance ambulance;
-  private Hospital hospital;
-  private Accident accident;
-  private Integer duration;
+  //vertices are hash keys on every lookup in the searches, same value as Objects.hash(name) to keep map orders
+  private final int hash;
+
+  public Vertex(String name) {
+    this.name = name;
+    this.hash = 31 + name.hashCode();
+  }
 
   @Override
   public boolean equals(Object o) {
@@ -25,12 +27,12 @@ public class Vertex {
       return false;
     }
     Vertex vertex = (Vertex) o;
-    return Objects.equals(name, vertex.name);
+    return hash == vertex.hash && name.equals(vertex.name);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name);
+    return hash;
   }
 
   @Override
@@ -0,0 +1,18 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Edge from a boundary vertex of a region to a vertex of another region.
+ */
+@AllArgsConstructor
+@Getter
+public class CutEdge {
+
+  private final Vertex inside;
+  private final Vertex outside;
+  private final double weight;
+
+}
@@ -0,0 +1,100 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.algorithm.HospitalVoronoi;
+import at.fhooe.ams.algorithm.LandmarkHeuristic;
+import at.fhooe.ams.algorithm.LandmarkSelection;
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Split of a road network into regions for {@link RegionWorker}s. The regions grow around vertices spread by the
+ * farthest landmark selection, every vertex joins the closest one, so regions are connected and compact. Vertices no
+ * centre reaches join the first region.
+ */
+public class GraphPartition {
+
+  @Getter
+  private final List<Region> regions;
+  private final Map<Vertex, Integer> regionIndices;
+
+  private GraphPartition(List<Region> regions, Map<Vertex, Integer> regionIndices) {
+    this.regions = regions;
+    this.regionIndices = regionIndices;
+  }
+
+  public static GraphPartition of(Graph<Vertex, DefaultWeightedEdge> graph, int regionCount) {
+    if (regionCount < 1) {
+      throw new IllegalArgumentException("Invalid region count " + regionCount);
+    }
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    int count = Math.min(regionCount, compactGraph.getVertexCount());
+    List<Vertex> centres = new LandmarkHeuristic(compactGraph, count, LandmarkSelection.FARTHEST,
+        LandmarkHeuristic.DEFAULT_SEED).getLandmarks();
+    HospitalVoronoi voronoi = new HospitalVoronoi(compactGraph, centres);
+    Map<Vertex, Integer> regionIndices = new LinkedHashMap<>();
+    for (Vertex vertex : graph.vertexSet()) {
+      regionIndices.put(vertex, voronoi.isReached(vertex) ? centres.indexOf(voronoi.getHospital(vertex)) : 0);
+    }
+
+    List<Map<String, Vertex>> vertices = new ArrayList<>();
+    List<List<Pair<Vertex, Vertex>>> edges = new ArrayList<>();
+    List<List<Double>> weights = new ArrayList<>();
+    List<Set<Vertex>> boundaries = new ArrayList<>();
+    List<List<CutEdge>> cutEdges = new ArrayList<>();
+    for (int region = 0; region < count; ++region) {
+      vertices.add(new LinkedHashMap<>());
+      edges.add(new ArrayList<>());
+      weights.add(new ArrayList<>());
+      boundaries.add(new LinkedHashSet<>());
+      cutEdges.add(new ArrayList<>());
+    }
+    regionIndices.forEach((vertex, region) -> vertices.get(region).put(vertex.getName(), vertex));
+    for (DefaultWeightedEdge edge : graph.edgeSet()) {
+      Vertex source = graph.getEdgeSource(edge);
+      Vertex target = graph.getEdgeTarget(edge);
+      int sourceRegion = regionIndices.get(source);
+      int targetRegion = regionIndices.get(target);
+      double weight = graph.getEdgeWeight(edge);
+      if (sourceRegion == targetRegion) {
+        edges.get(sourceRegion).add(Pair.of(source, target));
+        weights.get(sourceRegion).add(weight);
+      } else {
+        boundaries.get(sourceRegion).add(source);
+        boundaries.get(targetRegion).add(target);
+        cutEdges.get(sourceRegion).add(new CutEdge(source, target, weight));
+        cutEdges.get(targetRegion).add(new CutEdge(target, source, weight));
+      }
+    }
+
+    List<Region> regions = new ArrayList<>();
+    for (int region = 0; region < count; ++region) {
+      regions.add(new Region(region, Parser.parseUndirectedWeightedGraph(vertices.get(region), edges.get(region),
+          weights.get(region)), new ArrayList<>(boundaries.get(region)), cutEdges.get(region)));
+    }
+    return new GraphPartition(regions, regionIndices);
+  }
+
+  public int getRegionIndex(Vertex vertex) {
+    Integer region = regionIndices.get(vertex);
+    if (region == null) {
+      throw new IllegalArgumentException("Vertex " + vertex + " is not part of the graph");
+    }
+    return region;
+  }
+
+  public Region getRegion(Vertex vertex) {
+    return regions.get(getRegionIndex(vertex));
+  }
+
+}
@@ -0,0 +1,33 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Shortest path assembled by a {@link PartitionedRouter} from the pieces its workers found. The coordinator holds no
+ * graph, so the path only knows its vertices and its weight.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter
+public class PartitionedPath {
+
+  private final List<Vertex> vertexList;
+  private final double weight;
+
+  public Vertex getStartVertex() {
+    return vertexList.get(0);
+  }
+
+  public Vertex getEndVertex() {
+    return vertexList.get(vertexList.size() - 1);
+  }
+
+  @Override
+  public String toString() {
+    return vertexList + " - " + weight;
+  }
+
+}
@@ -0,0 +1,360 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Coordinator of the {@link RegionWorker}s of a partitioned network. It only holds the overlay: the boundary vertices
+ * of all regions, connected by their distances inside each region and by the cut edges. A query asks the worker of the
+ * source for the way out of its region, runs Dijkstra on the overlay and asks the workers of the targets for the way
+ * in. Every shortest path that leaves a region is made of such pieces, paths that stay inside the source region are
+ * answered by its worker directly. Paths are put together from the pieces the workers find. Thread-safe, requests to
+ * the workers are serialized.
+ */
+public class PartitionedRouter implements AutoCloseable {
+
+  private final List<Connection> workers = new ArrayList<>();
+  private final Map<Vertex, Integer> regions = new HashMap<>();
+  private final List<List<Vertex>> boundaries = new ArrayList<>();
+  //overlay vertices are the boundary vertices of all regions
+  private final List<Vertex> overlayVertices = new ArrayList<>();
+  private final Map<Vertex, Integer> overlayIds = new HashMap<>();
+  private final List<List<Arc>> arcs = new ArrayList<>();
+
+  public PartitionedRouter(List<InetSocketAddress> addresses) {
+    try {
+      for (InetSocketAddress address : addresses) {
+        workers.add(new Connection(address));
+      }
+      for (int region = 0; region < workers.size(); ++region) {
+        for (String name : workers.get(region).request(Protocol.VERTICES)) {
+          if (regions.put(new Vertex(name), region) != null) {
+            throw new IllegalArgumentException("Vertex " + name + " belongs to more than one region");
+          }
+        }
+      }
+      for (int region = 0; region < workers.size(); ++region) {
+        readOverlay(region, workers.get(region).request(Protocol.OVERLAY));
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  public synchronized double getDistance(Vertex source, Vertex target) {
+    return getDistances(source, Collections.singletonList(target)).get(target);
+  }
+
+  //infinite for targets that cannot be reached
+  public synchronized Map<Vertex, Double> getDistances(Vertex source, Collection<Vertex> targets) {
+    Overlay overlay = leave(source, targets);
+    Map<Vertex, Double> distances = new LinkedHashMap<>();
+    for (Vertex target : targets) {
+      distances.put(target, enter(overlay, target).distance);
+    }
+    return distances;
+  }
+
+  //null if the target cannot be reached
+  public synchronized PartitionedPath getPath(Vertex source, Vertex target) {
+    Overlay overlay = leave(source, Collections.singletonList(target));
+    Entry entry = enter(overlay, target);
+    if (entry.distance == Double.POSITIVE_INFINITY) {
+      return null;
+    }
+    if (entry.boundary < 0) {
+      return new PartitionedPath(path(overlay.region, source, target), entry.distance);
+    }
+    List<Integer> chain = new ArrayList<>();
+    for (int vertex = entry.boundary; vertex >= 0; vertex = overlay.predecessors[vertex]) {
+      chain.add(vertex);
+    }
+    Collections.reverse(chain);
+    List<Vertex> vertices = new ArrayList<>(path(overlay.region, source, overlayVertices.get(chain.get(0))));
+    for (int i = 1; i < chain.size(); ++i) {
+      Vertex from = overlayVertices.get(chain.get(i - 1));
+      Vertex to = overlayVertices.get(chain.get(i));
+      if (regions.get(from).equals(regions.get(to))) {
+        append(vertices, path(regions.get(from), from, to));
+      } else {
+        vertices.add(to);
+      }
+    }
+    append(vertices, path(regions.get(target), vertices.get(vertices.size() - 1), target));
+    return new PartitionedPath(vertices, entry.distance);
+  }
+
+  @Override
+  public synchronized void close() {
+    workers.forEach(Connection::close);
+  }
+
+  //distances from the source to its boundary and its targets in the same region, then Dijkstra on the overlay
+  private Overlay leave(Vertex source, Collection<Vertex> targets) {
+    int region = region(source);
+    List<Vertex> wanted = new ArrayList<>(boundaries.get(region));
+    for (Vertex target : targets) {
+      if (region(target) == region) {
+        wanted.add(target);
+      }
+    }
+    Overlay overlay = new Overlay(region, search(region, source, wanted), overlayVertices.size());
+    PriorityQueue<Label> queue = new PriorityQueue<>();
+    for (Vertex vertex : boundaries.get(region)) {
+      Double distance = overlay.local.get(vertex);
+      if (distance != null) {
+        overlay.reach(overlayIds.get(vertex), distance, -1, queue);
+      }
+    }
+    while (!queue.isEmpty()) {
+      Label label = queue.poll();
+      if (label.distance != overlay.distances[label.vertex]) {
+        continue;
+      }
+      for (Arc arc : arcs.get(label.vertex)) {
+        overlay.reach(arc.target, label.distance + arc.weight, label.vertex, queue);
+      }
+    }
+    return overlay;
+  }
+
+  //best way into the target's region, boundary is -1 if the path stays in the source region
+  private Entry enter(Overlay overlay, Vertex target) {
+    int region = region(target);
+    Entry entry = new Entry();
+    if (region == overlay.region) {
+      entry.distance = overlay.local.getOrDefault(target, Double.POSITIVE_INFINITY);
+    }
+    List<Vertex> reached = new ArrayList<>();
+    for (Vertex vertex : boundaries.get(region)) {
+      if (overlay.distances[overlayIds.get(vertex)] < entry.distance) {
+        reached.add(vertex);
+      }
+    }
+    if (reached.isEmpty()) {
+      return entry;
+    }
+    //undirected network, the way in is the way from the target out
+    search(region, target, reached).forEach((vertex, distance) -> {
+      int id = overlayIds.get(vertex);
+      if (overlay.distances[id] + distance < entry.distance) {
+        entry.distance = overlay.distances[id] + distance;
+        entry.boundary = id;
+      }
+    });
+    return entry;
+  }
+
+  private Map<Vertex, Double> search(int region, Vertex source, List<Vertex> targets) {
+    Object[] fields = new Object[targets.size() + 2];
+    fields[0] = Protocol.SEARCH;
+    fields[1] = source.getName();
+    for (int i = 0; i < targets.size(); ++i) {
+      fields[i + 2] = targets.get(i).getName();
+    }
+    Map<Vertex, Double> distances = new HashMap<>();
+    for (String line : workers.get(region).request(Protocol.line(fields))) {
+      String[] answer = line.split(Protocol.SEPARATOR);
+      distances.put(new Vertex(answer[0]), Double.parseDouble(answer[1]));
+    }
+    return distances;
+  }
+
+  private List<Vertex> path(int region, Vertex source, Vertex target) {
+    List<String> lines = workers.get(region).request(Protocol.line(Protocol.PATH, source.getName(), target.getName()));
+    if (lines.isEmpty()) {
+      throw new IllegalStateException("Region " + region + " has no path from " + source + " to " + target);
+    }
+    List<Vertex> vertices = new ArrayList<>();
+    for (String name : lines.get(0).split(Protocol.SEPARATOR)) {
+      vertices.add(new Vertex(name));
+    }
+    return vertices;
+  }
+
+  private static void append(List<Vertex> vertices, List<Vertex> piece) {
+    vertices.addAll(piece.subList(1, piece.size()));
+  }
+
+  private int region(Vertex vertex) {
+    Integer region = regions.get(vertex);
+    if (region == null) {
+      throw new IllegalArgumentException("Vertex " + vertex + " is not part of any region");
+    }
+    return region;
+  }
+
+  private void readOverlay(int region, List<String> lines) {
+    List<Vertex> boundary = new ArrayList<>();
+    for (String line : lines) {
+      String[] fields = line.split(Protocol.SEPARATOR);
+      switch (fields[0]) {
+        case Protocol.BOUNDARY_VERTEX:
+          boundary.add(overlayVertex(fields[1]));
+          break;
+        case Protocol.BOUNDARY_EDGE:
+          addArc(overlayVertex(fields[1]), overlayVertex(fields[2]), Double.parseDouble(fields[3]));
+          addArc(overlayVertex(fields[2]), overlayVertex(fields[1]), Double.parseDouble(fields[3]));
+          break;
+        case Protocol.CUT_EDGE:
+          //the worker of the other region sends the way back
+          addArc(overlayVertex(fields[1]), overlayVertex(fields[2]), Double.parseDouble(fields[3]));
+          break;
+        default:
+          throw new IllegalStateException("Unexpected overlay line " + line);
+      }
+    }
+    boundaries.add(boundary);
+  }
+
+  private Vertex overlayVertex(String name) {
+    Vertex vertex = new Vertex(name);
+    if (!overlayIds.containsKey(vertex)) {
+      overlayIds.put(vertex, overlayVertices.size());
+      overlayVertices.add(vertex);
+      arcs.add(new ArrayList<>());
+    }
+    return vertex;
+  }
+
+  private void addArc(Vertex from, Vertex to, double weight) {
+    arcs.get(overlayIds.get(from)).add(new Arc(overlayIds.get(to), weight));
+  }
+
+  /**
+   * Overlay arc, either the distance between two boundary vertices of one region or a cut edge.
+   */
+  private static class Arc {
+
+    private final int target;
+    private final double weight;
+
+    private Arc(int target, double weight) {
+      this.target = target;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Distances of one query: inside the source region as answered by its worker and on the overlay, with the overlay
+   * predecessors, -1 for boundary vertices reached from the source directly.
+   */
+  private static class Overlay {
+
+    private final int region;
+    private final Map<Vertex, Double> local;
+    private final double[] distances;
+    private final int[] predecessors;
+
+    private Overlay(int region, Map<Vertex, Double> local, int size) {
+      this.region = region;
+      this.local = local;
+      this.distances = new double[size];
+      this.predecessors = new int[size];
+      Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    }
+
+    private void reach(int vertex, double distance, int predecessor, PriorityQueue<Label> queue) {
+      if (distance < distances[vertex]) {
+        distances[vertex] = distance;
+        predecessors[vertex] = predecessor;
+        queue.add(new Label(vertex, distance));
+      }
+    }
+  }
+
+  private static class Label implements Comparable<Label> {
+
+    private final int vertex;
+    private final double distance;
+
+    private Label(int vertex, double distance) {
+      this.vertex = vertex;
+      this.distance = distance;
+    }
+
+    @Override
+    public int compareTo(Label other) {
+      return Double.compare(distance, other.distance);
+    }
+  }
+
+  private static class Entry {
+
+    private double distance = Double.POSITIVE_INFINITY;
+    private int boundary = -1;
+  }
+
+  /**
+   * Socket to one worker, one request at a time.
+   */
+  private static class Connection {
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    private Connection(InetSocketAddress address) {
+      try {
+        socket = new Socket(address.getAddress(), address.getPort());
+        reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not connect to worker at " + address, e);
+      }
+    }
+
+    private List<String> request(String request) {
+      try {
+        writer.write(request);
+        writer.write('\n');
+        writer.flush();
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null && !Protocol.END.equals(line)) {
+          lines.add(line);
+        }
+        if (line == null) {
+          throw new IllegalStateException("Worker at " + socket.getRemoteSocketAddress() + " closed the connection");
+        }
+        if (!lines.isEmpty() && lines.get(0).startsWith(Protocol.ERROR + Protocol.SEPARATOR)) {
+          throw new IllegalArgumentException(lines.get(0).substring(Protocol.ERROR.length() + 1));
+        }
+        return lines;
+      } catch (IOException e) {
+        throw new UncheckedIOException("Request to worker at " + socket.getRemoteSocketAddress() + " failed", e);
+      }
+    }
+
+    private void close() {
+      try {
+        writer.write(Protocol.QUIT);
+        writer.write('\n');
+        writer.flush();
+        socket.close();
+      } catch (IOException e) {
+        //the worker is gone already
+      }
+    }
+  }
+
+}
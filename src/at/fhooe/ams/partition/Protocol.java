@@ -0,0 +1,47 @@
+package at.fhooe.ams.partition;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Line protocol between {@link PartitionedRouter} and {@link RegionWorker}. A request is one line of tab separated
+ * fields starting with the command, the answer is any number of such lines followed by {@link #END}. A failed request
+ * is answered by an {@link #ERROR} line with the message. Numbers are written by {@link Double#toString}, which reads
+ * back exactly.
+ * <ul>
+ * <li>{@code VERTICES}: one line per vertex name of the region.</li>
+ * <li>{@code OVERLAY}: {@code V name} per boundary vertex, {@code B from to distance} per pair of boundary vertices
+ * connected inside the region and {@code C inside outside weight} per cut edge.</li>
+ * <li>{@code SEARCH source target...}: {@code target distance} per target reached inside the region.</li>
+ * <li>{@code PATH source target}: the vertex names of the shortest path inside the region on one line, nothing if
+ * there is none.</li>
+ * <li>{@code QUIT}: closes the connection without an answer.</li>
+ * </ul>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class Protocol {
+
+  static final String SEPARATOR = "\t";
+  static final String VERTICES = "VERTICES";
+  static final String OVERLAY = "OVERLAY";
+  static final String SEARCH = "SEARCH";
+  static final String PATH = "PATH";
+  static final String QUIT = "QUIT";
+  static final String END = "END";
+  static final String ERROR = "ERROR";
+  static final String BOUNDARY_VERTEX = "V";
+  static final String BOUNDARY_EDGE = "B";
+  static final String CUT_EDGE = "C";
+
+  static String line(Object... fields) {
+    StringBuilder line = new StringBuilder();
+    for (Object field : fields) {
+      if (line.length() > 0) {
+        line.append(SEPARATOR);
+      }
+      line.append(field);
+    }
+    return line.toString();
+  }
+
+}
@@ -0,0 +1,23 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * One part of a {@link GraphPartition}: its vertices with the edges between them, the boundary vertices that have
+ * edges into other regions and those edges. A {@link RegionWorker} needs nothing else to serve the region.
+ */
+@AllArgsConstructor
+@Getter
+public class Region {
+
+  private final int index;
+  private final Graph<Vertex, DefaultWeightedEdge> graph;
+  private final List<Vertex> boundary;
+  private final List<CutEdge> cutEdges;
+
+}
@@ -0,0 +1,121 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Binary region file for a worker process: a header (magic, version, region index), the vertex names, the boundary
+ * vertices as indices, the edges as index pairs with weights and the cut edges with the name of the outside vertex.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RegionStore {
+
+  private static final int MAGIC = 0x414d5352;
+  private static final int VERSION = 1;
+
+  public static void write(Region region, Path file) {
+    Graph<Vertex, DefaultWeightedEdge> graph = region.getGraph();
+    List<Vertex> vertexList = new ArrayList<>(graph.vertexSet());
+    Map<Vertex, Integer> indices = new LinkedHashMap<>();
+    vertexList.forEach(vertex -> indices.put(vertex, indices.size()));
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+          output.writeInt(MAGIC);
+          output.writeInt(VERSION);
+          output.writeInt(region.getIndex());
+          output.writeInt(vertexList.size());
+          for (Vertex vertex : vertexList) {
+            output.writeUTF(vertex.getName());
+          }
+          output.writeInt(region.getBoundary().size());
+          for (Vertex vertex : region.getBoundary()) {
+            output.writeInt(indices.get(vertex));
+          }
+          output.writeInt(graph.edgeSet().size());
+          for (DefaultWeightedEdge edge : graph.edgeSet()) {
+            output.writeInt(indices.get(graph.getEdgeSource(edge)));
+            output.writeInt(indices.get(graph.getEdgeTarget(edge)));
+            output.writeDouble(graph.getEdgeWeight(edge));
+          }
+          output.writeInt(region.getCutEdges().size());
+          for (CutEdge cutEdge : region.getCutEdges()) {
+            output.writeInt(indices.get(cutEdge.getInside()));
+            output.writeUTF(cutEdge.getOutside().getName());
+            output.writeDouble(cutEdge.getWeight());
+          }
+        }
+        //replace atomically so a worker starting at the same time never reads a half written file
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        //only left over if writing or the move failed
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write region to " + file, e);
+    }
+  }
+
+  public static Region load(Path file) {
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a region file: " + file);
+      }
+      int version = input.readInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported region file version " + version);
+      }
+      int index = input.readInt();
+      Map<String, Vertex> vertices = new LinkedHashMap<>();
+      List<Vertex> vertexList = new ArrayList<>();
+      int vertexCount = input.readInt();
+      for (int i = 0; i < vertexCount; ++i) {
+        Vertex vertex = new Vertex(input.readUTF());
+        vertices.put(vertex.getName(), vertex);
+        vertexList.add(vertex);
+      }
+      List<Vertex> boundary = new ArrayList<>();
+      int boundaryCount = input.readInt();
+      for (int i = 0; i < boundaryCount; ++i) {
+        boundary.add(vertexList.get(input.readInt()));
+      }
+      List<Pair<Vertex, Vertex>> edges = new ArrayList<>();
+      List<Double> weights = new ArrayList<>();
+      int edgeCount = input.readInt();
+      for (int i = 0; i < edgeCount; ++i) {
+        edges.add(Pair.of(vertexList.get(input.readInt()), vertexList.get(input.readInt())));
+        weights.add(input.readDouble());
+      }
+      List<CutEdge> cutEdges = new ArrayList<>();
+      int cutEdgeCount = input.readInt();
+      for (int i = 0; i < cutEdgeCount; ++i) {
+        cutEdges.add(new CutEdge(vertexList.get(input.readInt()), new Vertex(input.readUTF()), input.readDouble()));
+      }
+      return new Region(index, Parser.parseUndirectedWeightedGraph(vertices, edges, weights), boundary, cutEdges);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read region from " + file, e);
+    }
+  }
+
+}
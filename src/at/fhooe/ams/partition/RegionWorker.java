@@ -0,0 +1,198 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.algorithm.LandmarkHeuristic;
+import at.fhooe.ams.algorithm.LandmarkSelection;
+import at.fhooe.ams.algorithm.OneToManyShortestPath;
+import at.fhooe.ams.algorithm.ShortestPathTree;
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.Getter;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Serves the shortest paths inside one {@link Region} over a local socket, see {@link Protocol}. Only the region is
+ * held in memory, with its own landmark tables and the distances between its boundary vertices, which are computed
+ * when the worker starts. Every connection is served by its own thread with its own search.
+ */
+public class RegionWorker implements AutoCloseable {
+
+  @Getter
+  private final Region region;
+  private final CompactGraph compactGraph;
+  private final LandmarkHeuristic heuristic;
+  private final List<String> overlay = new ArrayList<>();
+  private final ServerSocket serverSocket;
+  private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "region-worker");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  //port 0 picks a free port, see getPort
+  public RegionWorker(Region region, int port) {
+    this.region = region;
+    this.compactGraph = CompactGraph.of(region.getGraph());
+    this.heuristic = new LandmarkHeuristic(compactGraph, LandmarkHeuristic.DEFAULT_LANDMARK_COUNT,
+        LandmarkSelection.FARTHEST, LandmarkHeuristic.DEFAULT_SEED);
+    createOverlay();
+    try {
+      this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not listen on port " + port, e);
+    }
+    connections.execute(this::accept);
+  }
+
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.out.println("You must call the worker with args: [region file] [port]");
+      return;
+    }
+    RegionWorker worker = new RegionWorker(RegionStore.load(Paths.get(args[0])), Integer.parseInt(args[1]));
+    System.out.println("Region " + worker.getRegion().getIndex() + " listening on port " + worker.getPort());
+    //connections are served by daemon threads, the process runs until it is stopped
+    try {
+      Thread.currentThread().join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      worker.close();
+    }
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  @Override
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not close worker of region " + region.getIndex(), e);
+    } finally {
+      connections.shutdownNow();
+    }
+  }
+
+  //boundary vertices are connected inside the region in both directions, so every pair is listed once
+  private void createOverlay() {
+    OneToManyShortestPath search = new OneToManyShortestPath(compactGraph, heuristic);
+    List<Vertex> boundary = region.getBoundary();
+    for (Vertex vertex : boundary) {
+      overlay.add(Protocol.line(Protocol.BOUNDARY_VERTEX, vertex.getName()));
+    }
+    for (int i = 0; i < boundary.size(); ++i) {
+      ShortestPathTree tree = search.search(boundary.get(i), boundary.subList(i + 1, boundary.size()));
+      for (int j = i + 1; j < boundary.size(); ++j) {
+        if (tree.isReached(boundary.get(j))) {
+          overlay.add(Protocol.line(Protocol.BOUNDARY_EDGE, boundary.get(i).getName(), boundary.get(j).getName(),
+              tree.getWeight(boundary.get(j))));
+        }
+      }
+    }
+    region.getCutEdges().forEach(cutEdge -> overlay.add(Protocol.line(Protocol.CUT_EDGE,
+        cutEdge.getInside().getName(), cutEdge.getOutside().getName(), cutEdge.getWeight())));
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        connections.execute(() -> serve(socket));
+      } catch (IOException e) {
+        //closed while waiting for the next connection
+        return;
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    OneToManyShortestPath search = new OneToManyShortestPath(compactGraph, heuristic);
+    try (Socket connection = socket;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+      String request;
+      while ((request = reader.readLine()) != null && !Protocol.QUIT.equals(request)) {
+        try {
+          for (String line : answer(search, request.split(Protocol.SEPARATOR))) {
+            writer.write(line);
+            writer.write('\n');
+          }
+        } catch (IllegalArgumentException e) {
+          writer.write(Protocol.line(Protocol.ERROR, e.getMessage()));
+          writer.write('\n');
+        }
+        writer.write(Protocol.END);
+        writer.write('\n');
+        writer.flush();
+      }
+    } catch (IOException e) {
+      //the coordinator went away, nothing left to answer
+    }
+  }
+
+  private List<String> answer(OneToManyShortestPath search, String[] request) {
+    List<String> lines = new ArrayList<>();
+    switch (request[0]) {
+      case Protocol.VERTICES:
+        region.getGraph().vertexSet().forEach(vertex -> lines.add(vertex.getName()));
+        return lines;
+      case Protocol.OVERLAY:
+        return overlay;
+      case Protocol.SEARCH: {
+        List<Vertex> targets = new ArrayList<>();
+        for (String name : Arrays.asList(request).subList(2, request.length)) {
+          targets.add(new Vertex(name));
+        }
+        ShortestPathTree tree = search.search(vertex(request, 1), targets);
+        for (Vertex target : targets) {
+          if (tree.isReached(target)) {
+            lines.add(Protocol.line(target.getName(), tree.getWeight(target)));
+          }
+        }
+        return lines;
+      }
+      case Protocol.PATH: {
+        Vertex target = vertex(request, 2);
+        GraphPath<Vertex, DefaultWeightedEdge> path = search.search(vertex(request, 1),
+            Collections.singletonList(target)).getPath(target);
+        if (path != null) {
+          lines.add(Protocol.line(path.getVertexList().stream().map(Vertex::getName).toArray()));
+        }
+        return lines;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown command " + request[0]);
+    }
+  }
+
+  //fails for vertices of other regions, the search would throw on them anyway
+  private Vertex vertex(String[] request, int field) {
+    if (request.length <= field) {
+      throw new IllegalArgumentException("Missing vertex in " + request[0]);
+    }
+    Vertex vertex = new Vertex(request[field]);
+    compactGraph.getId(vertex);
+    return vertex;
+  }
+
+}
@@ -0,0 +1,144 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import lombok.Builder;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Seeded road networks that look like a city: a grid of streets with perturbed travel times and some closed cross
+ * streets, square ring roads around the centre and a few highways between distant intersections. Intersection
+ * {@code r3c7} is in row 3 and column 7. The same settings always give the same scenario.
+ */
+@Builder
+@Getter
+public class CityGenerator {
+
+  //share of FREE, BREAK, OCCUPIED and NOT_AVAILABLE ambulances
+  private static final AmbulanceStatus[] STATES = {AmbulanceStatus.FREE, AmbulanceStatus.BREAK,
+      AmbulanceStatus.OCCUPIED, AmbulanceStatus.NOT_AVAILABLE};
+  private static final double[] STATE_SHARES = {0.7, 0.1, 0.15, 0.05};
+
+  @Builder.Default
+  private final long seed = 1;
+  @Builder.Default
+  private final int rows = 100;
+  @Builder.Default
+  private final int columns = 100;
+  //travel time of one block is 1 +- jitter
+  @Builder.Default
+  private final double jitter = 0.3;
+  //share of north-south streets that are missing, the first column and ring roads stay open so the city is connected
+  @Builder.Default
+  private final double closedStreets = 0.1;
+  //blocks between two ring roads, 0 for none
+  @Builder.Default
+  private final int ringSpacing = 20;
+  @Builder.Default
+  private final double ringSpeedup = 0.5;
+  @Builder.Default
+  private final int highways = 4;
+  @Builder.Default
+  private final double highwaySpeedup = 0.3;
+  @Builder.Default
+  private final int ambulances = 50;
+  @Builder.Default
+  private final int hospitals = 5;
+
+  public Scenario generate() {
+    if (rows < 2 || columns < 2 || ambulances + hospitals > rows * columns) {
+      throw new IllegalArgumentException("City of " + rows + "x" + columns + " is too small");
+    }
+    Random random = new Random(seed);
+    Map<String, Vertex> vertices = new LinkedHashMap<>();
+    Vertex[][] grid = new Vertex[rows][columns];
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.buildGraph();
+    for (int row = 0; row < rows; ++row) {
+      for (int column = 0; column < columns; ++column) {
+        grid[row][column] = new Vertex("r" + row + "c" + column);
+        vertices.put(grid[row][column].getName(), grid[row][column]);
+        graph.addVertex(grid[row][column]);
+      }
+    }
+
+    for (int row = 0; row < rows; ++row) {
+      for (int column = 0; column < columns; ++column) {
+        if (column + 1 < columns) {
+          double speed = isRingRoad(row, column, row, column + 1) ? ringSpeedup : 1;
+          addStreet(graph, grid[row][column], grid[row][column + 1], speed * block(random));
+        }
+        boolean ringRoad = row + 1 < rows && isRingRoad(row, column, row + 1, column);
+        if (row + 1 < rows && (column == 0 || ringRoad || random.nextDouble() >= closedStreets)) {
+          double speed = ringRoad ? ringSpeedup : 1;
+          addStreet(graph, grid[row][column], grid[row + 1][column], speed * block(random));
+        }
+      }
+    }
+
+    for (int i = 0; i < highways; ++i) {
+      int fromRow = random.nextInt(rows);
+      int fromColumn = random.nextInt(columns);
+      int toRow = random.nextInt(rows);
+      int toColumn = random.nextInt(columns);
+      int blocks = Math.abs(fromRow - toRow) + Math.abs(fromColumn - toColumn);
+      if (blocks > 1 && !graph.containsEdge(grid[fromRow][fromColumn], grid[toRow][toColumn])) {
+        addStreet(graph, grid[fromRow][fromColumn], grid[toRow][toColumn], highwaySpeedup * blocks);
+      }
+    }
+
+    List<Vertex> places = new ArrayList<>(vertices.values());
+    Collections.shuffle(places, random);
+    Map<Vertex, Ambulance> placedAmbulances = new LinkedHashMap<>();
+    for (Vertex vertex : places.subList(0, ambulances)) {
+      placedAmbulances.put(vertex, new Ambulance(vertex.getName(), status(random)));
+    }
+    Map<Vertex, Hospital> placedHospitals = new LinkedHashMap<>();
+    for (Vertex vertex : places.subList(ambulances, ambulances + hospitals)) {
+      placedHospitals.put(vertex, new Hospital(vertex.getName()));
+    }
+    return new Scenario(new Network(vertices, graph), placedAmbulances, placedHospitals, grid, random);
+  }
+
+  //a street is part of a ring road if it runs along one side of a square ring around the centre
+  private boolean isRingRoad(int fromRow, int fromColumn, int toRow, int toColumn) {
+    int ring = ring(fromRow, fromColumn);
+    if (ringSpacing <= 0 || ring == 0 || ring % ringSpacing != 0 || ring != ring(toRow, toColumn)) {
+      return false;
+    }
+    return fromRow == toRow ? Math.abs(fromRow - rows / 2) == ring : Math.abs(fromColumn - columns / 2) == ring;
+  }
+
+  private int ring(int row, int column) {
+    return Math.max(Math.abs(row - rows / 2), Math.abs(column - columns / 2));
+  }
+
+  private double block(Random random) {
+    return 1 + jitter * (2 * random.nextDouble() - 1);
+  }
+
+  private static AmbulanceStatus status(Random random) {
+    double value = random.nextDouble();
+    for (int i = 0; i < STATES.length - 1; ++i) {
+      value -= STATE_SHARES[i];
+      if (value < 0) {
+        return STATES[i];
+      }
+    }
+    return STATES[STATES.length - 1];
+  }
+
+  private static void addStreet(Graph<Vertex, DefaultWeightedEdge> graph, Vertex from, Vertex to, double weight) {
+    graph.setEdgeWeight(graph.addEdge(from, to), weight);
+  }
+
+}
@@ -0,0 +1,303 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Binary road network: a header (magic, version, counts), a string table of vertex names, the CSR adjacency with
+ * weights and the ambulances and hospitals placed on the network. All numbers are little endian and every section
+ * starts 8 byte aligned. Loading maps the file and slices views into it, nothing is copied until the data is read.
+ */
+public class GraphSnapshot {
+
+  private static final int MAGIC = 0x414d5347;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 8 * Integer.BYTES;
+
+  private final ByteBuffer names;
+  private final IntBuffer nameOffsets;
+  private final IntBuffer offsets;
+  private final IntBuffer targets;
+  private final DoubleBuffer weights;
+  private final IntBuffer ambulances;
+  private final ByteBuffer ambulanceStates;
+  private final IntBuffer hospitals;
+
+  private GraphSnapshot(ByteBuffer buffer) {
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a graph snapshot");
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported snapshot version " + version);
+    }
+    int vertexCount = buffer.getInt();
+    int arcCount = buffer.getInt();
+    int nameBytes = buffer.getInt();
+    int ambulanceCount = buffer.getInt();
+    int hospitalCount = buffer.getInt();
+    buffer.getInt();
+    Layout layout = new Layout(vertexCount, arcCount, nameBytes, ambulanceCount, hospitalCount);
+    if (buffer.capacity() != layout.size) {
+      throw new IllegalArgumentException("Snapshot has " + buffer.capacity() + " bytes, expected " + layout.size);
+    }
+    nameOffsets = slice(buffer, layout.nameOffsets, (vertexCount + 1) * Integer.BYTES).asIntBuffer();
+    names = slice(buffer, layout.names, nameBytes);
+    offsets = slice(buffer, layout.offsets, (vertexCount + 1) * Integer.BYTES).asIntBuffer();
+    targets = slice(buffer, layout.targets, arcCount * Integer.BYTES).asIntBuffer();
+    weights = slice(buffer, layout.weights, arcCount * Double.BYTES).asDoubleBuffer();
+    ambulances = slice(buffer, layout.ambulances, ambulanceCount * Integer.BYTES).asIntBuffer();
+    ambulanceStates = slice(buffer, layout.ambulanceStates, ambulanceCount);
+    hospitals = slice(buffer, layout.hospitals, hospitalCount * Integer.BYTES).asIntBuffer();
+  }
+
+  public static GraphSnapshot load(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      //the mapping stays valid after the channel is closed
+      return new GraphSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read graph snapshot from " + file, e);
+    }
+  }
+
+  public static void write(Graph<Vertex, DefaultWeightedEdge> graph, Map<Vertex, Ambulance> ambulances,
+      Map<Vertex, Hospital> hospitals, Path file) {
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    int vertexCount = compactGraph.getVertexCount();
+    byte[][] encodedNames = new byte[vertexCount][];
+    int nameBytes = 0;
+    for (int vertex = 0; vertex < vertexCount; ++vertex) {
+      encodedNames[vertex] = compactGraph.getVertex(vertex).getName().getBytes(StandardCharsets.UTF_8);
+      nameBytes += encodedNames[vertex].length;
+    }
+    Layout layout = new Layout(vertexCount, compactGraph.getArcCount(), nameBytes, ambulances.size(), hospitals.size());
+    if (layout.size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Network too large for a snapshot");
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) layout.size).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(compactGraph.getArcCount()).putInt(nameBytes)
+        .putInt(ambulances.size()).putInt(hospitals.size()).putInt(0);
+    buffer.position(layout.nameOffsets);
+    int nameOffset = 0;
+    for (byte[] name : encodedNames) {
+      buffer.putInt(nameOffset);
+      nameOffset += name.length;
+    }
+    buffer.putInt(nameOffset);
+    buffer.position(layout.names);
+    for (byte[] name : encodedNames) {
+      buffer.put(name);
+    }
+    buffer.position(layout.offsets);
+    for (int vertex = 0; vertex < vertexCount; ++vertex) {
+      buffer.putInt(compactGraph.getFirstArc(vertex));
+    }
+    buffer.putInt(compactGraph.getArcCount());
+    buffer.position(layout.targets);
+    for (int arc = 0; arc < compactGraph.getArcCount(); ++arc) {
+      buffer.putInt(compactGraph.getTarget(arc));
+    }
+    buffer.position(layout.weights);
+    for (int arc = 0; arc < compactGraph.getArcCount(); ++arc) {
+      buffer.putDouble(compactGraph.getWeight(arc));
+    }
+    buffer.position(layout.ambulances);
+    ambulances.keySet().forEach(vertex -> buffer.putInt(compactGraph.getId(vertex)));
+    buffer.position(layout.ambulanceStates);
+    ambulances.values().forEach(ambulance -> buffer.put((byte) ambulance.getStatus().ordinal()));
+    buffer.position(layout.hospitals);
+    hospitals.keySet().forEach(vertex -> buffer.putInt(compactGraph.getId(vertex)));
+    buffer.rewind();
+
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        //only left over if writing or the move failed
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write graph snapshot to " + file, e);
+    }
+  }
+
+  public int getVertexCount() {
+    return offsets.limit() - 1;
+  }
+
+  public int getArcCount() {
+    return targets.limit();
+  }
+
+  public String getName(int vertex) {
+    int start = nameOffsets.get(vertex);
+    byte[] name = new byte[nameOffsets.get(vertex + 1) - start];
+    ((ByteBuffer) names.duplicate().position(start)).get(name);
+    return new String(name, StandardCharsets.UTF_8);
+  }
+
+  public int getFirstArc(int vertex) {
+    return offsets.get(vertex);
+  }
+
+  public int getEndArc(int vertex) {
+    return offsets.get(vertex + 1);
+  }
+
+  public int getTarget(int arc) {
+    return targets.get(arc);
+  }
+
+  public double getWeight(int arc) {
+    return weights.get(arc);
+  }
+
+  /**
+   * Routes directly on the mapped arcs and weights, only the vertex names are decoded. A JGraphT graph is built on
+   * the first path that is asked for, see {@link CompactGraph#wrap}.
+   */
+  public CompactGraph toCompactGraph() {
+    Vertex[] vertices = new Vertex[getVertexCount()];
+    for (int vertex = 0; vertex < vertices.length; ++vertex) {
+      vertices[vertex] = new Vertex(getName(vertex));
+    }
+    return CompactGraph.wrap(vertices, offsets.duplicate(), targets.duplicate(), weights.duplicate());
+  }
+
+  public Map<Vertex, Ambulance> getAmbulances(CompactGraph compactGraph) {
+    AmbulanceStatus[] states = AmbulanceStatus.values();
+    Map<Vertex, Ambulance> result = new LinkedHashMap<>();
+    for (int i = 0; i < ambulances.limit(); ++i) {
+      Vertex vertex = compactGraph.getVertex(ambulances.get(i));
+      result.put(vertex, new Ambulance(vertex.getName(), states[ambulanceStates.get(i)]));
+    }
+    return result;
+  }
+
+  public Map<Vertex, Hospital> getHospitals(CompactGraph compactGraph) {
+    Map<Vertex, Hospital> result = new LinkedHashMap<>();
+    for (int i = 0; i < hospitals.limit(); ++i) {
+      Vertex vertex = compactGraph.getVertex(hospitals.get(i));
+      result.put(vertex, new Hospital(vertex.getName()));
+    }
+    return result;
+  }
+
+  //builds the vertices and the JGraphT graph, every undirected edge is stored as two arcs and added once
+  public Network toNetwork() {
+    int vertexCount = getVertexCount();
+    Vertex[] vertices = new Vertex[vertexCount];
+    Map<String, Vertex> byName = new LinkedHashMap<>();
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.buildGraph();
+    for (int vertex = 0; vertex < vertexCount; ++vertex) {
+      vertices[vertex] = new Vertex(getName(vertex));
+      byName.put(vertices[vertex].getName(), vertices[vertex]);
+      graph.addVertex(vertices[vertex]);
+    }
+    for (int vertex = 0; vertex < vertexCount; ++vertex) {
+      for (int arc = getFirstArc(vertex); arc < getEndArc(vertex); ++arc) {
+        int target = getTarget(arc);
+        if (vertex < target) {
+          graph.setEdgeWeight(graph.addEdge(vertices[vertex], vertices[target]), getWeight(arc));
+        }
+      }
+    }
+    return new Network(byName, graph);
+  }
+
+  public Map<Vertex, Ambulance> getAmbulances(Network network) {
+    AmbulanceStatus[] states = AmbulanceStatus.values();
+    Map<Vertex, Ambulance> result = new HashMap<>();
+    for (int i = 0; i < ambulances.limit(); ++i) {
+      String name = getName(ambulances.get(i));
+      result.put(network.getVertices().get(name), new Ambulance(name, states[ambulanceStates.get(i)]));
+    }
+    return result;
+  }
+
+  public Map<Vertex, Hospital> getHospitals(Network network) {
+    Map<Vertex, Hospital> result = new HashMap<>();
+    for (int i = 0; i < hospitals.limit(); ++i) {
+      String name = getName(hospitals.get(i));
+      result.put(network.getVertices().get(name), new Hospital(name));
+    }
+    return result;
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+    ByteBuffer slice = ((ByteBuffer) buffer.duplicate().position(position)).slice();
+    slice.limit(length);
+    return slice.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Section positions for the given counts.
+   */
+  private static class Layout {
+
+    private final int nameOffsets;
+    private final int names;
+    private final int offsets;
+    private final int targets;
+    private final int weights;
+    private final int ambulances;
+    private final int ambulanceStates;
+    private final int hospitals;
+    private final long size;
+
+    private Layout(int vertexCount, int arcCount, int nameBytes, int ambulanceCount, int hospitalCount) {
+      long position = HEADER_BYTES;
+      nameOffsets = (int) position;
+      position = align(position + (vertexCount + 1L) * Integer.BYTES);
+      names = (int) position;
+      position = align(position + nameBytes);
+      offsets = (int) position;
+      position = align(position + (vertexCount + 1L) * Integer.BYTES);
+      targets = (int) position;
+      position = align(position + (long) arcCount * Integer.BYTES);
+      weights = (int) position;
+      position = align(position + (long) arcCount * Double.BYTES);
+      ambulances = (int) position;
+      position = align(position + (long) ambulanceCount * Integer.BYTES);
+      ambulanceStates = (int) position;
+      position = align(position + ambulanceCount);
+      hospitals = (int) position;
+      size = align(position + (long) hospitalCount * Integer.BYTES);
+    }
+
+    private static long align(long position) {
+      return (position + 7) & ~7L;
+    }
+  }
+
+}
@@ -1,10 +1,9 @@
 package at.fhooe.ams.util;
 
-import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.graph.CompactGraph;
 import at.fhooe.ams.model.Ambulance;
 import at.fhooe.ams.model.Hospital;
 import at.fhooe.ams.model.Vertex;
-import java.util.Map;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import org.jgrapht.Graph;
@@ -15,18 +14,6 @@ import org.jgrapht.graph.GraphWalk;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class GraphUtil {
 
-  public static void setParams(Graph<Vertex, DefaultWeightedEdge> graph, Map<Vertex, Ambulance> ambulances, Map<Vertex, Hospital> hospital, Map<Vertex, Accident> accidents) {
-    graph.vertexSet().forEach(vertex -> {
-      if(ambulances.containsKey(vertex)) {
-        vertex.setAmbulance(ambulances.get(vertex));
-      } else if (hospital.containsKey(vertex)) {
-        vertex.setHospital(hospital.get(vertex));
-      } else if (accidents.containsKey(vertex)) {
-        vertex.setAccident(accidents.get(vertex));
-      }
-    });
-  }
-
   public static GraphPath<Vertex, DefaultWeightedEdge> mergeHospitalPath(GraphPath<Vertex, DefaultWeightedEdge> path,
       GraphPath<Vertex, DefaultWeightedEdge> vertexDefaultWeightedEdgeGraphPath) {
     GraphWalk<Vertex, DefaultWeightedEdge> current = (GraphWalk<Vertex, DefaultWeightedEdge>)path;
@@ -35,8 +22,44 @@ public class GraphUtil {
     return  other.concat(current, g -> totalWeight);
   }
 
-  public static void addBreakTime(GraphPath<Vertex, DefaultWeightedEdge> path) {
-    ((GraphWalk<Vertex, DefaultWeightedEdge>)path).setWeight(path.getWeight() + Ambulance.BREAK_DURATION);
+  public static long fingerprint(Graph<Vertex, DefaultWeightedEdge> graph) {
+    return fingerprint(CompactGraph.of(graph));
+  }
+
+  //FNV-1a over vertex order, arc targets and weights, changes whenever a stored vertex id would change
+  public static long fingerprint(CompactGraph graph) {
+    long hash = 0xcbf29ce484222325L;
+    for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex) {
+      hash = fingerprint(hash, graph.getVertex(vertex).getName());
+    }
+    for (int vertex = 0; vertex < graph.getVertexCount(); ++vertex) {
+      for (int arc = graph.getFirstArc(vertex); arc < graph.getEndArc(vertex); ++arc) {
+        hash = fingerprint(hash, graph.getTarget(arc));
+        hash = fingerprint(hash, Double.doubleToLongBits(graph.getWeight(arc)));
+      }
+    }
+    return hash;
+  }
+
+  private static long fingerprint(long hash, String value) {
+    for (int i = 0; i < value.length(); ++i) {
+      hash = fingerprint(hash, value.charAt(i));
+    }
+    return fingerprint(hash, value.length());
+  }
+
+  private static long fingerprint(long hash, long value) {
+    for (int i = 0; i < Long.BYTES; ++i) {
+      hash ^= (value >>> (i * Byte.SIZE)) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  //returns a new path, the given one may be shared with other dispatches
+  public static GraphPath<Vertex, DefaultWeightedEdge> addBreakTime(GraphPath<Vertex, DefaultWeightedEdge> path) {
+    return new GraphWalk<>(path.getGraph(), path.getStartVertex(), path.getEndVertex(), path.getVertexList(),
+        path.getEdgeList(), path.getWeight() + Ambulance.BREAK_DURATION);
   }
 
 }
@@ -0,0 +1,143 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.algorithm.LandmarkHeuristic;
+import at.fhooe.ams.algorithm.LandmarkSelection;
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Binary landmark tables: a header (magic, version, graph fingerprint, selection, counts), the landmark vertex
+ * ids and one distance table per landmark in {@link CompactGraph} id order, which is the {@code vertexSet()} order. Tables are memory-mapped on load.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LandmarkStore {
+
+  private static final int MAGIC = 0x414d534c;
+  //version 2 fingerprints the compact graph, so files of mapped snapshots and of parsed networks agree
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+  public static LandmarkHeuristic loadOrBuild(Graph<Vertex, DefaultWeightedEdge> graph, Path file, int landmarkCount,
+      LandmarkSelection selection) {
+    return loadOrBuild(CompactGraph.of(graph), file, landmarkCount, selection);
+  }
+
+  public static LandmarkHeuristic loadOrBuild(CompactGraph graph, Path file, int landmarkCount,
+      LandmarkSelection selection) {
+    LandmarkHeuristic heuristic = load(graph, file, landmarkCount, selection);
+    if (heuristic == null) {
+      heuristic = new LandmarkHeuristic(graph, landmarkCount, selection, LandmarkHeuristic.DEFAULT_SEED);
+      write(graph, heuristic, selection, file);
+    }
+    return heuristic;
+  }
+
+  public static LandmarkHeuristic load(Graph<Vertex, DefaultWeightedEdge> graph, Path file, int landmarkCount,
+      LandmarkSelection selection) {
+    return load(CompactGraph.of(graph), file, landmarkCount, selection);
+  }
+
+  //returns null if the file is missing, from another version or was built for a different graph or configuration
+  public static LandmarkHeuristic load(CompactGraph graph, Path file, int landmarkCount, LandmarkSelection selection) {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    long start = System.currentTimeMillis();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES) {
+        return null;
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      int vertexCount = graph.getVertexCount();
+      int expectedLandmarks = Math.min(landmarkCount, vertexCount);
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != GraphUtil.fingerprint(graph)
+          || buffer.getInt() != selection.ordinal() || buffer.getInt() != vertexCount || buffer.getInt() != expectedLandmarks) {
+        return null;
+      }
+      long expectedSize = HEADER_BYTES + (long) expectedLandmarks * Integer.BYTES
+          + (long) expectedLandmarks * vertexCount * Double.BYTES;
+      if (channel.size() != expectedSize) {
+        return null;
+      }
+
+      List<Vertex> landmarks = new ArrayList<>();
+      for (int i = 0; i < expectedLandmarks; ++i) {
+        landmarks.add(graph.getVertex(buffer.getInt()));
+      }
+      List<DoubleBuffer> distances = new ArrayList<>();
+      for (int i = 0; i < expectedLandmarks; ++i) {
+        ByteBuffer table = buffer.slice();
+        table.limit(vertexCount * Double.BYTES);
+        distances.add(table.asDoubleBuffer());
+        buffer.position(buffer.position() + vertexCount * Double.BYTES);
+      }
+      return new LandmarkHeuristic(graph, landmarks, distances, System.currentTimeMillis() - start);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read landmark tables from " + file, e);
+    }
+  }
+
+  public static void write(Graph<Vertex, DefaultWeightedEdge> graph, LandmarkHeuristic heuristic, LandmarkSelection selection,
+      Path file) {
+    write(CompactGraph.of(graph), heuristic, selection, file);
+  }
+
+  public static void write(CompactGraph graph, LandmarkHeuristic heuristic, LandmarkSelection selection, Path file) {
+    List<Vertex> landmarks = heuristic.getLandmarks();
+    int vertexCount = graph.getVertexCount();
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + landmarks.size() * Integer.BYTES);
+    buffer.putInt(MAGIC).putInt(VERSION).putLong(GraphUtil.fingerprint(graph))
+        .putInt(selection.ordinal()).putInt(vertexCount).putInt(landmarks.size());
+    for (Vertex landmark : landmarks) {
+      buffer.putInt(graph.getId(landmark));
+    }
+    buffer.flip();
+
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+          writeFully(channel, buffer);
+          ByteBuffer table = ByteBuffer.allocate(vertexCount * Double.BYTES);
+          for (int i = 0; i < landmarks.size(); ++i) {
+            table.clear();
+            table.asDoubleBuffer().put(heuristic.getDistances(i));
+            writeFully(channel, table);
+          }
+        }
+        //replace atomically so a concurrent reader never maps a half written file
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        //only left over if writing or the move failed
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write landmark tables to " + file, e);
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+}
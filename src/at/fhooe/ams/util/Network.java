@@ -0,0 +1,20 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.model.Vertex;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Road network read by {@link NetworkLoader}, the vertices by name and the weighted graph over them.
+ */
+@AllArgsConstructor
+@Getter
+public class Network {
+
+  private final Map<String, Vertex> vertices;
+  private final Graph<Vertex, DefaultWeightedEdge> graph;
+
+}
@@ -0,0 +1,169 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.model.Vertex;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Streams a road network from an edge file and a weight file written in the notation of the command line, e.g.
+ * {@code { {a,b}, {b,c} }} and {@code {2, 1}}. Braces, commas and whitespace only separate tokens, so one edge per line
+ * works as well. Both files are read side by side in one pass, vertices are created when they first show up.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NetworkLoader {
+
+  private static final int BUFFER_BYTES = 64 * 1024;
+
+  public static Network load(Path edgeFile, Path weightFile) {
+    try (FileChannel edges = FileChannel.open(edgeFile, StandardOpenOption.READ);
+        FileChannel weights = FileChannel.open(weightFile, StandardOpenOption.READ)) {
+      return load(edges, weights);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read network from " + edgeFile + " and " + weightFile, e);
+    }
+  }
+
+  public static Network load(ReadableByteChannel edgeChannel, ReadableByteChannel weightChannel) throws IOException {
+    Map<String, Vertex> vertices = new LinkedHashMap<>();
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.buildGraph();
+    Tokenizer edges = new Tokenizer(edgeChannel);
+    Tokenizer weights = new Tokenizer(weightChannel);
+    int count = 0;
+    while (edges.next()) {
+      Vertex source = vertex(graph, vertices, edges.text());
+      if (!edges.next()) {
+        throw new IllegalArgumentException("Edge " + (count + 1) + " has no second vertex");
+      }
+      Vertex target = vertex(graph, vertices, edges.text());
+      if (!weights.next()) {
+        throw new IllegalArgumentException("Missing weight for edge " + (count + 1));
+      }
+      double weight = weights.number();
+      DefaultWeightedEdge edge = graph.addEdge(source, target);
+      if (edge == null) {
+        throw new IllegalArgumentException("Duplicate edge {" + source.getName() + "," + target.getName() + "}");
+      }
+      graph.setEdgeWeight(edge, weight);
+      ++count;
+    }
+    if (weights.next()) {
+      throw new IllegalArgumentException("More weights than the " + count + " edges");
+    }
+    return new Network(vertices, graph);
+  }
+
+  private static Vertex vertex(Graph<Vertex, DefaultWeightedEdge> graph, Map<String, Vertex> vertices, String name) {
+    Vertex vertex = vertices.get(name);
+    if (vertex == null) {
+      vertex = new Vertex(name);
+      vertices.put(name, vertex);
+      graph.addVertex(vertex);
+    }
+    return vertex;
+  }
+
+  /**
+   * Splits a channel into tokens on braces, commas and whitespace. The bytes of the current token are kept in a reused
+   * array, strings are only created for vertex names.
+   */
+  private static class Tokenizer {
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+        1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private byte[] token = new byte[64];
+    private int length;
+    private boolean endOfInput;
+
+    private Tokenizer(ReadableByteChannel channel) {
+      this.channel = channel;
+      buffer.flip();
+    }
+
+    private boolean next() throws IOException {
+      length = 0;
+      while (true) {
+        if (!buffer.hasRemaining() && !fill()) {
+          return length > 0;
+        }
+        byte current = buffer.get();
+        if (isSeparator(current)) {
+          if (length > 0) {
+            return true;
+          }
+        } else {
+          if (length == token.length) {
+            token = Arrays.copyOf(token, length * 2);
+          }
+          token[length++] = current;
+        }
+      }
+    }
+
+    private String text() {
+      return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    //plain decimals with up to 15 digits are exact when divided by a power of ten, anything else goes to the JDK
+    private double number() {
+      long mantissa = 0;
+      int digits = 0;
+      int fraction = -1;
+      int start = token[0] == '-' ? 1 : 0;
+      for (int i = start; i < length; ++i) {
+        byte current = token[i];
+        if (current == '.' && fraction < 0) {
+          fraction = 0;
+        } else if (current >= '0' && current <= '9' && digits < 15) {
+          mantissa = mantissa * 10 + (current - '0');
+          ++digits;
+          if (fraction >= 0) {
+            ++fraction;
+          }
+        } else {
+          return Double.parseDouble(text());
+        }
+      }
+      if (digits == 0) {
+        return Double.parseDouble(text());
+      }
+      double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+      return start == 1 ? -value : value;
+    }
+
+    private boolean fill() throws IOException {
+      if (endOfInput) {
+        return false;
+      }
+      buffer.clear();
+      int read = 0;
+      while (read == 0) {
+        read = channel.read(buffer);
+      }
+      buffer.flip();
+      endOfInput = read < 0;
+      return read > 0;
+    }
+
+    private static boolean isSeparator(byte current) {
+      return current == '{' || current == '}' || current == ',' || current == ' ' || current == '\n' || current == '\r'
+          || current == '\t';
+    }
+  }
+
+}
@@ -1,6 +1,9 @@
 package at.fhooe.ams.util;
 
 
+import at.fhooe.ams.algorithm.ContractionHierarchy;
+import at.fhooe.ams.algorithm.LandmarkHeuristic;
+import at.fhooe.ams.algorithm.LandmarkSelection;
 import at.fhooe.ams.model.Accident;
 import at.fhooe.ams.model.Ambulance;
 import at.fhooe.ams.model.AmbulanceStatus;
@@ -16,7 +19,6 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
-import org.jgrapht.alg.shortestpath.ALTAdmissibleHeuristic;
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
@@ -37,7 +39,7 @@ public class Parser {
     return graph;
   }
 
-  private static Graph<Vertex, DefaultWeightedEdge> buildGraph() {
+  static Graph<Vertex, DefaultWeightedEdge> buildGraph() {
     return GraphTypeBuilder
         .<Vertex, DefaultWeightedEdge> undirected()
         .allowingMultipleEdges(false)
@@ -118,7 +120,16 @@ public class Parser {
   }
 
   public static AStarAdmissibleHeuristic<Vertex> createHeuristic(Graph<Vertex, DefaultWeightedEdge> graph) {
-    return new ALTAdmissibleHeuristic<>(graph, graph.vertexSet());
+    return createHeuristic(graph, LandmarkHeuristic.DEFAULT_LANDMARK_COUNT, LandmarkSelection.FARTHEST);
+  }
+
+  public static LandmarkHeuristic createHeuristic(Graph<Vertex, DefaultWeightedEdge> graph, int landmarkCount,
+      LandmarkSelection selection) {
+    return new LandmarkHeuristic(graph, landmarkCount, selection);
+  }
+
+  public static ContractionHierarchy createContractionHierarchy(Graph<Vertex, DefaultWeightedEdge> graph) {
+    return new ContractionHierarchy(graph);
   }
 
 }
@@ -0,0 +1,48 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Generated city with its ambulances and hospitals. Accidents come in bursts around a random intersection, drawn from
+ * the generator's seeded random numbers, so replaying a scenario gives the same bursts in the same order.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class Scenario {
+
+  @Getter
+  private final Network network;
+  @Getter
+  private final Map<Vertex, Ambulance> ambulances;
+  @Getter
+  private final Map<Vertex, Hospital> hospitals;
+  private final Vertex[][] grid;
+  private final Random random;
+
+  //up to count accidents at distinct intersections at most radius blocks away from the centre of the burst
+  public Map<Vertex, Accident> nextAccidents(int count, int radius) {
+    int rows = grid.length;
+    int columns = grid[0].length;
+    int centreRow = random.nextInt(rows);
+    int centreColumn = random.nextInt(columns);
+    int area = (Math.min(rows - 1, centreRow + radius) - Math.max(0, centreRow - radius) + 1)
+        * (Math.min(columns - 1, centreColumn + radius) - Math.max(0, centreColumn - radius) + 1);
+    Map<Vertex, Accident> accidents = new LinkedHashMap<>();
+    while (accidents.size() < Math.min(count, area)) {
+      int row = Math.max(0, Math.min(rows - 1, centreRow + random.nextInt(2 * radius + 1) - radius));
+      int column = Math.max(0, Math.min(columns - 1, centreColumn + random.nextInt(2 * radius + 1) - radius));
+      Vertex vertex = grid[row][column];
+      accidents.putIfAbsent(vertex, new Accident(vertex.getName()));
+    }
+    return accidents;
+  }
+
+}
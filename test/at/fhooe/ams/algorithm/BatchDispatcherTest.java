@@ -0,0 +1,59 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Scenario;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BatchDispatcherTest {
+
+  private final static double DELTA = 0.0001;
+
+  @Test
+  void matchesSingleDispatchInInputOrder() {
+    Scenario city = CityGenerator.builder().seed(11).rows(20).columns(20).ambulances(12).hospitals(3).build().generate();
+    Graph<Vertex, DefaultWeightedEdge> graph = city.getNetwork().getGraph();
+    List<DispatchScenario> scenarios = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      //every other scenario sends all ambulances from the hospital run
+      Map<Vertex, Ambulance> ambulances = new LinkedHashMap<>(city.getAmbulances());
+      if (i % 2 == 1) {
+        ambulances.replaceAll((position, ambulance) -> new Ambulance(ambulance.getName(), AmbulanceStatus.OCCUPIED));
+      }
+      scenarios.add(new DispatchScenario(ambulances, city.getHospitals(), city.nextAccidents(1 + i % 4, 3)));
+    }
+
+    List<Assignment> sequential;
+    List<Assignment> parallel;
+    try (BatchDispatcher dispatcher = new BatchDispatcher(graph, DispatchOptions.DEFAULT)) {
+      sequential = dispatcher.dispatch(scenarios.stream()).collect(Collectors.toList());
+    }
+    try (BatchDispatcher dispatcher = new BatchDispatcher(graph, DispatchOptions.builder().parallelism(4).build())) {
+      parallel = dispatcher.dispatch(scenarios.stream()).collect(Collectors.toList());
+    }
+
+    Assertions.assertEquals(scenarios.size(), sequential.size());
+    Assertions.assertEquals(scenarios.size(), parallel.size());
+    for (int i = 0; i < scenarios.size(); ++i) {
+      DispatchScenario scenario = scenarios.get(i);
+      Assignment expected = GraphController.getAssignment(graph, scenario.getAmbulances(), scenario.getHospitals(),
+          scenario.getAccidents(), DispatchOptions.DEFAULT);
+      Assertions.assertEquals(expected.getTotalResponseTime(), sequential.get(i).getTotalResponseTime(), DELTA);
+      Assertions.assertEquals(expected.getTotalResponseTime(), parallel.get(i).getTotalResponseTime(), DELTA);
+      for (Vertex accident : scenario.getAccidents().keySet()) {
+        Assertions.assertEquals(expected.getAmbulance(accident), parallel.get(i).getAmbulance(accident));
+      }
+    }
+  }
+
+}
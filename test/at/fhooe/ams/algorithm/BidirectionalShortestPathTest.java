@@ -0,0 +1,89 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Parser;
+import java.util.Map;
+import java.util.Random;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BidirectionalShortestPathTest {
+
+  private final static double DELTA = 0.0001;
+  private final static int PAIRS = 200;
+
+  @Test
+  void costsMatchDijkstraWithAndWithoutHeuristic() {
+    Graph<Vertex, DefaultWeightedEdge> graph = CityGenerator.builder().seed(3).rows(30).columns(30).closedStreets(0.1)
+        .build().generate().getNetwork().getGraph();
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    BidirectionalShortestPath landmarks = new BidirectionalShortestPath(compactGraph,
+        new LandmarkHeuristic(compactGraph, 8, LandmarkSelection.FARTHEST, LandmarkHeuristic.DEFAULT_SEED));
+    BidirectionalShortestPath plain = new BidirectionalShortestPath(compactGraph, null);
+    Random random = new Random(7);
+
+    for (int i = 0; i < PAIRS; ++i) {
+      Vertex source = compactGraph.getVertex(random.nextInt(compactGraph.getVertexCount()));
+      Vertex target = compactGraph.getVertex(random.nextInt(compactGraph.getVertexCount()));
+      double expected = dijkstra.getPathWeight(source, target);
+      for (BidirectionalShortestPath search : new BidirectionalShortestPath[]{landmarks, plain}) {
+        GraphPath<Vertex, DefaultWeightedEdge> path = search.getPath(source, target);
+        if (expected == Double.POSITIVE_INFINITY) {
+          Assertions.assertNull(path);
+          continue;
+        }
+        Assertions.assertEquals(expected, path.getWeight(), DELTA);
+        Assertions.assertEquals(source, path.getStartVertex());
+        Assertions.assertEquals(target, path.getEndVertex());
+        Assertions.assertEquals(path.getVertexList().size() - 1, path.getEdgeList().size());
+      }
+    }
+  }
+
+  @Test
+  void settlesFewerVerticesThanOneDirection() {
+    Graph<Vertex, DefaultWeightedEdge> graph = CityGenerator.builder().seed(3).rows(30).columns(30).build().generate()
+        .getNetwork().getGraph();
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    OneToManyShortestPath forward = new OneToManyShortestPath(compactGraph, null);
+    BidirectionalShortestPath bidirectional = new BidirectionalShortestPath(compactGraph, null);
+    Random random = new Random(7);
+    long forwardSettled = 0;
+    long bidirectionalSettled = 0;
+
+    for (int i = 0; i < PAIRS; ++i) {
+      int source = random.nextInt(compactGraph.getVertexCount());
+      int target = random.nextInt(compactGraph.getVertexCount());
+      ShortestPathTree expected = forward.search(source, new int[]{target});
+      forwardSettled += forward.getSettledVertices();
+      ShortestPathTree actual = bidirectional.search(source, target);
+      bidirectionalSettled += bidirectional.getSettledVertices();
+      Assertions.assertEquals(expected.getWeight(target), actual.getWeight(target), DELTA);
+    }
+    Assertions.assertTrue(bidirectionalSettled < forwardSettled,
+        bidirectionalSettled + " settled, one direction " + forwardSettled);
+  }
+
+  @Test
+  void sameSourceAndUnreachableTarget() {
+    String edges = "{ {a,b}, {c,d} }";
+    Map<String, Vertex> vertices = Parser.parseVertices(edges);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices,
+        Parser.parseEdges(edges, vertices), Parser.parseWeights("{3, 1}"));
+    BidirectionalShortestPath search = new BidirectionalShortestPath(graph, Parser.createHeuristic(graph));
+
+    GraphPath<Vertex, DefaultWeightedEdge> path = search.getPath(vertices.get("a"), vertices.get("a"));
+
+    Assertions.assertEquals(0.0, path.getWeight());
+    Assertions.assertEquals(1, path.getVertexList().size());
+    Assertions.assertNull(search.getPath(vertices.get("a"), vertices.get("d")));
+  }
+
+}
@@ -0,0 +1,67 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ContractionHierarchyTest {
+
+  private final static double DELTA = 0.0001;
+
+  private Map<String, Vertex> vertices;
+
+  private Graph<Vertex, DefaultWeightedEdge> createGraph() {
+    String inputEdges = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h}, {k,l} }";
+    String inputWeights = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1, 1}";
+    vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+    return Parser.parseUndirectedWeightedGraph(vertices, edges, weights);
+  }
+
+  @Test
+  void queriesMatchDijkstra() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    ContractionHierarchy hierarchy = Parser.createContractionHierarchy(graph);
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+
+    for (Vertex source : graph.vertexSet()) {
+      for (Vertex target : graph.vertexSet()) {
+        double expected = dijkstra.getPathWeight(source, target);
+        GraphPath<Vertex, DefaultWeightedEdge> path = GraphController.getShortestPath(hierarchy, source, target);
+        Assertions.assertEquals(expected, hierarchy.getWeight(source, target), DELTA);
+        if (expected == Double.POSITIVE_INFINITY) {
+          Assertions.assertNull(path);
+          continue;
+        }
+        //unpacked paths consist of original edges only
+        Assertions.assertEquals(source, path.getStartVertex());
+        Assertions.assertEquals(target, path.getEndVertex());
+        Assertions.assertEquals(expected, path.getEdgeList().stream().mapToDouble(graph::getEdgeWeight).sum(), DELTA);
+        Assertions.assertEquals(expected, path.getWeight(), DELTA);
+      }
+    }
+  }
+
+  @Test
+  void reportCountsShortcuts() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    ContractionHierarchy hierarchy = Parser.createContractionHierarchy(graph);
+
+    ContractionReport report = hierarchy.report(10, null);
+
+    Assertions.assertEquals(12, report.getVertexCount());
+    Assertions.assertEquals(17, report.getEdgeCount());
+    Assertions.assertEquals(hierarchy.getShortcutCount(), report.getShortcutCount());
+    Assertions.assertTrue(report.getAverageQueryMicros() > 0.0);
+  }
+
+}
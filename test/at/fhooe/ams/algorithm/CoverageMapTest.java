@@ -0,0 +1,98 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Scenario;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CoverageMapTest {
+
+  private final static double DELTA = 0.0001;
+  private final static double LIMIT = 12.0;
+
+  @Test
+  void responseTimesMatchDijkstra() {
+    Scenario city = CityGenerator.builder().seed(9).rows(15).columns(15).ambulances(10).hospitals(2).build().generate();
+    Graph<Vertex, DefaultWeightedEdge> graph = city.getNetwork().getGraph();
+    CoverageMap coverage = new CoverageMap(graph, city.getAmbulances(), LIMIT);
+
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    int covered = 0;
+    for (Vertex vertex : graph.vertexSet()) {
+      double expected = Double.POSITIVE_INFINITY;
+      for (Map.Entry<Vertex, Ambulance> entry : city.getAmbulances().entrySet()) {
+        if (AmbulanceStatus.FREE.equals(entry.getValue().getStatus())) {
+          expected = Math.min(expected, dijkstra.getPathWeight(entry.getKey(), vertex));
+        }
+      }
+      if (expected <= LIMIT) {
+        ++covered;
+        Assertions.assertTrue(coverage.isCovered(vertex));
+        Assertions.assertEquals(expected, coverage.getResponseTime(vertex), DELTA);
+        Assertions.assertEquals(expected, dijkstra.getPathWeight(coverage.getAmbulance(vertex), vertex), DELTA);
+      } else {
+        Assertions.assertFalse(coverage.isCovered(vertex));
+        Assertions.assertTrue(coverage.getUncovered().contains(vertex));
+      }
+    }
+    Assertions.assertEquals(covered, coverage.getCoveredCount());
+    Assertions.assertEquals(covered, coverage.getCovered().size());
+  }
+
+  //every single status change has to leave the same labels as a map computed from scratch
+  @Test
+  void statusChangesMatchFullSearch() {
+    Scenario city = CityGenerator.builder().seed(21).rows(25).columns(25).ambulances(20).hospitals(2).build()
+        .generate();
+    CompactGraph compactGraph = CompactGraph.of(city.getNetwork().getGraph());
+    Map<Vertex, Ambulance> ambulances = new LinkedHashMap<>(city.getAmbulances());
+    CoverageMap coverage = new CoverageMap(compactGraph, ambulances, LIMIT, null);
+    List<Vertex> positions = new ArrayList<>(ambulances.keySet());
+    AmbulanceStatus[] states = AmbulanceStatus.values();
+
+    for (int step = 0; step < 60; ++step) {
+      Vertex position = positions.get((step * 7) % positions.size());
+      AmbulanceStatus status = states[(step * 3) % states.length];
+      ambulances.put(position, new Ambulance(position.getName(), status));
+      coverage.setAmbulanceStatus(position, status);
+      assertSameCoverage(new CoverageMap(compactGraph, ambulances, LIMIT, null), coverage, compactGraph);
+      Assertions.assertTrue(coverage.getUpdatedVertices() < compactGraph.getVertexCount());
+    }
+  }
+
+  @Test
+  void parallelSearchMatchesSequential() {
+    Scenario city = CityGenerator.builder().seed(4).rows(30).columns(30).ambulances(25).hospitals(2).build()
+        .generate();
+    CompactGraph compactGraph = CompactGraph.of(city.getNetwork().getGraph());
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertSameCoverage(new CoverageMap(compactGraph, city.getAmbulances(), LIMIT, null),
+          new CoverageMap(compactGraph, city.getAmbulances(), LIMIT, pool), compactGraph);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void assertSameCoverage(CoverageMap expected, CoverageMap actual, CompactGraph compactGraph) {
+    Assertions.assertEquals(expected.getCoveredCount(), actual.getCoveredCount());
+    for (int id = 0; id < compactGraph.getVertexCount(); ++id) {
+      Vertex vertex = compactGraph.getVertex(id);
+      Assertions.assertEquals(expected.getResponseTime(vertex), actual.getResponseTime(vertex), DELTA);
+      Assertions.assertEquals(expected.getAmbulance(vertex), actual.getAmbulance(vertex));
+    }
+  }
+
+}
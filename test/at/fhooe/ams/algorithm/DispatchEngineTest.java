@@ -0,0 +1,207 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.GraphUtil;
+import at.fhooe.ams.util.Parser;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DispatchEngineTest {
+
+  private final static double DELTA = 0.0001;
+  private final static String EDGES = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+
+  private Map<String, Vertex> vertices;
+  private DispatchEngine engine;
+
+  @BeforeEach
+  void createEngine() {
+    vertices = Parser.parseVertices(EDGES);
+    engine = createEngine(vertices, "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}");
+  }
+
+  private static DispatchEngine createEngine(Map<String, Vertex> vertices, String inputWeights) {
+    return createEngine(vertices, inputWeights, DispatchOptions.DEFAULT);
+  }
+
+  private static DispatchEngine createEngine(Map<String, Vertex> vertices, String inputWeights, DispatchOptions options) {
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(EDGES, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+    DispatchEngine engine = new DispatchEngine(vertices, edges, weights, options);
+    engine.putAmbulance(vertices.get("b"), new Ambulance("b", AmbulanceStatus.OCCUPIED));
+    engine.putAmbulance(vertices.get("e"), new Ambulance("e", AmbulanceStatus.FREE));
+    engine.putHospital(vertices.get("d"), new Hospital("d"));
+    engine.openAccident(vertices.get("i"), new Accident("i"));
+    return engine;
+  }
+
+  @Test
+  void firstDispatchSearchesEveryAmbulance() {
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(2, engine.getRecomputedRows());
+    Assertions.assertEquals(1, paths.size());
+    assertPath(paths, "i", "[{ e }, { d }, { f }, { g }, { i }]", 10.0);
+  }
+
+  @Test
+  void repeatedDispatchReusesSearches() {
+    engine.dispatch();
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(0, engine.getRecomputedRows());
+    assertPath(paths, "i", "[{ e }, { d }, { f }, { g }, { i }]", 10.0);
+  }
+
+  @Test
+  void breakOnlyChangesPenalty() {
+    engine.dispatch();
+    engine.setAmbulanceStatus(vertices.get("e"), AmbulanceStatus.BREAK);
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(0, engine.getRecomputedRows());
+    assertPath(paths, "i", "[{ e }, { d }, { f }, { g }, { i }]", 11.0);
+  }
+
+  @Test
+  void movedAmbulanceIsRecomputedAlone() {
+    engine.dispatch();
+    engine.moveAmbulance(vertices.get("e"), vertices.get("h"));
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(1, engine.getRecomputedRows());
+    assertPath(paths, "i", "[{ h }, { i }]", 2.0);
+    Assertions.assertEquals("e", engine.getRoles().getAmbulance(vertices.get("h")).getName());
+    Assertions.assertNull(engine.getRoles().getAmbulance(vertices.get("e")));
+  }
+
+  @Test
+  void openedAndClosedAccidents() {
+    engine.dispatch();
+    engine.closeAccident(vertices.get("i"));
+    engine.openAccident(vertices.get("c"), new Accident("c"));
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(1, paths.size());
+    assertPath(paths, "c", "[{ e }, { d }, { c }]", 3.0);
+  }
+
+  @Test
+  void hospitalWithoutCapacityIsSkipped() {
+    engine.putHospital(vertices.get("j"), new Hospital("j"));
+    engine.setAmbulanceStatus(vertices.get("e"), AmbulanceStatus.NOT_AVAILABLE);
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+    assertPath(paths, "i", "[{ b }, { c }, { d }, { f }, { g }, { i }]", 13.0);
+
+    engine.setHospitalCapacity(vertices.get("d"), 0);
+    paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(1, engine.getRecomputedRows());
+    assertPath(paths, "i", "[{ b }, { a }, { j }, { h }, { i }]", 10.0);
+  }
+
+  @Test
+  void trafficRepairsCachedSearches() {
+    engine.dispatch();
+    //f-g is on the chosen path, c-d gets faster
+    engine.updateEdgeWeights(Arrays.asList(edge("f", "g"), edge("c", "d")), Arrays.asList(10.0, 0.5));
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(0, engine.getRecomputedRows());
+    Assertions.assertEquals(2, engine.getRecomputedRows() + engine.getRepairedRows());
+    Map<String, Vertex> rebuiltVertices = Parser.parseVertices(EDGES);
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> expected = createEngine(rebuiltVertices,
+        "{2, 2, 1, 2, 5, 0.5, 3, 2, 6, 8, 10, 2, 3, 2, 4, 1}").dispatch().getPaths();
+    Assertions.assertEquals(1, paths.size());
+    Assertions.assertEquals(expected.get(rebuiltVertices.get("i")).getWeight(), paths.get(vertices.get("i")).getWeight(), DELTA);
+  }
+
+  @Test
+  void reopenedRoadRestoresPath() {
+    engine.dispatch();
+    engine.updateEdgeWeights(Arrays.asList(edge("f", "g")), Arrays.asList(Double.POSITIVE_INFINITY));
+    engine.dispatch();
+    engine.updateEdgeWeights(Arrays.asList(edge("f", "g")), Arrays.asList(2.0));
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(1.0, engine.getHeuristic().getScale(), DELTA);
+    assertPath(paths, "i", "[{ e }, { d }, { f }, { g }, { i }]", 10.0);
+  }
+
+  @Test
+  void returningAmbulanceHitsPathCache() {
+    engine = createEngine(vertices, "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}",
+        DispatchOptions.builder().pathCacheEntries(16).build());
+    engine.dispatch();
+    engine.moveAmbulance(vertices.get("e"), vertices.get("h"));
+    engine.dispatch();
+    engine.moveAmbulance(vertices.get("h"), vertices.get("e"));
+
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(1, engine.getRecomputedRows());
+    Assertions.assertEquals(1, engine.getPathCache().getHits());
+    assertPath(paths, "i", "[{ e }, { d }, { f }, { g }, { i }]", 10.0);
+
+    engine.updateEdgeWeights(Arrays.asList(edge("f", "g")), Arrays.asList(10.0));
+    engine.moveAmbulance(vertices.get("e"), vertices.get("h"));
+    engine.moveAmbulance(vertices.get("h"), vertices.get("e"));
+    paths = engine.dispatch().getPaths();
+
+    Assertions.assertEquals(1, engine.getPathCache().getHits());
+    assertPath(paths, "i", "[{ e }, { g }, { i }]", 11.0);
+  }
+
+  @Test
+  void weightUpdateLeavesCallerGraphUnchanged() {
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices, Parser.parseEdges(EDGES, vertices),
+        Parser.parseWeights("{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}"));
+    long fingerprint = GraphUtil.fingerprint(graph);
+    try (DispatchEngine shared = new DispatchEngine(graph, DispatchOptions.DEFAULT)) {
+      shared.updateEdgeWeights(Arrays.asList(edge("f", "g")), Arrays.asList(10.0));
+    }
+
+    Assertions.assertEquals(2.0, graph.getEdgeWeight(graph.getEdge(vertices.get("f"), vertices.get("g"))));
+    Assertions.assertEquals(fingerprint, GraphUtil.fingerprint(graph));
+  }
+
+  @Test
+  void invalidWeightUpdate() {
+    List<Pair<Vertex, Vertex>> unknown = Arrays.asList(edge("a", "i"));
+    List<Pair<Vertex, Vertex>> known = Arrays.asList(edge("a", "b"));
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> engine.updateEdgeWeights(unknown, Arrays.asList(1.0)));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> engine.updateEdgeWeights(known, Arrays.asList(-1.0)));
+  }
+
+  private Pair<Vertex, Vertex> edge(String source, String target) {
+    return new Pair<>(vertices.get(source), vertices.get(target));
+  }
+
+  private void assertPath(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths, String accident, String expectedPath,
+      double expectedWeight) {
+    GraphPath<Vertex, DefaultWeightedEdge> path = paths.get(vertices.get(accident));
+    Assertions.assertNotNull(path);
+    Assertions.assertEquals(expectedPath, path.getVertexList().toString());
+    Assertions.assertEquals(expectedWeight, path.getWeight(), DELTA);
+  }
+
+}
@@ -0,0 +1,118 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Scenario;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DispatchSessionTest {
+
+  private final static double DELTA = 0.0001;
+  private final static int THREADS = 8;
+  private final static int ROUNDS = 25;
+
+  @Test
+  void sessionKeepsItsOwnState() {
+    Scenario city = CityGenerator.builder().seed(5).rows(10).columns(10).ambulances(4).hospitals(2).build().generate();
+    DispatchNetwork network = new DispatchNetwork(city.getNetwork().getGraph(), DispatchOptions.DEFAULT);
+    DispatchSession first = network.openSession();
+    DispatchSession second = network.openSession();
+    city.getAmbulances().forEach(first::putAmbulance);
+    city.getHospitals().forEach(first::putHospital);
+    Vertex accident = city.nextAccidents(1, 0).keySet().iterator().next();
+    first.openAccident(accident, new Accident(accident.getName()));
+
+    Assertions.assertNotNull(first.dispatch().getAmbulance(accident));
+    Assertions.assertTrue(second.dispatch().getPaths().isEmpty());
+    first.closeAccident(accident);
+    Assertions.assertTrue(first.dispatch().getPaths().isEmpty());
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> second.openAccident(new Vertex("x"), new Accident("x")));
+  }
+
+  //every thread dispatches the same rounds in its own session, all of them have to agree with a single dispatch
+  @Test
+  void concurrentSessionsMatchSingleDispatch() throws Exception {
+    Scenario city = CityGenerator.builder().seed(23).rows(25).columns(25).ambulances(15).hospitals(3).build()
+        .generate();
+    List<Map<Vertex, Accident>> rounds = new ArrayList<>();
+    for (int round = 0; round < ROUNDS; ++round) {
+      rounds.add(city.nextAccidents(1 + round % 5, 4));
+    }
+    List<Assignment> expected = new ArrayList<>();
+    for (int round = 0; round < ROUNDS; ++round) {
+      expected.add(GraphController.getAssignment(city.getNetwork().getGraph(), ambulances(city, round),
+          city.getHospitals(), rounds.get(round), DispatchOptions.DEFAULT));
+    }
+
+    DispatchNetwork network = new DispatchNetwork(city.getNetwork().getGraph(), DispatchOptions.DEFAULT);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch ready = new CountDownLatch(THREADS);
+    try {
+      List<Future<List<Assignment>>> results = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; ++thread) {
+        results.add(executor.submit(() -> {
+          DispatchSession session = network.openSession();
+          city.getHospitals().forEach(session::putHospital);
+          ready.countDown();
+          ready.await();
+          List<Assignment> assignments = new ArrayList<>();
+          for (int round = 0; round < ROUNDS; ++round) {
+            ambulances(city, round).forEach(session::putAmbulance);
+            rounds.get(round).forEach(session::openAccident);
+            Assignment assignment = session.dispatch();
+            assignment.getPaths();
+            assignments.add(assignment);
+            rounds.get(round).keySet().forEach(session::closeAccident);
+          }
+          return assignments;
+        }));
+      }
+      for (Future<List<Assignment>> result : results) {
+        List<Assignment> assignments = result.get();
+        for (int round = 0; round < ROUNDS; ++round) {
+          assertSameAssignment(expected.get(round), assignments.get(round), rounds.get(round));
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  //every third round keeps the generated states, the others send all ambulances from a break or the hospital run
+  private static Map<Vertex, Ambulance> ambulances(Scenario city, int round) {
+    AmbulanceStatus status = round % 2 == 0 ? AmbulanceStatus.BREAK : AmbulanceStatus.OCCUPIED;
+    Map<Vertex, Ambulance> ambulances = new LinkedHashMap<>(city.getAmbulances());
+    if (round % 3 != 0) {
+      ambulances.replaceAll((position, ambulance) -> new Ambulance(ambulance.getName(), status));
+    }
+    return ambulances;
+  }
+
+  private static void assertSameAssignment(Assignment expected, Assignment actual, Map<Vertex, Accident> accidents) {
+    Assertions.assertEquals(expected.getTotalResponseTime(), actual.getTotalResponseTime(), DELTA);
+    for (Vertex accident : accidents.keySet()) {
+      Assertions.assertEquals(expected.getAmbulance(accident), actual.getAmbulance(accident));
+      GraphPath<Vertex, DefaultWeightedEdge> path = expected.getPaths().get(accident);
+      if (path != null) {
+        Assertions.assertEquals(path.getVertexList(), actual.getPaths().get(accident).getVertexList());
+        Assertions.assertEquals(path.getWeight(), actual.getPaths().get(accident).getWeight(), DELTA);
+      }
+    }
+  }
+
+}
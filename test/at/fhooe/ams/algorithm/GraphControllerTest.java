@@ -314,11 +314,100 @@ class GraphControllerTest {
 
   }
 
+  @Test
+  void optimalAssignmentBeatsGreedy() {
+    String inputEdges = "{ {a,x}, {a,y}, {b,x} }";
+    String inputWeights = "{1, 2, 2}";
+    String inputAmbulances = "{a, b}";
+    String inputStates = "{0, 0}";
+    String inputHospitals = "{x}";
+    String inputAccidents = "{x, y}";
+
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    Map<Vertex, Ambulance> ambulances = Parser.parseAmbulances(inputAmbulances, inputStates, vertices);
+    Map<Vertex, Hospital> hospitals = Parser.parseHospitals(inputHospitals, vertices);
+    Map<Vertex, Accident> accidents = Parser.parseAccidents(inputAccidents, vertices);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+
+    Assignment greedy = GraphController
+        .getAssignment(vertices, edges, ambulances, hospitals, accidents, weights, DispatchOptions.DEFAULT);
+    Assignment optimal = GraphController
+        .getAssignment(vertices, edges, ambulances, hospitals, accidents, weights,
+            DispatchOptions.builder().assignmentMode(AssignmentMode.OPTIMAL).build());
+
+    GraphController.printAccidentPaths(optimal.getPaths());
+
+    Assertions.assertEquals(2, optimal.getPaths().size());
+    Assertions.assertEquals(4.0, optimal.getTotalResponseTime(), DELTA);
+    Assertions.assertTrue(greedy.getPaths().size() < 2 || greedy.getTotalResponseTime() > optimal.getTotalResponseTime());
+    AssertAmbulanceAndPath(optimal.getPaths(), vertices.get("x"), "[{ b }, { x }]", 2.0);
+    AssertAmbulanceAndPath(optimal.getPaths(), vertices.get("y"), "[{ a }, { y }]", 2.0);
+    Assertions.assertEquals(vertices.get("b"), optimal.getAmbulance(vertices.get("x")));
+    Assertions.assertEquals(2.0, optimal.getResponseTime(vertices.get("y")), DELTA);
+    Assertions.assertSame(optimal.getPaths(), optimal.getPaths());
+  }
+
+  @Test
+  void optimalAssignmentMatchesProofTest() {
+    String inputEdges = "{{1, 2}, {1, 6}, {2, 3}, {2, 7}, {3, 8}, {4, 5}, {4, 9}, {5, 10}, {6, 7}, {6, 11}, {7, 8}, {8, 9}, {8, 13}, {9, 10}, {9, 14}, {10, 15}, {11, 12}, {12, 13}, {12, 17}, {13, 14}, {13, 18}, {14, 15}, {14, 19}, {15, 20}, {16, 17}, {16, 21}, {17, 18}, {17, 22}, {18, 19}, {18, 23}, {19, 20}, {19, 24}, {20, 25}, {21, 26}, {22, 23}, {22, 27}, {23, 24}, {23, 28}, {24, 25}, {24, 29}, {25, 30}, {26, 27}, {27, 28}, {27, 32}, {28, 29}, {29, 30}, {29, 34}, {30, 35}, {31, 32}, {31, 36}, {32, 33}, {33, 34}, {33, 38}, {34, 35}, {34, 39}, {35, 40}, {36, 37}, {36, 41}, {37, 38}, {37, 42}, {38, 39}, {38, 43}, {39, 44}, {40, 45}, {41, 42}, {41, 46}, {42, 43}, {43, 44}, {44, 45}, {44, 49}, {45, 50}, {46, 47}, {47, 48}, {48, 49}, {49, 50}}";
+    String inputWeights = "{0.623319, 0.782928, 0.724415, 0.663301, 0.980314, 0.534384, 0.857525, 0.802711, 0.690864, 1.01628, 1.01964, 1.07021, 1.27433, 0.786696, 1.09202, 1.039, 1.17553, 0.893182, 1.30296, 0.90763, 1.23687, 0.747427, 1.21788, 1.19712, 0.929205, 0.824945, 0.843394, 1.27442, 0.825103, 1.16764, 0.677995, 1.30186, 1.31337, 0.904508, 0.632366, 1.35271, 0.715957, 1.02362, 0.559852, 1.38604, 1.37545, 1.05876, 0.660787, 1.69842, 0.843769, 0.319187, 1.56455, 1.36498, 1.41519, 1.30702, 0.942232, 0.708194, 1.10823, 0.409737, 1.35155, 1.27066, 0.444337, 1.17571, 0.858115, 0.609474, 0.671463, 0.841348, 1.18433, 1.15872, 0.527241, 1.01031, 0.765726, 0.746467, 0.715457, 1.08177, 0.917307, 0.814914, 0.812392, 1.01424, 0.734067}";
+    String inputAmbulances = "{27, 1, 46, 31, 27}";
+    String inputStates = "{2, 0, 0, 1, 3}";
+    String inputHospitals = "{28}";
+    String inputAccidents = "{18, 21, 44}";
+
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    Map<Vertex, Ambulance> ambulances = Parser.parseAmbulances(inputAmbulances, inputStates, vertices);
+    Map<Vertex, Hospital> hospitals = Parser.parseHospitals(inputHospitals, vertices);
+    Map<Vertex, Accident> accidents = Parser.parseAccidents(inputAccidents, vertices);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+
+    Assignment optimal = GraphController
+        .getAssignment(vertices, edges, ambulances, hospitals, accidents, weights,
+            DispatchOptions.builder().assignmentMode(AssignmentMode.OPTIMAL).build());
+
+    Assertions.assertEquals(3, optimal.getPaths().size());
+    Assertions.assertEquals(4.81746 + 6.076878 + 3.049744, optimal.getTotalResponseTime(), DELTA);
+    AssertAmbulanceAndPath(optimal.getPaths(), vertices.get("18"), "[{ 1 }, { 2 }, { 7 }, { 8 }, { 13 }, { 18 }]", 4.81746);
+  }
+
+  @Test
+  void parallelMatchesSequential() {
+    String inputEdges = "{{1, 2}, {1, 11}, {2, 3}, {3, 4}, {3, 13}, {4, 5}, {4, 14}, {5, 15}, {6, 7}, {6, 16}, {7, 8}, {7, 17}, {8, 9}, {8, 18}, {9, 10}, {9, 19}, {10, 20}, {11, 12}, {11, 21}, {12, 13}, {13, 14}, {13, 23}, {14, 24}, {15, 25}, {16, 17}, {16, 26}, {17, 18}, {17, 27}, {18, 19}, {18, 28}, {19, 20}, {19, 29}, {20, 30}, {21, 22}, {21, 31}, {22, 32}, {23, 24}, {23, 33}, {24, 25}, {24, 34}, {25, 26}, {25, 35}, {26, 27}, {26, 36}, {27, 28}, {27, 37}, {28, 29}, {28, 38}, {29, 30}, {29, 39}, {30, 40}, {31, 32}, {31, 41}, {32, 33}, {32, 42}, {33, 34}, {33, 43}, {35, 36}, {36, 37}, {36, 46}, {37, 38}, {37, 47}, {38, 39}, {38, 48}, {39, 40}, {39, 49}, {40, 50}, {41, 42}, {41, 51}, {42, 43}, {42, 52}, {43, 44}, {43, 53}, {44, 54}, {45, 46}, {45, 55}, {46, 56}, {47, 48}, {47, 57}, {48, 49}, {48, 58}, {49, 50}, {49, 59}, {51, 52}, {51, 61}, {52, 53}, {52, 62}, {53, 54}, {53, 63}, {54, 55}, {54, 64}, {55, 56}, {55, 65}, {56, 57}, {56, 66}, {57, 58}, {57, 67}, {58, 59}, {59, 60}, {59, 68}, {61, 70}, {62, 71}, {63, 64}, {63, 72}, {64, 65}, {65, 66}, {65, 74}, {66, 75}, {67, 76}, {68, 69}, {68, 78}, {69, 79}, {70, 71}, {71, 72}, {71, 81}, {72, 82}, {73, 83}, {74, 84}, {75, 76}, {75, 85}, {76, 77}, {76, 86}, {77, 78}, {77, 87}, {78, 79}, {78, 88}, {79, 89}, {80, 81}, {80, 90}, {81, 82}, {81, 91}, {82, 83}, {83, 84}, {84, 85}, {84, 94}, {85, 86}, {85, 95}, {86, 87}, {86, 96}, {87, 88}, {87, 97}, {88, 89}, {88, 98}, {90, 91}, {91, 92}, {92, 93}, {94, 95}, {95, 96}, {97, 98}, {98, 99}}";
+    String inputWeights = "{0.703375, 0.784261, 0.829004, 0.869329, 0.748562, 0.893425, 0.653708, 0.957589, 0.667363, 0.805526, 0.774444, 0.73563, 0.755074, 0.69531, 0.614959, 0.672444, 0.624784, 0.760929, 1.03738, 0.89427, 0.795905, 0.999363, 1.00218, 1.0546, 0.837626, 1.16429, 0.901573, 0.944696, 0.837826, 0.891127, 0.664876, 0.862421, 0.781678, 0.556984, 1.00128, 0.81561, 1.1012, 1.2091, 1.65717, 1.02598, 1.66182, 1.00957, 1.29639, 1.10049, 1.1061, 1.04713, 0.937068, 0.988113, 0.712034, 0.973212, 0.816868, 0.696852, 0.99837, 1.08486, 1.01099, 1.02945, 1.34983, 1.09116, 1.24841, 1.44935, 1.07811, 1.1665, 0.929216, 1.02973, 0.726059, 1.08606, 0.737615, 0.728661, 0.975, 0.915643, 1.0634, 0.936564, 1.15438, 0.985634, 0.964043, 0.967595, 1.19505, 0.888192, 1.248, 0.884907, 0.964052, 0.852116, 1.30489, 0.828469, 0.905975, 1.12908, 1.09785, 1.22939, 1.08866, 1.49718, 0.805292, 1.36009, 0.995144, 1.48768, 1.20279, 1.22501, 1.23988, 1.07607, 0.666634, 1.41805, 0.84532, 1.02544, 1.12996, 1.20816, 1.22105, 1.15477, 1.06479, 1.22923, 1.19593, 0.801484, 1.19898, 0.668349, 0.882984, 0.953381, 1.16892, 1.00683, 0.663063, 0.954983, 1.09698, 1.00384, 1.13421, 0.957261, 1.0309, 0.735248, 0.681852, 0.944594, 0.619566, 0.807938, 0.618474, 1.26809, 1.15403, 1.42848, 1.49422, 1.37849, 0.803128, 1.23825, 0.642581, 1.27841, 0.767574, 0.968954, 0.860625, 0.669729, 0.845074, 0.328445, 0.937256, 0.672901, 0.737365, 0.713149, 0.628288, 0.712777}";
+    String inputAmbulances = "{13, 72, 65, 44, 59, 49, 41, 42, 30, 67, 28, 86}";
+    String inputStates = "{1, 0, 0, 2, 0, 3, 0, 3, 2, 0, 0, 2}";
+    String inputHospitals = "{28, 85}";
+    String inputAccidents = "{93, 1, 10, 77, 55}";
+
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    Map<Vertex, Ambulance> ambulances = Parser.parseAmbulances(inputAmbulances, inputStates, vertices);
+    Map<Vertex, Hospital> hospitals = Parser.parseHospitals(inputHospitals, vertices);
+    Map<Vertex, Accident> accidents = Parser.parseAccidents(inputAccidents, vertices);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+
+    for (AssignmentMode mode : AssignmentMode.values()) {
+      Assignment sequential = GraphController.getAssignment(vertices, edges, ambulances, hospitals, accidents, weights,
+          DispatchOptions.builder().assignmentMode(mode).build());
+      Assignment parallel = GraphController.getAssignment(vertices, edges, ambulances, hospitals, accidents, weights,
+          DispatchOptions.builder().assignmentMode(mode).parallelism(4).build());
+
+      Assertions.assertEquals(sequential.getTotalResponseTime(), parallel.getTotalResponseTime());
+      Assertions.assertEquals(sequential.getPaths().keySet(), parallel.getPaths().keySet());
+      sequential.getPaths().forEach((accident, path) -> {
+        Assertions.assertEquals(path.getVertexList(), parallel.getPaths().get(accident).getVertexList());
+        Assertions.assertEquals(path.getWeight(), parallel.getPaths().get(accident).getWeight());
+      });
+    }
+  }
+
   private void AssertAmbulanceAndPath(Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> ambulancePaths, Vertex vertex,
       String expectedPath, double expectedWeight) {
     ambulancePaths.forEach((key, value) -> {
       if (key.equals(vertex)) {
-        Assertions.assertEquals(vertex.getAmbulance(), key.getAmbulance());
         Assertions.assertEquals(expectedPath, value.getVertexList().toString());
         Assertions.assertEquals(expectedWeight, value.getWeight(), DELTA);
       }
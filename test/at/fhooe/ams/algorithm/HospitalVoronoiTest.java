@@ -0,0 +1,62 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Parser;
+import at.fhooe.ams.util.Scenario;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HospitalVoronoiTest {
+
+  private final static double DELTA = 0.0001;
+
+  @Test
+  void everyVertexGetsItsNearestHospital() {
+    Scenario scenario = CityGenerator.builder().seed(5).rows(15).columns(15).ringSpacing(4).hospitals(4).build().generate();
+    Graph<Vertex, DefaultWeightedEdge> graph = scenario.getNetwork().getGraph();
+    List<Vertex> hospitals = new ArrayList<>(scenario.getHospitals().keySet());
+
+    HospitalVoronoi voronoi = new HospitalVoronoi(CompactGraph.of(graph), hospitals);
+
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    for (Vertex vertex : graph.vertexSet()) {
+      double nearest = hospitals.stream().mapToDouble(hospital -> dijkstra.getPathWeight(vertex, hospital)).min()
+          .orElse(Double.POSITIVE_INFINITY);
+      Assertions.assertEquals(nearest, voronoi.getDistance(vertex), DELTA);
+      GraphPath<Vertex, DefaultWeightedEdge> path = voronoi.getPath(vertex);
+      Assertions.assertEquals(vertex, path.getStartVertex());
+      Assertions.assertEquals(voronoi.getHospital(vertex), path.getEndVertex());
+      Assertions.assertEquals(nearest, path.getEdgeList().stream().mapToDouble(graph::getEdgeWeight).sum(), DELTA);
+    }
+  }
+
+  @Test
+  void hospitalsInOtherComponentsAreNotReached() {
+    String inputEdges = "{ {a,b}, {b,c}, {x,y} }";
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices,
+        Parser.parseEdges(inputEdges, vertices), Parser.parseWeights("{1, 2, 1}"));
+    Map<Vertex, Hospital> hospitals = Parser.parseHospitals("{a, c}", vertices);
+
+    HospitalVoronoi voronoi = new HospitalVoronoi(CompactGraph.of(graph), new ArrayList<>(hospitals.keySet()));
+
+    Assertions.assertEquals(vertices.get("a"), voronoi.getHospital(vertices.get("b")));
+    Assertions.assertEquals(1.0, voronoi.getDistance(vertices.get("b")), DELTA);
+    Assertions.assertEquals(Arrays.asList(vertices.get("b"), vertices.get("a")), voronoi.getPath(vertices.get("b")).getVertexList());
+    Assertions.assertFalse(voronoi.isReached(vertices.get("y")));
+    Assertions.assertNull(voronoi.getHospital(vertices.get("y")));
+    Assertions.assertNull(voronoi.getPath(vertices.get("y")));
+  }
+
+}
@@ -0,0 +1,54 @@
+package at.fhooe.ams.algorithm;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HungarianAssignmentTest {
+
+  private final static double DELTA = 0.0001;
+  private final static double INF = Double.POSITIVE_INFINITY;
+
+  @Test
+  void squareMatrix() {
+    double[][] costs = {{4, 1, 3}, {2, 0, 5}, {3, 2, 2}};
+
+    int[] assignment = HungarianAssignment.solve(costs);
+
+    Assertions.assertArrayEquals(new int[]{1, 0, 2}, assignment);
+    Assertions.assertEquals(5.0, HungarianAssignment.totalCost(costs, assignment), DELTA);
+  }
+
+  @Test
+  void moreAmbulancesThanAccidents() {
+    double[][] costs = {{7}, {3}, {5}};
+
+    int[] assignment = HungarianAssignment.solve(costs);
+
+    Assertions.assertArrayEquals(new int[]{HungarianAssignment.UNASSIGNED, 0, HungarianAssignment.UNASSIGNED}, assignment);
+  }
+
+  @Test
+  void moreAccidentsThanAmbulances() {
+    double[][] costs = {{1, 2, 9}};
+
+    int[] assignment = HungarianAssignment.solve(costs);
+
+    Assertions.assertArrayEquals(new int[]{0}, assignment);
+  }
+
+  @Test
+  void unreachablePairsAreNeverAssigned() {
+    double[][] costs = {{1, INF}, {2, INF}};
+
+    int[] assignment = HungarianAssignment.solve(costs);
+
+    Assertions.assertArrayEquals(new int[]{0, HungarianAssignment.UNASSIGNED}, assignment);
+    Assertions.assertEquals(1.0, HungarianAssignment.totalCost(costs, assignment), DELTA);
+  }
+
+  @Test
+  void emptyMatrix() {
+    Assertions.assertEquals(0, HungarianAssignment.solve(new double[0][0]).length);
+  }
+
+}
@@ -0,0 +1,93 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.WeightUpdate;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class LandmarkHeuristicTest {
+
+  private final static double DELTA = 0.0001;
+
+  private Graph<Vertex, DefaultWeightedEdge> createGraph() {
+    String inputEdges = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+    String inputWeights = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}";
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+    return Parser.parseUndirectedWeightedGraph(vertices, edges, weights);
+  }
+
+  @ParameterizedTest
+  @EnumSource(LandmarkSelection.class)
+  void estimatesAreAdmissible(LandmarkSelection selection) {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    LandmarkHeuristic heuristic = Parser.createHeuristic(graph, 3, selection);
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+
+    Assertions.assertEquals(3, heuristic.getLandmarks().size());
+    for (Vertex source : graph.vertexSet()) {
+      for (Vertex target : graph.vertexSet()) {
+        Assertions.assertTrue(heuristic.getCostEstimate(source, target) <= dijkstra.getPathWeight(source, target) + DELTA);
+      }
+    }
+  }
+
+  @Test
+  void cheaperEdgesScaleEstimates() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    LandmarkHeuristic heuristic = Parser.createHeuristic(graph, 3, LandmarkSelection.FARTHEST);
+    CompactGraph compactGraph = heuristic.getCompactGraph();
+    Vertex a = compactGraph.getVertex(0);
+    Vertex b = Graphs.neighborListOf(graph, a).get(0);
+    DefaultWeightedEdge edge = graph.getEdge(a, b);
+    double weight = graph.getEdgeWeight(edge);
+    WeightUpdate slower = new WeightUpdate(compactGraph.getId(a), compactGraph.getId(b), weight, weight * 2.0);
+    WeightUpdate faster = new WeightUpdate(compactGraph.getId(a), compactGraph.getId(b), weight, weight / 4.0);
+
+    Assertions.assertSame(heuristic, heuristic.forWeights(compactGraph.withWeights(Collections.singletonList(slower))));
+    LandmarkHeuristic scaled = heuristic.forWeights(compactGraph.withWeights(Collections.singletonList(faster)));
+
+    graph.setEdgeWeight(edge, weight / 4.0);
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    Assertions.assertEquals(0.25, scaled.getScale(), DELTA);
+    for (Vertex source : graph.vertexSet()) {
+      for (Vertex target : graph.vertexSet()) {
+        Assertions.assertTrue(scaled.getCostEstimate(source, target) <= dijkstra.getPathWeight(source, target) + DELTA);
+      }
+    }
+  }
+
+  @Test
+  void landmarkCountIsBoundedByVertexCount() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    LandmarkHeuristic heuristic = Parser.createHeuristic(graph, 32, LandmarkSelection.FARTHEST);
+
+    LandmarkReport report = heuristic.report(4);
+
+    Assertions.assertEquals(10, report.getLandmarkCount());
+    Assertions.assertEquals(10L * 10L * Double.BYTES, report.getTableBytes());
+    //every vertex is a landmark, so the bounds are exact
+    Assertions.assertEquals(1.0, report.getAverageTightness(), DELTA);
+    Assertions.assertEquals(1.0, report.getMinimumTightness(), DELTA);
+  }
+
+  @Test
+  void invalidLandmarkCount() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    Assertions.assertThrows(IllegalArgumentException.class, () -> Parser.createHeuristic(graph, 0, LandmarkSelection.RANDOM));
+  }
+
+}
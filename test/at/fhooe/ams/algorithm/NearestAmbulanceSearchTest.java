@@ -0,0 +1,139 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import at.fhooe.ams.util.Scenario;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NearestAmbulanceSearchTest {
+
+  private final static double DELTA = 0.0001;
+  private final static AmbulanceStatus[] STATES = {AmbulanceStatus.FREE, AmbulanceStatus.BREAK,
+      AmbulanceStatus.OCCUPIED, AmbulanceStatus.NOT_AVAILABLE};
+
+  //response times and paths have to agree with a plain Dijkstra from every ambulance
+  @Test
+  void nearestMatchesAllResponseTimes() {
+    Scenario city = CityGenerator.builder().seed(11).rows(20).columns(20).ambulances(24).hospitals(3).build()
+        .generate();
+    Graph<Vertex, DefaultWeightedEdge> graph = city.getNetwork().getGraph();
+    Map<Vertex, Ambulance> ambulances = mixedStates(city);
+    List<Vertex> hospitals = new ArrayList<>(city.getHospitals().keySet());
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    HospitalVoronoi voronoi = new HospitalVoronoi(compactGraph, hospitals);
+    NearestAmbulanceSearch search = new NearestAmbulanceSearch(compactGraph);
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+
+    for (Vertex accident : city.nextAccidents(5, 8).keySet()) {
+      List<Double> expected = new ArrayList<>();
+      ambulances.forEach((position, ambulance) -> {
+        if (!AmbulanceStatus.NOT_AVAILABLE.equals(ambulance.getStatus())) {
+          expected.add(responseTime(dijkstra, voronoi, position, ambulance, accident));
+        }
+      });
+      Collections.sort(expected);
+
+      for (int k : new int[]{1, 3, expected.size() + 2}) {
+        List<AmbulanceCandidate> nearest = search.search(accident, k, ambulances, voronoi);
+        Assertions.assertEquals(Math.min(k, expected.size()), nearest.size());
+        for (int i = 0; i < nearest.size(); ++i) {
+          AmbulanceCandidate candidate = nearest.get(i);
+          Assertions.assertEquals(expected.get(i), candidate.getResponseTime(), DELTA);
+          Assertions.assertEquals(responseTime(dijkstra, voronoi, candidate.getPosition(), candidate.getAmbulance(),
+              accident), candidate.getResponseTime(), DELTA);
+          Assertions.assertEquals(candidate.getResponseTime(), candidate.getPath().getWeight(), DELTA);
+          Assertions.assertEquals(accident, candidate.getPath().getEndVertex());
+        }
+      }
+    }
+  }
+
+  @Test
+  void stopsAtTheKthAmbulance() {
+    Scenario city = CityGenerator.builder().seed(3).rows(40).columns(40).ambulances(40).hospitals(4).build()
+        .generate();
+    CompactGraph compactGraph = CompactGraph.of(city.getNetwork().getGraph());
+    NearestAmbulanceSearch search = new NearestAmbulanceSearch(compactGraph);
+    Map<Vertex, Ambulance> ambulances = new LinkedHashMap<>(city.getAmbulances());
+    ambulances.replaceAll((position, ambulance) -> new Ambulance(ambulance.getName(), AmbulanceStatus.FREE));
+    Vertex accident = city.nextAccidents(1, 0).keySet().iterator().next();
+
+    Assertions.assertEquals(1, search.search(accident, 1, ambulances, null).size());
+    int nearestOnly = search.getSettledVertices();
+    search.search(accident, ambulances.size(), ambulances, null);
+    Assertions.assertTrue(nearestOnly < search.getSettledVertices());
+    Assertions.assertTrue(nearestOnly < compactGraph.getVertexCount() / 4);
+
+    //more wanted than there are, the search still ends with the last ambulance
+    Map<Vertex, Ambulance> single = Collections.singletonMap(accident, new Ambulance("a", AmbulanceStatus.FREE));
+    Assertions.assertEquals(1, search.search(accident, 5, single, null).size());
+    Assertions.assertEquals(1, search.getSettledVertices());
+  }
+
+  //engine and session answer like the network without dispatching
+  @Test
+  void engineAndSessionAgree() {
+    Scenario city = CityGenerator.builder().seed(7).rows(15).columns(15).ambulances(12).hospitals(2).build()
+        .generate();
+    Map<Vertex, Ambulance> ambulances = mixedStates(city);
+    Vertex accident = city.nextAccidents(1, 0).keySet().iterator().next();
+    DispatchNetwork network = new DispatchNetwork(city.getNetwork().getGraph(), DispatchOptions.DEFAULT);
+    List<AmbulanceCandidate> expected = network.nearestAmbulances(
+        new DispatchScenario(ambulances, city.getHospitals(), Collections.singletonMap(accident, new Accident("a"))),
+        accident, 4);
+
+    DispatchSession session = network.openSession();
+    ambulances.forEach(session::putAmbulance);
+    city.getHospitals().forEach(session::putHospital);
+    assertSameCandidates(expected, session.nearestAmbulances(accident, 4));
+
+    try (DispatchEngine engine = new DispatchEngine(city.getNetwork().getGraph(), DispatchOptions.DEFAULT)) {
+      ambulances.forEach(engine::putAmbulance);
+      city.getHospitals().forEach(engine::putHospital);
+      assertSameCandidates(expected, engine.nearestAmbulances(accident, 4));
+    }
+  }
+
+  private static Map<Vertex, Ambulance> mixedStates(Scenario city) {
+    Map<Vertex, Ambulance> ambulances = new LinkedHashMap<>();
+    int index = 0;
+    for (Map.Entry<Vertex, Ambulance> entry : city.getAmbulances().entrySet()) {
+      ambulances.put(entry.getKey(), new Ambulance(entry.getValue().getName(), STATES[index++ % STATES.length]));
+    }
+    return ambulances;
+  }
+
+  private static double responseTime(DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra,
+      HospitalVoronoi voronoi, Vertex position, Ambulance ambulance, Vertex accident) {
+    if (AmbulanceStatus.OCCUPIED.equals(ambulance.getStatus())) {
+      Vertex hospital = voronoi.getHospital(position);
+      return voronoi.getDistance(position) + Hospital.HOSPITAL_DURATION + dijkstra.getPathWeight(hospital, accident);
+    }
+    double distance = dijkstra.getPathWeight(position, accident);
+    return AmbulanceStatus.BREAK.equals(ambulance.getStatus()) ? distance + Ambulance.BREAK_DURATION : distance;
+  }
+
+  private static void assertSameCandidates(List<AmbulanceCandidate> expected, List<AmbulanceCandidate> actual) {
+    Assertions.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); ++i) {
+      Assertions.assertEquals(expected.get(i).getPosition(), actual.get(i).getPosition());
+      Assertions.assertEquals(expected.get(i).getResponseTime(), actual.get(i).getResponseTime(), DELTA);
+      Assertions.assertEquals(expected.get(i).getPath().getVertexList(), actual.get(i).getPath().getVertexList());
+    }
+  }
+
+}
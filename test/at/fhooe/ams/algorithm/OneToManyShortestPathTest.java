@@ -0,0 +1,129 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.WeightUpdate;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class OneToManyShortestPathTest {
+
+  private final static double DELTA = 0.0001;
+
+  private Map<String, Vertex> vertices;
+
+  private Graph<Vertex, DefaultWeightedEdge> createGraph() {
+    String inputEdges = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+    String inputWeights = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}";
+    vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+    return Parser.parseUndirectedWeightedGraph(vertices, edges, weights);
+  }
+
+  @Test
+  void costsMatchDijkstraForAllTargets() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    OneToManyShortestPath search = new OneToManyShortestPath(graph, Parser.createHeuristic(graph));
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    Vertex source = vertices.get("e");
+    List<Vertex> targets = Arrays.asList(vertices.get("a"), vertices.get("i"), vertices.get("c"));
+
+    ShortestPathTree tree = search.search(source, targets);
+
+    for (Vertex target : targets) {
+      Assertions.assertTrue(tree.isReached(target));
+      Assertions.assertEquals(dijkstra.getPathWeight(source, target), tree.getWeight(target), DELTA);
+      GraphPath<Vertex, DefaultWeightedEdge> path = tree.getPath(target);
+      Assertions.assertEquals(source, path.getStartVertex());
+      Assertions.assertEquals(target, path.getEndVertex());
+      Assertions.assertEquals(tree.getWeight(target), path.getWeight(), DELTA);
+    }
+  }
+
+  @Test
+  void equalWeightsPreferFewerCrossroads() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    OneToManyShortestPath search = new OneToManyShortestPath(graph, null);
+    Vertex target = vertices.get("i");
+
+    ShortestPathTree tree = search.search(vertices.get("b"), Arrays.asList(target));
+
+    Assertions.assertEquals(7.0, tree.getWeight(target), DELTA);
+    Assertions.assertEquals("[{ b }, { h }, { i }]", tree.getPath(target).getVertexList().toString());
+  }
+
+  @Test
+  void repairMatchesDijkstraOnNewWeights() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    LandmarkHeuristic heuristic = Parser.createHeuristic(graph, 3, LandmarkSelection.FARTHEST);
+    Vertex source = vertices.get("e");
+    List<Vertex> targets = Arrays.asList(vertices.get("a"), vertices.get("i"), vertices.get("c"));
+    ShortestPathTree tree = new OneToManyShortestPath(compactGraph, heuristic).search(source, targets);
+    //d-f is part of the tree and gets slower, g-h gets faster
+    List<WeightUpdate> updates = Arrays.asList(update(compactGraph, graph, "d", "f", 7.0), update(compactGraph, graph, "g", "h", 0.5));
+
+    CompactGraph updatedGraph = compactGraph.withWeights(updates);
+    ShortestPathTree repaired = new OneToManyShortestPath(updatedGraph, heuristic.forWeights(updatedGraph))
+        .repair(tree, targets, updates);
+
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    for (Vertex vertex : graph.vertexSet()) {
+      if (repaired.isReached(vertex)) {
+        Assertions.assertEquals(dijkstra.getPathWeight(source, vertex), repaired.getWeight(vertex), DELTA);
+        Assertions.assertEquals(repaired.getWeight(vertex), repaired.getPath(vertex).getEdgeList().stream().mapToDouble(graph::getEdgeWeight).sum(), DELTA);
+      }
+    }
+    for (Vertex target : targets) {
+      Assertions.assertTrue(repaired.isReached(target));
+    }
+  }
+
+  @Test
+  void repairKeepsTreeWithoutRelevantUpdates() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    CompactGraph compactGraph = CompactGraph.of(graph);
+    Vertex source = vertices.get("a");
+    List<Vertex> targets = Arrays.asList(vertices.get("b"));
+    ShortestPathTree tree = new OneToManyShortestPath(compactGraph, null).search(source, targets);
+    List<WeightUpdate> updates = Arrays.asList(update(compactGraph, graph, "e", "g", 9.0));
+
+    CompactGraph updatedGraph = compactGraph.withWeights(updates);
+    ShortestPathTree repaired = new OneToManyShortestPath(updatedGraph, null).repair(tree, targets, updates);
+
+    Assertions.assertSame(tree, repaired);
+  }
+
+  @Test
+  void sourceIsTarget() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    OneToManyShortestPath search = new OneToManyShortestPath(graph, null);
+    Vertex source = vertices.get("a");
+
+    ShortestPathTree tree = search.search(source, Arrays.asList(source));
+
+    Assertions.assertEquals(0.0, tree.getWeight(source), DELTA);
+    Assertions.assertEquals("[{ a }]", tree.getPath(source).getVertexList().toString());
+  }
+
+  //sets the new weight on the graph and describes the change for the compact graph
+  private WeightUpdate update(CompactGraph compactGraph, Graph<Vertex, DefaultWeightedEdge> graph, String source,
+      String target, double weight) {
+    DefaultWeightedEdge edge = graph.getEdge(vertices.get(source), vertices.get(target));
+    WeightUpdate update = new WeightUpdate(compactGraph.getId(vertices.get(source)), compactGraph.getId(vertices.get(target)),
+        graph.getEdgeWeight(edge), weight);
+    graph.setEdgeWeight(edge, weight);
+    return update;
+  }
+
+}
@@ -0,0 +1,149 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.WeightUpdate;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShortestPathCacheTest {
+
+  private Map<String, Vertex> vertices;
+  private CompactGraph compactGraph;
+  private LandmarkHeuristic heuristic;
+  private OneToManyShortestPath search;
+
+  @BeforeEach
+  void createGraph() {
+    String inputEdges = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+    String inputWeights = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}";
+    vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices, edges, Parser.parseWeights(inputWeights));
+    compactGraph = CompactGraph.of(graph);
+    heuristic = new LandmarkHeuristic(compactGraph, 2, LandmarkSelection.FARTHEST, LandmarkHeuristic.DEFAULT_SEED);
+    search = new OneToManyShortestPath(compactGraph, heuristic);
+  }
+
+  @Test
+  void hitsIgnoreTargetOrder() {
+    ShortestPathCache cache = new ShortestPathCache(8, Long.MAX_VALUE);
+
+    ShortestPathTree tree = cached(cache, "e", "i", "a");
+    ShortestPathTree same = cached(cache, "e", "a", "i", "a");
+
+    Assertions.assertSame(tree, same);
+    Assertions.assertEquals(1, cache.getHits());
+    Assertions.assertEquals(1, cache.getMisses());
+    Assertions.assertEquals(0.5, cache.getHitRate());
+    Assertions.assertNotSame(tree, cached(cache, "e", "i"));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    ShortestPathCache cache = new ShortestPathCache(2, Long.MAX_VALUE);
+    ShortestPathTree first = cached(cache, "a", "b");
+    cached(cache, "b", "c");
+    cached(cache, "a", "b");
+
+    cached(cache, "c", "d");
+
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(1, cache.getEvictions());
+    Assertions.assertSame(first, cache.get(id("a"), ids("b")));
+    Assertions.assertNull(cache.get(id("b"), ids("c")));
+  }
+
+  @Test
+  void evictsBySettledVertices() {
+    ShortestPathTree tree = search.search(id("e"), ids("i"));
+    ShortestPathCache cache = new ShortestPathCache(8, tree.getIds().length);
+    cache.put(id("e"), ids("i"), tree);
+
+    cached(cache, "d", "c");
+
+    Assertions.assertNull(cache.get(id("e"), ids("i")));
+    Assertions.assertEquals(1, cache.size());
+  }
+
+  @Test
+  void disabledCacheOnlyCounts() {
+    ShortestPathCache cache = new ShortestPathCache(0, Long.MAX_VALUE);
+
+    cached(cache, "e", "i");
+    cached(cache, "e", "i");
+
+    Assertions.assertEquals(0, cache.size());
+    Assertions.assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  void weightUpdatesOnlyDropAffectedTrees() {
+    ShortestPathCache cache = new ShortestPathCache(8, Long.MAX_VALUE);
+    //e-d is the whole tree
+    cached(cache, "e", "d");
+    cached(cache, "a", "j");
+
+    cache.invalidate(Collections.singletonList(update("d", "e", 5.0)), heuristic);
+
+    Assertions.assertEquals(1, cache.getVersion());
+    Assertions.assertNull(cache.get(id("e"), ids("d")));
+    Assertions.assertNotNull(cache.get(id("a"), ids("j")));
+
+    //a-b-h is longer than a-j, but 0.5 is cheap enough to get below it
+    cache.invalidate(Collections.singletonList(update("b", "h", 0.5)), heuristic);
+
+    Assertions.assertNull(cache.get(id("a"), ids("j")));
+    Assertions.assertEquals(2, cache.getInvalidations());
+  }
+
+  //another thread invalidates while the search runs, its tree belongs to the old weights
+  @Test
+  void dropsTreesSearchedBeforeInvalidation() {
+    ShortestPathCache cache = new ShortestPathCache(8, Long.MAX_VALUE);
+    ShortestPathTree tree = cache.computeIfAbsent(id("e"), ids("d"), () -> {
+      ShortestPathTree stale = search.search(id("e"), ids("d"));
+      cache.invalidate(Collections.singletonList(update("d", "e", 5.0)), heuristic);
+      return stale;
+    });
+
+    Assertions.assertNotNull(tree);
+    Assertions.assertEquals(0, cache.size());
+    Assertions.assertNull(cache.get(id("e"), ids("d")));
+  }
+
+  private ShortestPathTree cached(ShortestPathCache cache, String source, String... targets) {
+    return cache.computeIfAbsent(id(source), ids(targets), () -> search.search(id(source), ids(targets)));
+  }
+
+  private WeightUpdate update(String source, String target, double weight) {
+    int sourceId = id(source);
+    int targetId = id(target);
+    double oldWeight = compactGraph.getWeight(compactGraph.findArc(sourceId, targetId));
+    WeightUpdate update = new WeightUpdate(sourceId, targetId, oldWeight, weight);
+    compactGraph = compactGraph.withWeights(Collections.singletonList(update));
+    heuristic = heuristic.forWeights(compactGraph);
+    return update;
+  }
+
+  private int id(String name) {
+    return compactGraph.getId(vertices.get(name));
+  }
+
+  private int[] ids(String... names) {
+    int[] ids = new int[names.length];
+    for (int i = 0; i < names.length; ++i) {
+      ids[i] = id(names[i]);
+    }
+    return ids;
+  }
+
+}
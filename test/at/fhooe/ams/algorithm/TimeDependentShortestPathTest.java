@@ -0,0 +1,81 @@
+package at.fhooe.ams.algorithm;
+
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.graph.TravelTimeProfile;
+import at.fhooe.ams.graph.TravelTimes;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TimeDependentShortestPathTest {
+
+  private final static double DELTA = 0.0001;
+  private final static double PERIOD = 100.0;
+  private final static String EDGES = "{ {a,b}, {b,c}, {b,d}, {d,c} }";
+
+  private Map<String, Vertex> vertices;
+
+  private Graph<Vertex, DefaultWeightedEdge> createGraph() {
+    vertices = Parser.parseVertices(EDGES);
+    return Parser.parseUndirectedWeightedGraph(vertices, Parser.parseEdges(EDGES, vertices),
+        Parser.parseWeights("{1, 1, 1, 1}"));
+  }
+
+  //the direct street b-c jams from 1 to 10 between time 0 and 5 and clears up again until 50
+  private Map<DefaultWeightedEdge, TravelTimeProfile> rushHour(Graph<Vertex, DefaultWeightedEdge> graph) {
+    Map<DefaultWeightedEdge, TravelTimeProfile> profiles = new HashMap<>();
+    profiles.put(graph.getEdge(vertices.get("b"), vertices.get("c")),
+        new TravelTimeProfile(PERIOD, new double[]{0, 5, 50}, new double[]{1, 10, 1}));
+    return profiles;
+  }
+
+  @Test
+  void routeDependsOnDeparture() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    TravelTimes travelTimes = new TravelTimes(CompactGraph.of(graph), rushHour(graph));
+    TimeDependentShortestPath search = new TimeDependentShortestPath(travelTimes,
+        new LandmarkHeuristic(travelTimes.getGraph(), 2, LandmarkSelection.FARTHEST, LandmarkHeuristic.DEFAULT_SEED));
+    Vertex c = vertices.get("c");
+
+    ShortestPathTree night = search.search(vertices.get("a"), Collections.singletonList(c), 60);
+    ShortestPathTree rush = search.search(vertices.get("a"), Collections.singletonList(c), 3);
+
+    Assertions.assertEquals(2.0, night.getWeight(c), DELTA);
+    Assertions.assertEquals("[{ a }, { b }, { c }]", night.getPath(c).getVertexList().toString());
+    Assertions.assertEquals(3.0, rush.getWeight(c), DELTA);
+    Assertions.assertEquals("[{ a }, { b }, { d }, { c }]", rush.getPath(c).getVertexList().toString());
+  }
+
+  @Test
+  void laterLegsLeaveAfterBreakAndHospital() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph();
+    graph.removeVertex(vertices.get("d"));
+    DispatchNetwork network = new DispatchNetwork(graph, rushHour(graph), DispatchOptions.DEFAULT);
+    Vertex c = vertices.get("c");
+    Map<Vertex, Accident> accidents = Collections.singletonMap(c, new Accident("c"));
+    Map<Vertex, Hospital> hospitals = Collections.singletonMap(vertices.get("b"), new Hospital("b"));
+
+    //at the hospital at 1, leaves at 4 when b-c takes 1 + 9 * 4 / 5
+    Assignment occupied = network.dispatch(new DispatchScenario(Collections.singletonMap(vertices.get("a"),
+        new Ambulance("a", AmbulanceStatus.OCCUPIED)), hospitals, accidents), 0);
+    //leaves b at 1 after the break, when b-c takes 1 + 9 / 5
+    Assignment onBreak = network.dispatch(new DispatchScenario(Collections.singletonMap(vertices.get("b"),
+        new Ambulance("b", AmbulanceStatus.BREAK)), hospitals, accidents), 0);
+
+    Assertions.assertEquals(1 + Hospital.HOSPITAL_DURATION + 8.2, occupied.getResponseTime(c), DELTA);
+    Assertions.assertEquals("[{ a }, { b }, { c }]", occupied.getPaths().get(c).getVertexList().toString());
+    Assertions.assertEquals(occupied.getResponseTime(c), occupied.getPaths().get(c).getWeight(), DELTA);
+    Assertions.assertEquals(Ambulance.BREAK_DURATION + 2.8, onBreak.getResponseTime(c), DELTA);
+  }
+
+}
@@ -0,0 +1,99 @@
+package at.fhooe.ams.graph;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompactGraphTest {
+
+  @Test
+  void arcsMatchGraphEdges() {
+    String inputEdges = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+    String inputWeights = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}";
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices, edges, weights);
+
+    CompactGraph compactGraph = CompactGraph.of(graph);
+
+    Assertions.assertEquals(10, compactGraph.getVertexCount());
+    Assertions.assertEquals(32, compactGraph.getArcCount());
+    for (int vertex = 0; vertex < compactGraph.getVertexCount(); ++vertex) {
+      Vertex source = compactGraph.getVertex(vertex);
+      Assertions.assertEquals(vertex, compactGraph.getId(source));
+      Assertions.assertEquals(graph.degreeOf(source), compactGraph.getEndArc(vertex) - compactGraph.getFirstArc(vertex));
+      for (int arc = compactGraph.getFirstArc(vertex); arc < compactGraph.getEndArc(vertex); ++arc) {
+        DefaultWeightedEdge edge = graph.getEdge(source, compactGraph.getVertex(compactGraph.getTarget(arc)));
+        Assertions.assertEquals(graph.getEdgeWeight(edge), compactGraph.getWeight(arc));
+      }
+    }
+  }
+
+  @Test
+  void toGraphPath() {
+    String inputEdges = "{{A,B}, {A,C}, {B,C}}";
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights("{2, 3 ,5}");
+    CompactGraph compactGraph = CompactGraph.of(Parser.parseUndirectedWeightedGraph(vertices, edges, weights));
+    int a = compactGraph.getId(vertices.get("A"));
+    int b = compactGraph.getId(vertices.get("B"));
+    int c = compactGraph.getId(vertices.get("C"));
+
+    GraphPath<Vertex, DefaultWeightedEdge> path = compactGraph.toGraphPath(new int[]{c, a, b}, 5.0);
+
+    Assertions.assertEquals("[{ C }, { A }, { B }]", path.getVertexList().toString());
+    Assertions.assertEquals(2, path.getEdgeList().size());
+    Assertions.assertEquals(5.0, path.getWeight());
+  }
+
+  @Test
+  void withoutGraph() {
+    String inputEdges = "{{A,B}, {A,C}, {B,C}}";
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(inputEdges, vertices);
+    List<Double> weights = Parser.parseWeights("{2, 3 ,5}");
+    CompactGraph compactGraph = CompactGraph.of(Parser.parseUndirectedWeightedGraph(vertices, edges, weights));
+
+    CompactGraph detached = compactGraph.withoutGraph();
+
+    Assertions.assertTrue(detached.sharesIds(compactGraph));
+    Assertions.assertTrue(detached.isUndirected());
+    Assertions.assertEquals(compactGraph.getId(vertices.get("C")), detached.getId(new Vertex("C")));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> detached.getId(new Vertex("D")));
+    Assertions.assertThrows(IllegalStateException.class, () -> detached.toGraphPath(new int[]{0, 1}, 2.0));
+  }
+
+  @Test
+  void wrappedArcsBuildTheGraphOnDemand() {
+    Vertex[] vertices = {new Vertex("A"), new Vertex("B"), new Vertex("C")};
+    //A-B 2, B-C 5
+    IntBuffer offsets = IntBuffer.wrap(new int[]{0, 1, 3, 4});
+    IntBuffer targets = IntBuffer.wrap(new int[]{1, 0, 2, 1});
+    DoubleBuffer weights = DoubleBuffer.wrap(new double[]{2, 2, 5, 5});
+
+    CompactGraph compactGraph = CompactGraph.wrap(vertices, offsets, targets, weights);
+
+    Assertions.assertEquals(1, compactGraph.getId(new Vertex("B")));
+    Assertions.assertEquals(5.0, compactGraph.getWeight(compactGraph.findArc(2, 1)));
+    GraphPath<Vertex, DefaultWeightedEdge> path = compactGraph.toGraphPath(new int[]{0, 1, 2}, 7.0);
+    Assertions.assertEquals("[{ A }, { B }, { C }]", path.getVertexList().toString());
+    Assertions.assertEquals(2, path.getGraph().edgeSet().size());
+    Assertions.assertEquals(5.0, path.getGraph().getEdgeWeight(path.getEdgeList().get(1)));
+    Assertions.assertSame(path.getGraph(), compactGraph.withWeights(Collections.emptyList()).getGraph());
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> CompactGraph.wrap(vertices, offsets, IntBuffer.wrap(new int[]{1, 0}), weights));
+  }
+
+}
@@ -0,0 +1,69 @@
+package at.fhooe.ams.graph;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.HashMap;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TravelTimesTest {
+
+  private final static double DELTA = 0.0001;
+  private final static double DAY = 24.0;
+
+  @Test
+  void interpolatesAcrossThePeriod() {
+    TravelTimeProfile profile = new TravelTimeProfile(DAY, new double[]{6, 8, 12}, new double[]{2, 5, 2});
+
+    Assertions.assertEquals(3.5, profile.getTravelTime(7), DELTA);
+    Assertions.assertEquals(5.0, profile.getTravelTime(8), DELTA);
+    Assertions.assertEquals(2.0, profile.getTravelTime(20), DELTA);
+    Assertions.assertEquals(2.0, profile.getTravelTime(3), DELTA);
+    Assertions.assertEquals(3.5, profile.getTravelTime(7 + 2 * DAY), DELTA);
+    Assertions.assertEquals(3.5, profile.getTravelTime(7 - DAY), DELTA);
+    Assertions.assertEquals(2.0, profile.getMinimum());
+    Assertions.assertEquals(4.0, TravelTimeProfile.constant(4).getTravelTime(13));
+  }
+
+  @Test
+  void rejectsProfilesThatOvertake() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new TravelTimeProfile(DAY, new double[]{6, 7}, new double[]{5, 2}));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new TravelTimeProfile(DAY, new double[]{7, 6}, new double[]{1, 1}));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new TravelTimeProfile(DAY, new double[]{6, DAY}, new double[]{1, 1}));
+  }
+
+  @Test
+  void equalProfilesAreStoredOnce() {
+    String inputEdges = "{ {a,b}, {b,c}, {c,d}, {d,a} }";
+    Map<String, Vertex> vertices = Parser.parseVertices(inputEdges);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices,
+        Parser.parseEdges(inputEdges, vertices), Parser.parseWeights("{1, 1, 2, 3}"));
+    double[] rushHours = {7, 8, 10};
+    double[] factors = {1, 2.5, 1};
+    Map<DefaultWeightedEdge, TravelTimeProfile> profiles = new HashMap<>();
+    profiles.put(graph.getEdge(vertices.get("a"), vertices.get("b")),
+        TravelTimeProfile.scaled(1, DAY, rushHours, factors));
+    profiles.put(graph.getEdge(vertices.get("b"), vertices.get("c")),
+        TravelTimeProfile.scaled(1, DAY, rushHours, factors));
+
+    TravelTimes travelTimes = new TravelTimes(CompactGraph.of(graph), profiles);
+
+    //one rush hour profile and the constants 2 and 3
+    Assertions.assertEquals(3, travelTimes.getProfileCount());
+    CompactGraph compactGraph = travelTimes.getGraph();
+    int arc = compactGraph.findArc(compactGraph.getId(vertices.get("a")), compactGraph.getId(vertices.get("b")));
+    Assertions.assertEquals(2.5, travelTimes.getTravelTime(arc, 8), DELTA);
+    Assertions.assertSame(travelTimes.getProfile(arc), travelTimes.getProfile(
+        compactGraph.findArc(compactGraph.getId(vertices.get("c")), compactGraph.getId(vertices.get("b")))));
+
+    profiles.put(graph.getEdge(vertices.get("c"), vertices.get("d")), TravelTimeProfile.constant(1));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new TravelTimes(CompactGraph.of(graph), profiles));
+  }
+
+}
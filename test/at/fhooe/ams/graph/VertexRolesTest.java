@@ -0,0 +1,62 @@
+package at.fhooe.ams.graph;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class VertexRolesTest {
+
+  private final static String EDGES = "{ {a,b}, {b,c} }";
+
+  @Test
+  void dispatchesKeepTheirOwnRoles() {
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    CompactGraph graph = CompactGraph.of(Parser.parseUndirectedWeightedGraph(vertices,
+        Parser.parseEdges(EDGES, vertices), Parser.parseWeights("{1, 2}")));
+    Vertex a = vertices.get("a");
+    Vertex c = vertices.get("c");
+    VertexRoles first = VertexRoles.of(graph, Collections.singletonMap(a, new Ambulance("a", AmbulanceStatus.FREE)),
+        Collections.singletonMap(c, new Hospital("c")), Collections.emptyMap());
+    VertexRoles second = new VertexRoles(graph);
+    second.setAccident(a, new Accident("a"));
+    second.setCapacity(a, 5);
+
+    Assertions.assertEquals("a", first.getAmbulance(a).getName());
+    Assertions.assertEquals("c", first.getHospital(graph.getId(c)).getName());
+    Assertions.assertNull(first.getAccident(a));
+    Assertions.assertEquals(VertexRoles.UNLIMITED_CAPACITY, first.getCapacity(a));
+    Assertions.assertNull(second.getAmbulance(a));
+    Assertions.assertEquals("a", second.getAccident(a).getName());
+    Assertions.assertEquals(5, second.getCapacity(graph.getId(a)));
+
+    Assertions.assertEquals(AmbulanceStatus.FREE, first.getStatus(graph.getId(a)));
+    Assertions.assertTrue(first.hasHospital(graph.getId(c)));
+    Assertions.assertTrue(second.hasAccident(graph.getId(a)));
+    Assertions.assertFalse(second.hasAmbulance(graph.getId(a)));
+
+    first.setAmbulance(a, new Ambulance("a", AmbulanceStatus.BREAK));
+    Assertions.assertEquals(AmbulanceStatus.BREAK, first.getStatus(graph.getId(a)));
+    first.setAmbulance(a, null);
+    Assertions.assertNull(first.getAmbulance(a));
+    Assertions.assertNull(first.getStatus(graph.getId(a)));
+    Assertions.assertFalse(first.hasAmbulance(graph.getId(a)));
+  }
+
+  @Test
+  void rejectsVerticesOfOtherNetworks() {
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    CompactGraph graph = CompactGraph.of(Parser.parseUndirectedWeightedGraph(vertices,
+        Parser.parseEdges(EDGES, vertices), Parser.parseWeights("{1, 2}")));
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new VertexRoles(graph).setHospital(new Vertex("x"), new Hospital("x")));
+  }
+
+}
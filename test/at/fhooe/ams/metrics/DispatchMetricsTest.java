@@ -0,0 +1,70 @@
+package at.fhooe.ams.metrics;
+
+import at.fhooe.ams.algorithm.DispatchEngine;
+import at.fhooe.ams.algorithm.DispatchOptions;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.Parser;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DispatchMetricsTest {
+
+  private final static String EDGES = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+  private final static String WEIGHTS = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}";
+
+  @Test
+  void recordsPhasesSearchesAndAssignments() {
+    DispatchMetrics metrics = new DispatchMetrics();
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    DispatchEngine engine = new DispatchEngine(vertices, Parser.parseEdges(EDGES, vertices),
+        Parser.parseWeights(WEIGHTS), DispatchOptions.builder().metricsListener(metrics).build());
+    engine.putAmbulance(vertices.get("b"), new Ambulance("b", AmbulanceStatus.OCCUPIED));
+    engine.putAmbulance(vertices.get("e"), new Ambulance("e", AmbulanceStatus.FREE));
+    engine.putHospital(vertices.get("d"), new Hospital("d"));
+    engine.openAccident(vertices.get("i"), new Accident("i"));
+
+    engine.dispatch();
+    engine.dispatch();
+
+    Assertions.assertEquals(1, metrics.getPhaseCount(DispatchPhase.GRAPH_BUILDING));
+    Assertions.assertEquals(1, metrics.getPhaseCount(DispatchPhase.PREPROCESSING));
+    Assertions.assertEquals(2, metrics.getPhaseCount(DispatchPhase.SEARCH));
+    Assertions.assertEquals(2, metrics.getPhaseCount(DispatchPhase.ASSIGNMENT));
+    Assertions.assertEquals(0, metrics.getPhaseCount(DispatchPhase.PARSING));
+    //the second dispatch reuses both rows
+    Assertions.assertEquals(2, metrics.getSearches());
+    Assertions.assertTrue(metrics.getSettledVertices() > 0);
+    Assertions.assertTrue(metrics.getRelaxedEdges() >= metrics.getSettledVertices());
+    Assertions.assertEquals(2, metrics.getAssignments());
+    Assertions.assertEquals(2, metrics.getAssignedAccidents());
+    Assertions.assertEquals(20.0, metrics.getTotalResponseTime(), 0.0001);
+
+    metrics.reset();
+    Assertions.assertEquals(0, metrics.getSearches());
+    Assertions.assertEquals(0, metrics.getPhaseCount(DispatchPhase.SEARCH));
+  }
+
+  @Test
+  void readableOverJmx() throws Exception {
+    DispatchMetrics metrics = new DispatchMetrics();
+    ObjectName name = metrics.register("test");
+    try {
+      metrics.searchCompleted(10, 25);
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      Assertions.assertEquals(1L, server.getAttribute(name, "Searches"));
+      Assertions.assertEquals(10L, server.getAttribute(name, "SettledVertices"));
+    } finally {
+      metrics.unregister("test");
+    }
+    Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+  }
+
+}
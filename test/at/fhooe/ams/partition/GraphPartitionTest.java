@@ -0,0 +1,74 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphPartitionTest {
+
+  @TempDir
+  Path directory;
+
+  //every vertex in exactly one region, every edge either inside a region or a cut edge between two boundaries
+  @Test
+  void regionsCoverTheGraph() {
+    Graph<Vertex, DefaultWeightedEdge> graph = CityGenerator.builder().seed(2).rows(12).columns(12).build().generate()
+        .getNetwork().getGraph();
+    GraphPartition partition = GraphPartition.of(graph, 4);
+    Assertions.assertEquals(4, partition.getRegions().size());
+
+    Set<Vertex> seen = new HashSet<>();
+    int edges = 0;
+    int cutEdges = 0;
+    for (Region region : partition.getRegions()) {
+      Assertions.assertFalse(region.getGraph().vertexSet().isEmpty());
+      for (Vertex vertex : region.getGraph().vertexSet()) {
+        Assertions.assertTrue(seen.add(vertex));
+        Assertions.assertEquals(region.getIndex(), partition.getRegionIndex(vertex));
+      }
+      edges += region.getGraph().edgeSet().size();
+      for (CutEdge cutEdge : region.getCutEdges()) {
+        Assertions.assertTrue(region.getBoundary().contains(cutEdge.getInside()));
+        Assertions.assertNotEquals(region.getIndex(), partition.getRegionIndex(cutEdge.getOutside()));
+        Assertions.assertEquals(graph.getEdgeWeight(graph.getEdge(cutEdge.getInside(), cutEdge.getOutside())),
+            cutEdge.getWeight());
+        ++cutEdges;
+      }
+    }
+    Assertions.assertEquals(graph.vertexSet(), seen);
+    Assertions.assertEquals(graph.edgeSet().size(), edges + cutEdges / 2);
+  }
+
+  @Test
+  void regionFileRoundTrips() throws Exception {
+    Graph<Vertex, DefaultWeightedEdge> graph = CityGenerator.builder().seed(8).rows(8).columns(8).build().generate()
+        .getNetwork().getGraph();
+    Region expected = GraphPartition.of(graph, 3).getRegions().get(1);
+    Path file = directory.resolve("region-1.ams");
+    RegionStore.write(expected, file);
+    Region actual = RegionStore.load(file);
+
+    Assertions.assertEquals(expected.getIndex(), actual.getIndex());
+    Assertions.assertEquals(expected.getGraph().vertexSet(), actual.getGraph().vertexSet());
+    Assertions.assertEquals(expected.getBoundary(), actual.getBoundary());
+    Assertions.assertEquals(expected.getGraph().edgeSet().size(), actual.getGraph().edgeSet().size());
+    for (DefaultWeightedEdge edge : expected.getGraph().edgeSet()) {
+      DefaultWeightedEdge loaded = actual.getGraph().getEdge(expected.getGraph().getEdgeSource(edge),
+          expected.getGraph().getEdgeTarget(edge));
+      Assertions.assertEquals(expected.getGraph().getEdgeWeight(edge), actual.getGraph().getEdgeWeight(loaded));
+    }
+    Assertions.assertEquals(expected.getCutEdges().size(), actual.getCutEdges().size());
+    Path other = Files.write(directory.resolve("other.ams"), "not a region".getBytes(StandardCharsets.UTF_8));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> RegionStore.load(other));
+  }
+
+}
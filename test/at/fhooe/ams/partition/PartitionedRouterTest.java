@@ -0,0 +1,95 @@
+package at.fhooe.ams.partition;
+
+import at.fhooe.ams.model.Vertex;
+import at.fhooe.ams.util.CityGenerator;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+//all workers listen on localhost, the coordinator talks to them over real sockets
+class PartitionedRouterTest {
+
+  private final static double DELTA = 0.0001;
+  private final static int REGIONS = 4;
+
+  private Graph<Vertex, DefaultWeightedEdge> graph;
+  private final List<RegionWorker> workers = new ArrayList<>();
+  private PartitionedRouter router;
+
+  @BeforeEach
+  void startWorkers() {
+    graph = CityGenerator.builder().seed(17).rows(15).columns(15).build().generate().getNetwork().getGraph();
+    List<InetSocketAddress> addresses = new ArrayList<>();
+    for (Region region : GraphPartition.of(graph, REGIONS).getRegions()) {
+      RegionWorker worker = new RegionWorker(region, 0);
+      workers.add(worker);
+      addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.getPort()));
+    }
+    router = new PartitionedRouter(addresses);
+  }
+
+  @AfterEach
+  void stopWorkers() {
+    router.close();
+    workers.forEach(RegionWorker::close);
+  }
+
+  @Test
+  void distancesMatchDijkstra() {
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    List<Vertex> vertices = new ArrayList<>(graph.vertexSet());
+    Random random = new Random(3);
+    for (int query = 0; query < 20; ++query) {
+      Vertex source = vertices.get(random.nextInt(vertices.size()));
+      List<Vertex> targets = new ArrayList<>();
+      for (int i = 0; i < 5; ++i) {
+        targets.add(vertices.get(random.nextInt(vertices.size())));
+      }
+      Map<Vertex, Double> distances = router.getDistances(source, targets);
+      for (Vertex target : targets) {
+        Assertions.assertEquals(dijkstra.getPathWeight(source, target), distances.get(target), DELTA);
+      }
+    }
+  }
+
+  //paths are stitched from the pieces of several workers and have to be real paths of the whole network
+  @Test
+  void pathsAreShortestPaths() {
+    DijkstraShortestPath<Vertex, DefaultWeightedEdge> dijkstra = new DijkstraShortestPath<>(graph);
+    List<Vertex> vertices = new ArrayList<>(graph.vertexSet());
+    Random random = new Random(5);
+    for (int query = 0; query < 20; ++query) {
+      Vertex source = vertices.get(random.nextInt(vertices.size()));
+      Vertex target = vertices.get(random.nextInt(vertices.size()));
+      PartitionedPath path = router.getPath(source, target);
+      Assertions.assertEquals(source, path.getStartVertex());
+      Assertions.assertEquals(target, path.getEndVertex());
+      Assertions.assertEquals(dijkstra.getPathWeight(source, target), path.getWeight(), DELTA);
+      double weight = 0.0;
+      for (int i = 1; i < path.getVertexList().size(); ++i) {
+        DefaultWeightedEdge edge = graph.getEdge(path.getVertexList().get(i - 1), path.getVertexList().get(i));
+        Assertions.assertNotNull(edge);
+        weight += graph.getEdgeWeight(edge);
+      }
+      Assertions.assertEquals(path.getWeight(), weight, DELTA);
+    }
+  }
+
+  @Test
+  void unknownVerticesAreRejected() {
+    Vertex vertex = graph.vertexSet().iterator().next();
+    Assertions.assertThrows(IllegalArgumentException.class, () -> router.getDistance(vertex, new Vertex("x")));
+    Assertions.assertEquals(0.0, router.getDistance(vertex, vertex));
+  }
+
+}
@@ -0,0 +1,75 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Vertex;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.connectivity.ConnectivityInspector;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CityGeneratorTest {
+
+  @Test
+  void sameSeedGivesSameCity() {
+    CityGenerator generator = CityGenerator.builder().seed(7).rows(30).columns(40).ringSpacing(5).build();
+    Scenario first = generator.generate();
+    Scenario second = generator.generate();
+
+    Graph<Vertex, DefaultWeightedEdge> graph = first.getNetwork().getGraph();
+    Graph<Vertex, DefaultWeightedEdge> other = second.getNetwork().getGraph();
+    Assertions.assertEquals(1200, graph.vertexSet().size());
+    Assertions.assertEquals(graph.edgeSet().size(), other.edgeSet().size());
+    for (DefaultWeightedEdge edge : graph.edgeSet()) {
+      DefaultWeightedEdge same = other.getEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge));
+      Assertions.assertEquals(graph.getEdgeWeight(edge), other.getEdgeWeight(same));
+    }
+    Assertions.assertEquals(first.getAmbulances().keySet(), second.getAmbulances().keySet());
+    Assertions.assertEquals(first.nextAccidents(5, 3).keySet(), second.nextAccidents(5, 3).keySet());
+    Assertions.assertNotEquals(graph.edgeSet().size(),
+        CityGenerator.builder().seed(8).rows(30).columns(40).ringSpacing(5).build().generate().getNetwork().getGraph()
+            .edgeSet().size());
+  }
+
+  @Test
+  void cityIsConnectedAndPopulated() {
+    Scenario scenario = CityGenerator.builder().seed(3).rows(50).columns(50).closedStreets(0.5).ambulances(200)
+        .hospitals(4).build().generate();
+
+    Graph<Vertex, DefaultWeightedEdge> graph = scenario.getNetwork().getGraph();
+    Assertions.assertTrue(new ConnectivityInspector<>(graph).isConnected());
+    Assertions.assertTrue(graph.edgeSet().stream().allMatch(edge -> graph.getEdgeWeight(edge) > 0));
+    Map<Vertex, Ambulance> ambulances = scenario.getAmbulances();
+    Assertions.assertEquals(200, ambulances.size());
+    Assertions.assertEquals(4, scenario.getHospitals().size());
+    Set<AmbulanceStatus> states = ambulances.values().stream().map(Ambulance::getStatus).collect(Collectors.toSet());
+    Assertions.assertEquals(EnumSet.allOf(AmbulanceStatus.class), states);
+    Assertions.assertTrue(scenario.getHospitals().keySet().stream().noneMatch(ambulances::containsKey));
+  }
+
+  @Test
+  void accidentsComeInBursts() {
+    Scenario scenario = CityGenerator.builder().rows(20).columns(20).build().generate();
+
+    Map<Vertex, Accident> burst = scenario.nextAccidents(6, 2);
+    Assertions.assertEquals(6, burst.size());
+    int minRow = Integer.MAX_VALUE;
+    int maxRow = Integer.MIN_VALUE;
+    for (Vertex vertex : burst.keySet()) {
+      int row = Integer.parseInt(vertex.getName().substring(1, vertex.getName().indexOf('c')));
+      minRow = Math.min(minRow, row);
+      maxRow = Math.max(maxRow, row);
+    }
+    Assertions.assertTrue(maxRow - minRow <= 4);
+    //a 3x3 block, cut off at the border of the city
+    int size = scenario.nextAccidents(100, 1).size();
+    Assertions.assertTrue(size == 4 || size == 6 || size == 9);
+  }
+
+}
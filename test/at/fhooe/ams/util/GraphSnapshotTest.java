@@ -0,0 +1,99 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.algorithm.DispatchOptions;
+import at.fhooe.ams.algorithm.GraphController;
+import at.fhooe.ams.graph.CompactGraph;
+import at.fhooe.ams.model.Accident;
+import at.fhooe.ams.model.Ambulance;
+import at.fhooe.ams.model.AmbulanceStatus;
+import at.fhooe.ams.model.Hospital;
+import at.fhooe.ams.model.Vertex;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphSnapshotTest {
+
+  private static final String EDGES = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+  private static final String WEIGHTS = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1.75}";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void roundTripsNetworkAndPlacements() {
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(EDGES, vertices);
+    Graph<Vertex, DefaultWeightedEdge> expected = Parser.parseUndirectedWeightedGraph(vertices, edges, Parser.parseWeights(WEIGHTS));
+    Path file = directory.resolve("network.ams");
+    GraphSnapshot.write(expected, Parser.parseAmbulances("{b, e}", "{0, 2}", vertices),
+        Parser.parseHospitals("{d, i}", vertices), file);
+
+    GraphSnapshot snapshot = GraphSnapshot.load(file);
+    Assertions.assertEquals(10, snapshot.getVertexCount());
+    Assertions.assertEquals(32, snapshot.getArcCount());
+    Network network = snapshot.toNetwork();
+    Graph<Vertex, DefaultWeightedEdge> graph = network.getGraph();
+    Assertions.assertEquals(expected.vertexSet(), graph.vertexSet());
+    Assertions.assertEquals(expected.edgeSet().size(), graph.edgeSet().size());
+    for (DefaultWeightedEdge edge : expected.edgeSet()) {
+      DefaultWeightedEdge loaded = graph.getEdge(expected.getEdgeSource(edge), expected.getEdgeTarget(edge));
+      Assertions.assertEquals(expected.getEdgeWeight(edge), graph.getEdgeWeight(loaded));
+    }
+
+    Map<Vertex, Ambulance> ambulances = snapshot.getAmbulances(network);
+    Assertions.assertEquals(2, ambulances.size());
+    Assertions.assertEquals(AmbulanceStatus.FREE, ambulances.get(network.getVertices().get("b")).getStatus());
+    Assertions.assertEquals(AmbulanceStatus.OCCUPIED, ambulances.get(network.getVertices().get("e")).getStatus());
+    Map<Vertex, Hospital> hospitals = snapshot.getHospitals(network);
+    Assertions.assertEquals("d", hospitals.get(network.getVertices().get("d")).getName());
+    Assertions.assertEquals("i", hospitals.get(network.getVertices().get("i")).getName());
+  }
+
+  @Test
+  void dispatchesOnTheMappedArcs() {
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(EDGES, vertices);
+    Graph<Vertex, DefaultWeightedEdge> graph = Parser.parseUndirectedWeightedGraph(vertices, edges, Parser.parseWeights(WEIGHTS));
+    Path file = directory.resolve("network.ams");
+    GraphSnapshot.write(graph, Parser.parseAmbulances("{b, e}", "{0, 2}", vertices), Parser.parseHospitals("{d, i}", vertices),
+        file);
+    Map<Vertex, Accident> accidents = Parser.parseAccidents("{c, g}", vertices);
+
+    GraphSnapshot snapshot = GraphSnapshot.load(file);
+    CompactGraph compactGraph = snapshot.toCompactGraph();
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> paths = GraphController.getAssignment(compactGraph,
+        snapshot.getAmbulances(compactGraph), snapshot.getHospitals(compactGraph), accidents, DispatchOptions.DEFAULT)
+        .getPaths();
+    Map<Vertex, GraphPath<Vertex, DefaultWeightedEdge>> expected = GraphController.getAssignment(graph,
+        snapshot.getAmbulances(compactGraph), snapshot.getHospitals(compactGraph), accidents, DispatchOptions.DEFAULT)
+        .getPaths();
+
+    Assertions.assertTrue(compactGraph.sharesIds(CompactGraph.of(graph)));
+    Assertions.assertEquals(expected.keySet(), paths.keySet());
+    for (Vertex accident : expected.keySet()) {
+      Assertions.assertEquals(expected.get(accident).getVertexList(), paths.get(accident).getVertexList());
+      Assertions.assertEquals(expected.get(accident).getWeight(), paths.get(accident).getWeight());
+    }
+  }
+
+  @Test
+  void rejectsOtherFiles() throws IOException {
+    Path text = Files.write(directory.resolve("edges.txt"), EDGES.getBytes(StandardCharsets.UTF_8));
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.load(text));
+    Assertions.assertThrows(UncheckedIOException.class, () -> GraphSnapshot.load(directory.resolve("missing.ams")));
+  }
+
+}
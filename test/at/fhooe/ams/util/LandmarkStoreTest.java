@@ -0,0 +1,83 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.algorithm.LandmarkHeuristic;
+import at.fhooe.ams.algorithm.LandmarkSelection;
+import at.fhooe.ams.model.Vertex;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LandmarkStoreTest {
+
+  private static final String EDGES = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+
+  @TempDir
+  Path directory;
+
+  private Graph<Vertex, DefaultWeightedEdge> createGraph(String inputWeights) {
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(EDGES, vertices);
+    List<Double> weights = Parser.parseWeights(inputWeights);
+    return Parser.parseUndirectedWeightedGraph(vertices, edges, weights);
+  }
+
+  @Test
+  void writeAndMapTables() {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph("{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}");
+    Path file = directory.resolve("landmarks.bin");
+
+    LandmarkHeuristic built = LandmarkStore.loadOrBuild(graph, file, 4, LandmarkSelection.FARTHEST);
+    Assertions.assertTrue(Files.exists(file));
+    LandmarkHeuristic loaded = LandmarkStore.load(graph, file, 4, LandmarkSelection.FARTHEST);
+
+    Assertions.assertNotNull(loaded);
+    Assertions.assertEquals(built.getLandmarks(), loaded.getLandmarks());
+    for (Vertex source : graph.vertexSet()) {
+      for (Vertex target : graph.vertexSet()) {
+        Assertions.assertEquals(built.getCostEstimate(source, target), loaded.getCostEstimate(source, target));
+      }
+    }
+  }
+
+  @Test
+  void staleTablesAreRebuilt() throws IOException {
+    Path file = directory.resolve("landmarks.bin");
+    LandmarkStore.loadOrBuild(createGraph("{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}"), file, 4, LandmarkSelection.FARTHEST);
+    byte[] before = Files.readAllBytes(file);
+    Graph<Vertex, DefaultWeightedEdge> changed = createGraph("{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 9}");
+
+    Assertions.assertNull(LandmarkStore.load(changed, file, 4, LandmarkSelection.FARTHEST));
+    Assertions.assertNull(LandmarkStore.load(createGraph("{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}"), file, 5,
+        LandmarkSelection.FARTHEST));
+    LandmarkStore.loadOrBuild(changed, file, 4, LandmarkSelection.FARTHEST);
+
+    Assertions.assertNotNull(LandmarkStore.load(changed, file, 4, LandmarkSelection.FARTHEST));
+    Assertions.assertNotEquals(new String(before), new String(Files.readAllBytes(file)));
+  }
+
+  @Test
+  void failedWriteLeavesNoTemporaryFile() throws IOException {
+    Graph<Vertex, DefaultWeightedEdge> graph = createGraph("{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}");
+    //a non-empty directory cannot be replaced by the move
+    Path file = Files.createDirectory(directory.resolve("landmarks.bin"));
+    Files.createFile(file.resolve("blocker"));
+    LandmarkHeuristic heuristic = new LandmarkHeuristic(graph, 4, LandmarkSelection.FARTHEST);
+
+    Assertions.assertThrows(UncheckedIOException.class,
+        () -> LandmarkStore.write(graph, heuristic, LandmarkSelection.FARTHEST, file));
+    try (Stream<Path> files = Files.list(directory)) {
+      Assertions.assertEquals(1, files.count());
+    }
+  }
+
+}
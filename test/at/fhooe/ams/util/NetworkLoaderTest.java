@@ -0,0 +1,68 @@
+package at.fhooe.ams.util;
+
+import at.fhooe.ams.model.Vertex;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NetworkLoaderTest {
+
+  private static final String EDGES = "{ {a,b}, {a,j}, {b,c}, {b,f}, {b,h}, {c,d}, {d,f}, {d,e}, {e,f}, {e,g},{g,f}, {g,h}, {g,i}, {i,h}, {i,j}, {j,h} }";
+  private static final String WEIGHTS = "{2, 2, 1, 2, 5, 1, 3, 2, 6, 8, 2, 2, 3, 2, 4, 1}";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void loadsCommandLineNotation() throws IOException {
+    Network network = NetworkLoader.load(write("edges.txt", EDGES), write("weights.txt", WEIGHTS));
+
+    Map<String, Vertex> vertices = Parser.parseVertices(EDGES);
+    List<Pair<Vertex, Vertex>> edges = Parser.parseEdges(EDGES, vertices);
+    Graph<Vertex, DefaultWeightedEdge> expected = Parser.parseUndirectedWeightedGraph(vertices, edges, Parser.parseWeights(WEIGHTS));
+    Graph<Vertex, DefaultWeightedEdge> graph = network.getGraph();
+    Assertions.assertEquals(expected.vertexSet(), graph.vertexSet());
+    Assertions.assertEquals(expected.edgeSet().size(), graph.edgeSet().size());
+    for (DefaultWeightedEdge edge : expected.edgeSet()) {
+      DefaultWeightedEdge loaded = graph.getEdge(expected.getEdgeSource(edge), expected.getEdgeTarget(edge));
+      Assertions.assertEquals(expected.getEdgeWeight(edge), graph.getEdgeWeight(loaded));
+    }
+    Assertions.assertSame(network.getVertices().get("a"), graph.vertexSet().iterator().next());
+  }
+
+  @Test
+  void loadsOneEdgePerLine() throws IOException {
+    Network network = NetworkLoader.load(write("edges.txt", "Linz Wels\r\nWels Steyr\n"), write("weights.txt", "25.5\n0.125\n"));
+
+    Graph<Vertex, DefaultWeightedEdge> graph = network.getGraph();
+    Map<String, Vertex> vertices = network.getVertices();
+    Assertions.assertEquals(3, vertices.size());
+    Assertions.assertEquals(25.5, graph.getEdgeWeight(graph.getEdge(vertices.get("Linz"), vertices.get("Wels"))));
+    Assertions.assertEquals(0.125, graph.getEdgeWeight(graph.getEdge(vertices.get("Steyr"), vertices.get("Wels"))));
+  }
+
+  @Test
+  void rejectsMalformedNetworks() throws IOException {
+    Path edges = write("edges.txt", "{ {a,b}, {b,c} }");
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> NetworkLoader.load(edges, write("few.txt", "{1}")));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> NetworkLoader.load(edges, write("many.txt", "{1, 2, 3}")));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> NetworkLoader.load(edges, write("text.txt", "{1, x}")));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> NetworkLoader.load(write("duplicate.txt", "{ {a,b}, {b,a} }"), write("weights.txt", "{1, 2}")));
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+}